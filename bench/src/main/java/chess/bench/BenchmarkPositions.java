@@ -0,0 +1,47 @@
+package chess.bench;
+
+import chess.board.Fen;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+
+public final class BenchmarkPositions {
+	@SuppressWarnings("SpellCheckingInspection")
+	private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+	private static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+	@SuppressWarnings("SpellCheckingInspection")
+	private static final String POSITION_4 = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+	@SuppressWarnings("SpellCheckingInspection")
+	private static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+	@SuppressWarnings("SpellCheckingInspection")
+	private static final String POSITION_6 = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+	private BenchmarkPositions() {
+	}
+
+	public static String fen(String name) {
+		switch (name) {
+			case "startpos":
+				return Fen.START_POSITION;
+			case "kiwipete":
+				return KIWIPETE;
+			case "position3":
+				return POSITION_3;
+			case "position4":
+				return POSITION_4;
+			case "position5":
+				return POSITION_5;
+			case "position6":
+				return POSITION_6;
+			default:
+				throw new IllegalArgumentException("Unknown benchmark position " + name);
+		}
+	}
+
+	public static Position position(String name) {
+		try {
+			return Position.fromFen(fen(name));
+		} catch (InvalidFenException e) {
+			throw new IllegalStateException("Benchmark position " + name + " is invalid", e);
+		}
+	}
+}
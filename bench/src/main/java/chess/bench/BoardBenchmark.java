@@ -0,0 +1,83 @@
+package chess.bench;
+
+import chess.board.*;
+import chess.exceptions.InvalidFenException;
+import chess.helper.ChessPosition;
+import chess.pieces.Piece;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+	@Param({"startpos", "kiwipete", "position3", "position4", "position5", "position6"})
+	public String position;
+
+	private Board board;
+	private Piece[] candidatePieces;
+	private ChessPosition[] candidateDestinations;
+
+	@Setup
+	public void setUp() throws InvalidFenException {
+		board = Board.createChessBoard(BenchmarkPositions.fen(position));
+		MoveList moves = new MoveList();
+		MoveGenerator.generateLegalMoves(board.getPosition(), moves);
+		// Board.isLegal only understands plain piece moves, so castling and en passant are left out
+		List<Integer> candidates = new ArrayList<>();
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			if (!Move.isCastle(move) && Move.flags(move) != Move.EN_PASSANT) {
+				candidates.add(move);
+			}
+		}
+		candidatePieces = new Piece[candidates.size()];
+		candidateDestinations = new ChessPosition[candidates.size()];
+		for (int i = 0; i < candidates.size(); i++) {
+			int move = candidates.get(i);
+			candidatePieces[i] = board.getPiece(Move.from(move));
+			candidateDestinations[i] = ChessPosition.fromSquare(Move.to(move));
+		}
+	}
+
+	@Benchmark
+	public int isLegal() {
+		int legal = 0;
+		for (int i = 0; i < candidatePieces.length; i++) {
+			if (board.isLegal(candidatePieces[i], candidateDestinations[i])) {
+				legal++;
+			}
+		}
+		return legal;
+	}
+
+	/**
+	 * The same candidates answered from the cached legal-move masks, as the board view does while dragging.
+	 */
+	@Benchmark
+	public int legalDestinations() {
+		int legal = 0;
+		for (int i = 0; i < candidatePieces.length; i++) {
+			long destinations = board.getLegalDestinations(candidatePieces[i].getPosition().getSquare());
+			if ((destinations & 1L << candidateDestinations[i].getSquare()) != 0) {
+				legal++;
+			}
+		}
+		return legal;
+	}
+
+	/**
+	 * The draw checks the search makes at every interior node.
+	 */
+	@Benchmark
+	public boolean drawChecks() {
+		Position current = board.getPosition();
+		return current.isRepetition() || current.isFiftyMoveRule() || current.hasInsufficientMaterial();
+	}
+}
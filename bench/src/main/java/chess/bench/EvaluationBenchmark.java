@@ -0,0 +1,32 @@
+package chess.bench;
+
+import chess.board.Position;
+import chess.eval.Evaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+	@Param({"startpos", "kiwipete", "position3", "position4", "position5", "position6"})
+	public String position;
+
+	private Position board;
+	private Evaluator evaluator;
+
+	@Setup
+	public void setUp() {
+		board = BenchmarkPositions.position(position);
+		evaluator = new Evaluator();
+	}
+
+	@Benchmark
+	public int evaluate() {
+		return evaluator.evaluate(board);
+	}
+}
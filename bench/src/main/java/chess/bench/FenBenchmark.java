@@ -0,0 +1,39 @@
+package chess.bench;
+
+import chess.board.Fen;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FenBenchmark {
+	@Param({"startpos", "kiwipete", "position3", "position4", "position5", "position6"})
+	public String position;
+
+	private String fen;
+	private Position target;
+
+	@Setup
+	public void setUp() {
+		fen = BenchmarkPositions.fen(position);
+		target = BenchmarkPositions.position(position);
+	}
+
+	@Benchmark
+	public long parse() throws InvalidFenException {
+		Fen.parse(fen, target);
+		return target.getHash();
+	}
+
+	@Benchmark
+	public String write() {
+		return Fen.toFen(target);
+	}
+}
@@ -0,0 +1,61 @@
+package chess.bench;
+
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+	@Param({"startpos", "kiwipete", "position3", "position4", "position5", "position6"})
+	public String position;
+
+	private Position board;
+	private MoveList moves;
+	private MoveList legalMoves;
+
+	@Setup
+	public void setUp() {
+		board = BenchmarkPositions.position(position);
+		moves = new MoveList();
+		legalMoves = new MoveList();
+		MoveGenerator.generateLegalMoves(board, legalMoves);
+	}
+
+	@Benchmark
+	public int pseudoLegalMoves() {
+		MoveGenerator.generatePseudoLegalMoves(board, moves);
+		return moves.size();
+	}
+
+	@Benchmark
+	public int legalMoves() {
+		MoveGenerator.generateLegalMoves(board, moves);
+		return moves.size();
+	}
+
+	@Benchmark
+	public int legalCaptures() {
+		MoveGenerator.generateLegalCaptures(board, moves);
+		return moves.size();
+	}
+
+	@Benchmark
+	public long makeUnmake() {
+		long hash = 0;
+		for (int i = 0; i < legalMoves.size(); i++) {
+			int move = legalMoves.get(i);
+			board.makeMove(move);
+			hash ^= board.getHash();
+			board.unmakeMove(move);
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,21 @@
+package chess.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reported by JMH next to the benchmark score, so throughput runs also show nodes/second.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class NodeCounter {
+	public long nodes;
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		nodes = 0;
+	}
+}
@@ -0,0 +1,34 @@
+package chess.bench;
+
+import chess.board.Perft;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PerftBenchmark {
+	@Param({"startpos", "kiwipete", "position3", "position4", "position5", "position6"})
+	public String position;
+
+	@Param({"3"})
+	public int depth;
+
+	private Perft perft;
+
+	@Setup
+	public void setUp() {
+		perft = new Perft(BenchmarkPositions.position(position));
+	}
+
+	@Benchmark
+	public long perft(NodeCounter counter) {
+		long nodes = perft.perft(depth);
+		counter.nodes += nodes;
+		return nodes;
+	}
+}
@@ -0,0 +1,44 @@
+package chess.bench;
+
+import chess.board.Position;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SearchBenchmark {
+	@Param({"startpos", "kiwipete", "position3", "position4", "position5", "position6"})
+	public String position;
+
+	@Param({"6"})
+	public int depth;
+
+	private Position board;
+	private TranspositionTable transpositionTable;
+	private Search search;
+
+	@Setup
+	public void setUp() {
+		board = BenchmarkPositions.position(position);
+		transpositionTable = new TranspositionTable(16);
+		search = new Search(transpositionTable);
+	}
+
+	@Benchmark
+	public int search(NodeCounter counter) {
+		// Every invocation starts from a cold table so the node count stays reproducible
+		transpositionTable.clear();
+		SearchResult result = search.search(board, SearchLimits.depth(depth));
+		counter.nodes += result.getNodes();
+		return result.getBestMove();
+	}
+}
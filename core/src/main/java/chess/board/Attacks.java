@@ -0,0 +1,221 @@
+package chess.board;
+
+public final class Attacks {
+	private static final int[][] KNIGHT_OFFSETS = new int[][]{
+			{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+	private static final int[][] DIRECTIONS = new int[][]{
+			{0, 1}, {1, 1}, {1, 0}, {1, -1}, {0, -1}, {-1, -1}, {-1, 0}, {-1, 1}};
+	private static final int NORTH = 0;
+	private static final int NORTH_EAST = 1;
+	private static final int EAST = 2;
+	private static final int SOUTH_EAST = 3;
+	private static final int SOUTH = 4;
+	private static final int SOUTH_WEST = 5;
+	private static final int WEST = 6;
+	private static final int NORTH_WEST = 7;
+
+	private static final long[] KNIGHT = new long[64];
+	private static final long[] KING = new long[64];
+	private static final long[][] PAWN = new long[2][64];
+	private static final long[][] RAYS = new long[8][64];
+	private static final long[][] BETWEEN = new long[64][64];
+	private static final long[][] LINE = new long[64][64];
+
+	// Magic multipliers were searched for offline with a fixed seed; each one maps every relevant
+	// occupancy of its square onto a table slot without destructive collisions
+	private static final long[] ROOK_MAGICS = new long[]{
+			0x0480053081214000L, 0x0040100040002001L, 0x6080200080100008L, 0x0200082004411200L,
+			0x0200102008040200L, 0x1100240028210012L, 0x1080008001000200L, 0x0100020028488100L,
+			0x0001800220400086L, 0x2488804000802004L, 0x0C00801000200081L, 0x201C801000080080L,
+			0x0441000800100500L, 0x00A0808002000400L, 0x0125000402000100L, 0x0001002200409100L,
+			0x0280004020004000L, 0x5110084020004000L, 0x0001050020024011L, 0x0002020020081040L,
+			0x0800050008010010L, 0x81C0808002000400L, 0x8010808001000200L, 0x000006000100408CL,
+			0x0280400080008020L, 0x3000500040002000L, 0x8400200080801000L, 0x80A01001000D0020L,
+			0x900C001101000800L, 0x0110040080800200L, 0x1001000100040200L, 0x0060040200008041L,
+			0x4480804000800038L, 0x0040002001804080L, 0x2010882000801000L, 0x0000080282801000L,
+			0x0200080080800400L, 0x0206000400808002L, 0x2000020001010004L, 0x1014042042000091L,
+			0x0200208040008000L, 0x0040201000404002L, 0x0244200100110041L, 0x0041019000090020L,
+			0x0A28001100850008L, 0x0020020004008080L, 0x1001220108140010L, 0x8A0400408106000CL,
+			0x0000220100508200L, 0x6040048049003100L, 0x0000200011024300L, 0x0000900100082500L,
+			0x0870040008008080L, 0x0850800600040180L, 0x0006008104480200L, 0x1800040108B04200L,
+			0xD12C201080010341L, 0x0101042040008013L, 0x2801004008200273L, 0x001900614C500009L,
+			0x0202004461500802L, 0x0002001008040102L, 0x10001028B1080604L, 0x000D000040803201L
+	};
+	private static final long[] BISHOP_MAGICS = new long[]{
+			0x6460220208002480L, 0x8308C80104002010L, 0xB408121042008000L, 0x0C48205040021000L,
+			0x1002021000020000L, 0x0840882440802010L, 0x0080809008204040L, 0x00001402011028A0L,
+			0x088EC002040400B0L, 0x0005500608087180L, 0x0000A20089020010L, 0x000010908602C060L,
+			0x2810420210014000L, 0x0040024802400080L, 0x0408484230100840L, 0x00020A08A4011800L,
+			0x0020003062062848L, 0x0002504510440102L, 0xA23005310C008810L, 0x0048000104110044L,
+			0x010A000422010008L, 0x2021000200A0A400L, 0x0004400208124801L, 0x8000280480841000L,
+			0x8110100206600229L, 0x0814204102080909L, 0x00A0300002040840L, 0x8808080000202020L,
+			0x04040400C0410040L, 0x108404200C101400L, 0x01C1012000480802L, 0xA020520040420200L,
+			0x2404100800062001L, 0x0002014400208804L, 0x0100805000410402L, 0x0241420080080080L,
+			0x8040040444030100L, 0x0F50064242020110L, 0x0001020200888818L, 0x0801021200018069L,
+			0x2803086094A01040L, 0x2440482804444800L, 0x0002002024200804L, 0x880101420800C084L,
+			0x40A4182008200900L, 0x8420008102041040L, 0x00901001304A0508L, 0x0450021448519100L,
+			0x0402021002080A10L, 0x000D01009084020CL, 0x20800A0046480040L, 0x0000083020880220L,
+			0x0001010803040142L, 0x0000081001520000L, 0x0040100420809000L, 0x0022900428808202L,
+			0x0000404044202010L, 0x1008004044108804L, 0x1008305509415000L, 0x1000840400208840L,
+			0x0810260A12020201L, 0x3000A04410020210L, 0x0903102082008204L, 0x490808088808C308L
+	};
+	private static final long[] ROOK_MASKS = new long[64];
+	private static final long[] BISHOP_MASKS = new long[64];
+	private static final int[] ROOK_SHIFTS = new int[64];
+	private static final int[] BISHOP_SHIFTS = new int[64];
+	private static final long[][] ROOK_ATTACKS = new long[64][];
+	private static final long[][] BISHOP_ATTACKS = new long[64][];
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			KNIGHT[square] = offsetMask(square, KNIGHT_OFFSETS);
+			KING[square] = offsetMask(square, DIRECTIONS);
+			PAWN[PieceCode.WHITE][square] = offsetMask(square, new int[][]{{-1, 1}, {1, 1}});
+			PAWN[PieceCode.BLACK][square] = offsetMask(square, new int[][]{{-1, -1}, {1, -1}});
+			for (int direction = 0; direction < 8; direction++) {
+				RAYS[direction][square] = rayMask(square, DIRECTIONS[direction]);
+			}
+		}
+		for (int square = 0; square < 64; square++) {
+			ROOK_MASKS[square] = relevantOccupancy(square, NORTH, EAST, SOUTH, WEST);
+			BISHOP_MASKS[square] = relevantOccupancy(square, NORTH_EAST, SOUTH_EAST, SOUTH_WEST, NORTH_WEST);
+			ROOK_SHIFTS[square] = 64 - Bitboards.count(ROOK_MASKS[square]);
+			BISHOP_SHIFTS[square] = 64 - Bitboards.count(BISHOP_MASKS[square]);
+			ROOK_ATTACKS[square] = attackTable(square, ROOK_MASKS[square], ROOK_MAGICS[square], ROOK_SHIFTS[square], true);
+			BISHOP_ATTACKS[square] = attackTable(square, BISHOP_MASKS[square], BISHOP_MAGICS[square],
+					BISHOP_SHIFTS[square], false);
+		}
+		for (int from = 0; from < 64; from++) {
+			for (int direction = 0; direction < 8; direction++) {
+				long ray = RAYS[direction][from];
+				long opposite = RAYS[(direction + 4) & 7][from];
+				for (long targets = ray; targets != 0; targets &= targets - 1) {
+					int to = Bitboards.first(targets);
+					BETWEEN[from][to] = ray & RAYS[(direction + 4) & 7][to];
+					LINE[from][to] = ray | opposite | 1L << from;
+				}
+			}
+		}
+	}
+
+	private Attacks() {
+	}
+
+	public static long knight(int square) {
+		return KNIGHT[square];
+	}
+
+	public static long king(int square) {
+		return KING[square];
+	}
+
+	public static long pawn(int color, int square) {
+		return PAWN[color][square];
+	}
+
+	public static long rook(int square, long occupied) {
+		return ROOK_ATTACKS[square][(int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square])
+				>>> ROOK_SHIFTS[square])];
+	}
+
+	public static long bishop(int square, long occupied) {
+		return BISHOP_ATTACKS[square][(int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square])
+				>>> BISHOP_SHIFTS[square])];
+	}
+
+	public static long queen(int square, long occupied) {
+		return rook(square, occupied) | bishop(square, occupied);
+	}
+
+	/**
+	 * Squares strictly between two squares on a common rank, file or diagonal, or 0 when they are not aligned.
+	 */
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	/**
+	 * The whole rank, file or diagonal through two aligned squares, or 0 when they are not aligned.
+	 */
+	public static long line(int from, int to) {
+		return LINE[from][to];
+	}
+
+	private static long[] attackTable(int square, long mask, long magic, int shift, boolean rook) {
+		long[] table = new long[1 << (64 - shift)];
+		// Enumerate every subset of the mask (Carry-Rippler) and store the ray attacks it produces
+		long occupied = 0;
+		do {
+			long attacks = rook
+					? positiveRay(NORTH, square, occupied) | positiveRay(EAST, square, occupied)
+					| negativeRay(SOUTH, square, occupied) | negativeRay(WEST, square, occupied)
+					: positiveRay(NORTH_EAST, square, occupied) | positiveRay(NORTH_WEST, square, occupied)
+					| negativeRay(SOUTH_EAST, square, occupied) | negativeRay(SOUTH_WEST, square, occupied);
+			int index = (int) ((occupied * magic) >>> shift);
+			if (table[index] != 0 && table[index] != attacks) {
+				throw new IllegalStateException("Magic for square " + Square.name(square) + " collides");
+			}
+			table[index] = attacks;
+			occupied = (occupied - mask) & mask;
+		} while (occupied != 0);
+		return table;
+	}
+
+	private static long relevantOccupancy(int square, int... directions) {
+		long mask = 0;
+		for (int direction : directions) {
+			long ray = RAYS[direction][square];
+			if (ray == 0) {
+				continue;
+			}
+			// The edge square of a ray never shadows anything, so it does not change the attacks
+			boolean positive = direction == NORTH || direction == NORTH_EAST || direction == EAST
+					|| direction == NORTH_WEST;
+			int edge = positive ? 63 - Long.numberOfLeadingZeros(ray) : Long.numberOfTrailingZeros(ray);
+			mask |= ray & ~(1L << edge);
+		}
+		return mask;
+	}
+
+	private static long positiveRay(int direction, int square, long occupied) {
+		long ray = RAYS[direction][square];
+		long blockers = ray & occupied;
+		if (blockers == 0) {
+			return ray;
+		}
+		return ray ^ RAYS[direction][Long.numberOfTrailingZeros(blockers)];
+	}
+
+	private static long negativeRay(int direction, int square, long occupied) {
+		long ray = RAYS[direction][square];
+		long blockers = ray & occupied;
+		if (blockers == 0) {
+			return ray;
+		}
+		return ray ^ RAYS[direction][63 - Long.numberOfLeadingZeros(blockers)];
+	}
+
+	private static long rayMask(int square, int[] direction) {
+		long mask = 0;
+		int file = Square.file(square) + direction[0];
+		int rank = Square.rank(square) + direction[1];
+		while (file >= 0 && file < 8 && rank >= 0 && rank < 8) {
+			mask |= 1L << Square.of(file, rank);
+			file += direction[0];
+			rank += direction[1];
+		}
+		return mask;
+	}
+
+	private static long offsetMask(int square, int[][] offsets) {
+		long mask = 0;
+		for (int[] offset : offsets) {
+			int file = Square.file(square) + offset[0];
+			int rank = Square.rank(square) + offset[1];
+			if (file >= 0 && file < 8 && rank >= 0 && rank < 8) {
+				mask |= 1L << Square.of(file, rank);
+			}
+		}
+		return mask;
+	}
+}
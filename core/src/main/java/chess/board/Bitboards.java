@@ -0,0 +1,27 @@
+package chess.board;
+
+public final class Bitboards {
+	public static final long FILE_A = 0x0101010101010101L;
+	public static final long FILE_H = FILE_A << 7;
+	public static final long RANK_1 = 0xFFL;
+	public static final long RANK_2 = RANK_1 << 8;
+	public static final long RANK_3 = RANK_1 << 16;
+	public static final long RANK_6 = RANK_1 << 40;
+	public static final long RANK_7 = RANK_1 << 48;
+	public static final long RANK_8 = RANK_1 << 56;
+
+	private Bitboards() {
+	}
+
+	public static long shift(long bitboard, int offset) {
+		return offset > 0 ? bitboard << offset : bitboard >>> -offset;
+	}
+
+	public static int first(long bitboard) {
+		return Long.numberOfTrailingZeros(bitboard);
+	}
+
+	public static int count(long bitboard) {
+		return Long.bitCount(bitboard);
+	}
+}
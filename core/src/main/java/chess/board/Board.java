@@ -0,0 +1,288 @@
+package chess.board;
+
+import chess.exceptions.InvalidFenException;
+import chess.helper.ChessPosition;
+import chess.metrics.Counter;
+import chess.metrics.Metrics;
+import chess.pieces.*;
+
+public class Board {
+	private static final String NEW_GAME_FEN = Fen.START_POSITION;
+	// Pieces are immutable, so one instance per piece code and square is shared by every board
+	private static final Piece[] PIECES = new Piece[PieceCode.COUNT * 64];
+	private static final Counter MOVES_VALIDATED = Metrics.counter("board.moves.validated");
+	private final Position position;
+	private final LegalMoveCache legalMoves;
+	private MoveRejection lastRejection;
+
+	private Board(Position position) {
+		this.position = position;
+		this.legalMoves = new LegalMoveCache();
+	}
+
+	public static Board createChessBoard() {
+		try {
+			return createChessBoard(NEW_GAME_FEN);
+		} catch (InvalidFenException e) {
+			throw new RuntimeException("Internal new-game FEN is invalid or is not being parsed correctly");
+		}
+	}
+
+	public static Board createChessBoard(String fen) throws InvalidFenException {
+		return new Board(Position.fromFen(fen));
+	}
+
+	private static Piece piece(int code, int square) {
+		Piece piece = PIECES[code << 6 | square];
+		if (piece == null) {
+			piece = PIECES[code << 6 | square] = createPiece(code, ChessPosition.fromSquare(square));
+		}
+		return piece;
+	}
+
+	private static Piece createPiece(int code, ChessPosition position) {
+		Piece.PieceColor color = PieceCode.colorOf(code) == PieceCode.BLACK
+				? Piece.PieceColor.BLACK : Piece.PieceColor.WHITE;
+		switch (PieceCode.typeOf(code)) {
+			case PieceCode.BISHOP:
+				return new Bishop(color, position);
+			case PieceCode.KING:
+				return new King(color, position);
+			case PieceCode.KNIGHT:
+				return new Knight(color, position);
+			case PieceCode.PAWN:
+				return new Pawn(color, position);
+			case PieceCode.QUEEN:
+				return new Queen(color, position);
+			case PieceCode.ROOK:
+				return new Rook(color, position);
+			default:
+				throw new IllegalArgumentException("Unknown piece code " + code);
+		}
+	}
+
+	private static int promotionType(Pawn.Promotion promotion) {
+		switch (promotion) {
+			case Rook:
+				return PieceCode.ROOK;
+			case Knight:
+				return PieceCode.KNIGHT;
+			case Bishop:
+				return PieceCode.BISHOP;
+			default:
+				return PieceCode.QUEEN;
+		}
+	}
+
+	private static int colorCode(Piece.PieceColor color) {
+		return color == Piece.PieceColor.BLACK ? PieceCode.BLACK : PieceCode.WHITE;
+	}
+
+	public Position getPosition() {
+		return position;
+	}
+
+	public Piece getPiece(int square) {
+		int code = position.pieceAt(square);
+		return code == PieceCode.NONE ? null : piece(code, square);
+	}
+
+	public boolean makeMove(Piece piece, ChessPosition destinationPosition) {
+		return makeMove(piece, destinationPosition, Pawn.Promotion.Queen);
+	}
+
+	/**
+	 * Plays the move if it is one of the position's legal moves, which also covers castling and en passant.
+	 *
+	 * @return false if the move is illegal, in which case {@link #getLastRejection()} says why
+	 */
+	public boolean makeMove(Piece piece, ChessPosition destinationPosition, Pawn.Promotion promotion) {
+		MOVES_VALIDATED.increment();
+		int move = legalMoves.find(position, piece.getPosition().getSquare(), destinationPosition.getSquare(),
+				promotionType(promotion));
+		if (move == Move.NONE) {
+			MoveRejection rejection = findRejection(piece, destinationPosition);
+			return reject(rejection != null ? rejection : MoveRejection.INVALID_MOVEMENT);
+		}
+		lastRejection = null;
+		position.makeMove(move);
+		return true;
+	}
+
+	/**
+	 * Squares the piece on {@code square} can legally move to, as a bitboard; empty unless it belongs to the side
+	 * to move. Generated once per position and cached by its hash.
+	 */
+	public long getLegalDestinations(int square) {
+		return legalMoves.destinations(position, square);
+	}
+
+	/**
+	 * Takes back the last move played on this board.
+	 *
+	 * @return false if there is no move to take back
+	 */
+	public boolean undoMove() {
+		if (position.getPly() == 0) {
+			return false;
+		}
+		position.unmakeMove();
+		return true;
+	}
+
+	/**
+	 * Whether the game is drawn by stalemate, threefold repetition, the fifty-move rule or insufficient material.
+	 */
+	public boolean isDraw() {
+		return isStalemate() || position.isThreefoldRepetition() || position.hasInsufficientMaterial()
+				|| (position.isFiftyMoveRule() && !isCheckmate());
+	}
+
+	public boolean isCheckmate() {
+		return position.isInCheck() && !hasLegalMove();
+	}
+
+	public boolean isStalemate() {
+		return !position.isInCheck() && !hasLegalMove();
+	}
+
+	public boolean isThreefoldRepetition() {
+		return position.isThreefoldRepetition();
+	}
+
+	public boolean isFiftyMoveRule() {
+		return position.isFiftyMoveRule();
+	}
+
+	public boolean hasInsufficientMaterial() {
+		return position.hasInsufficientMaterial();
+	}
+
+	private boolean hasLegalMove() {
+		return legalMoves.count(position) > 0;
+	}
+
+	/**
+	 * Why the last move turned down by {@link #makeMove}, {@link #isLegal} or {@link #kingInCheck} was rejected;
+	 * null if none was or the last {@link #makeMove} succeeded.
+	 */
+	public MoveRejection getLastRejection() {
+		return lastRejection;
+	}
+
+	public boolean isLegal(Piece piece, ChessPosition destinationPosition) {
+		MOVES_VALIDATED.increment();
+		MoveRejection rejection = findRejection(piece, destinationPosition);
+		if (rejection != null) {
+			return reject(rejection);
+		}
+		return true;
+	}
+
+	/**
+	 * Checks a plain piece move (not castling or en passant) step by step.
+	 *
+	 * @return the first reason the move is illegal, or null if it is legal
+	 */
+	private MoveRejection findRejection(Piece piece, ChessPosition destinationPosition) {
+		int color = colorCode(piece.getColor());
+		if (color != position.getSideToMove()) {
+			return MoveRejection.WRONG_SIDE_TO_MOVE;
+		}
+		if (!piece.validMovement(destinationPosition)) {
+			return MoveRejection.INVALID_MOVEMENT;
+		}
+		int occupyingPiece = position.pieceAt(destinationPosition.getSquare());
+		if (piece instanceof Pawn) {
+			ChessPosition piecePosition = piece.getPosition();
+			int rank = piecePosition.getRank();
+			int destinationRank = destinationPosition.getRank();
+			int rankDifference = destinationRank - rank;
+			int fileDifference = Math.abs(destinationPosition.getFile() - piecePosition.getFile());
+			if (piece.getColor() == Piece.PieceColor.BLACK) {
+				rank = 9 - piecePosition.getRank();
+				rankDifference *= -1;
+			}
+			if (rankDifference == 2) {
+				if (rank != 2 || fileDifference != 0) {
+					return MoveRejection.INVALID_DOUBLE_PUSH;
+				}
+			}
+			if (fileDifference == 0) {
+				if (occupyingPiece != PieceCode.NONE) {
+					return MoveRejection.SQUARE_OCCUPIED;
+				}
+			} else {
+				if (occupyingPiece == PieceCode.NONE) {
+					return MoveRejection.NOTHING_TO_CAPTURE;
+				}
+			}
+		}
+		// Check if player is taking their own pieces
+		if (occupyingPiece != PieceCode.NONE && PieceCode.colorOf(occupyingPiece) == color) {
+			return MoveRejection.OWN_PIECE;
+		}
+		if (!(piece instanceof Knight)) {
+			if (!emptyPath(piece.getPosition().getSquare(), destinationPosition.getSquare())) {
+				return MoveRejection.PATH_BLOCKED;
+			}
+		}
+		return checkRejection(piece, destinationPosition);
+	}
+
+	private boolean emptyPath(int startingSquare, int destinationSquare) {
+		return (Attacks.between(startingSquare, destinationSquare) & position.getOccupied()) == 0;
+	}
+
+	public boolean kingInCheck(Piece piece, ChessPosition destinationPosition) {
+		MoveRejection rejection = checkRejection(piece, destinationPosition);
+		if (rejection == null) {
+			return false;
+		}
+		reject(rejection);
+		return true;
+	}
+
+	/**
+	 * @return why the move would leave the mover's king attacked, or null if it would not
+	 */
+	private MoveRejection checkRejection(Piece piece, ChessPosition destinationPosition) {
+		int color = position.getSideToMove();
+		int move = createMove(piece.getPosition().getSquare(), destinationPosition.getSquare(), PieceCode.QUEEN);
+		position.makeMove(move);
+		int kingSquare = position.kingSquare(color);
+		int attacker = kingSquare == Square.NONE
+				? PieceCode.NONE : position.attackerOf(kingSquare, PieceCode.opposite(color));
+		position.unmakeMove(move);
+		if (kingSquare == Square.NONE) {
+			throw new RuntimeException("No king found");
+		}
+		if (attacker == PieceCode.NONE) {
+			return null;
+		}
+		return PieceCode.typeOf(attacker) == PieceCode.KING ? MoveRejection.KING_ADJACENT : MoveRejection.KING_IN_CHECK;
+	}
+
+	/**
+	 * Records the reason and returns false, for use as {@code return reject(...)}.
+	 */
+	private boolean reject(MoveRejection rejection) {
+		lastRejection = rejection;
+		rejection.count();
+		return false;
+	}
+
+	private int createMove(int from, int to, int promotionType) {
+		int piece = position.pieceAt(from);
+		boolean capture = position.pieceAt(to) != PieceCode.NONE;
+		if (PieceCode.typeOf(piece) == PieceCode.PAWN) {
+			if (Square.rank(to) == 0 || Square.rank(to) == 7) {
+				return Move.promotion(from, to, promotionType, capture);
+			}
+			if (Math.abs(to - from) == 16) {
+				return Move.of(from, to, Move.DOUBLE_PAWN_PUSH);
+			}
+		}
+		return Move.of(from, to, capture ? Move.CAPTURE : Move.QUIET);
+	}
+}
@@ -0,0 +1,230 @@
+package chess.board;
+
+import chess.exceptions.InvalidFenException;
+
+public final class Fen {
+	@SuppressWarnings("SpellCheckingInspection")
+	public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private Fen() {
+	}
+
+	public static Position parse(CharSequence fen) throws InvalidFenException {
+		Position position = new Position();
+		parse(fen, position);
+		return position;
+	}
+
+	public static void parse(CharSequence fen, Position position) throws InvalidFenException {
+		position.clear();
+		int length = fen.length();
+		int index = skipSpaces(fen, 0);
+		index = parsePlacement(fen, index, position);
+		if (position.kingSquare(PieceCode.WHITE) == Square.NONE || position.kingSquare(PieceCode.BLACK) == Square.NONE) {
+			throw new InvalidFenException("Both sides must have exactly one king");
+		}
+		index = skipSpaces(fen, index);
+		if (index >= length) {
+			// Placement-only FEN: white to move, castling rights taken from the piece placement
+			position.setCastlingRights(position.inferCastlingRights());
+			return;
+		}
+
+		char side = fen.charAt(index++);
+		if (side == 'b') {
+			position.setSideToMove(PieceCode.BLACK);
+		} else if (side != 'w') {
+			throw new InvalidFenException("Invalid active color: " + side);
+		}
+		index = requireSeparator(fen, index);
+
+		int castlingRights = 0;
+		if (index < length && fen.charAt(index) == '-') {
+			index++;
+		} else {
+			while (index < length && fen.charAt(index) != ' ') {
+				castlingRights |= castlingRight(fen.charAt(index++));
+			}
+		}
+		position.setCastlingRights(castlingRights & position.inferCastlingRights());
+		index = requireSeparator(fen, index);
+
+		if (index < length && fen.charAt(index) == '-') {
+			index++;
+		} else {
+			if (index + 2 > length) {
+				throw new InvalidFenException("Missing en-passant square");
+			}
+			int file = fen.charAt(index) - 'a';
+			int rank = fen.charAt(index + 1) - '1';
+			// The square is behind a pawn the opponent just pushed two squares
+			boolean whiteToMove = position.getSideToMove() == PieceCode.WHITE;
+			if (file < 0 || file > 7 || rank != (whiteToMove ? 5 : 2)) {
+				throw new InvalidFenException("Invalid en-passant square: " + fen.subSequence(index, index + 2));
+			}
+			int pushedPawn = Square.of(file, whiteToMove ? 4 : 3);
+			int opponent = whiteToMove ? PieceCode.BLACK : PieceCode.WHITE;
+			if (position.pieceAt(pushedPawn) != PieceCode.of(opponent, PieceCode.PAWN)) {
+				throw new InvalidFenException("No pawn in front of en-passant square: " + fen.subSequence(index, index + 2));
+			}
+			position.setEnPassantSquare(Square.of(file, rank));
+			index += 2;
+		}
+
+		// The clocks are optional so EPD records with trailing operations are accepted as well
+		index = skipSpaces(fen, index);
+		if (index < length && isDigit(fen.charAt(index))) {
+			int halfmoveClock = 0;
+			while (index < length && isDigit(fen.charAt(index))) {
+				halfmoveClock = halfmoveClock * 10 + (fen.charAt(index++) - '0');
+			}
+			position.setHalfmoveClock(halfmoveClock);
+			index = skipSpaces(fen, index);
+			if (index < length && isDigit(fen.charAt(index))) {
+				int fullmoveNumber = 0;
+				while (index < length && isDigit(fen.charAt(index))) {
+					fullmoveNumber = fullmoveNumber * 10 + (fen.charAt(index++) - '0');
+				}
+				position.setFullmoveNumber(Math.max(1, fullmoveNumber));
+			}
+		}
+	}
+
+	public static String toFen(Position position) {
+		StringBuilder builder = new StringBuilder(90);
+		append(position, builder);
+		return builder.toString();
+	}
+
+	public static void append(Position position, StringBuilder builder) {
+		for (int rank = 7; rank >= 0; rank--) {
+			int empty = 0;
+			for (int file = 0; file < 8; file++) {
+				int piece = position.pieceAt(Square.of(file, rank));
+				if (piece == PieceCode.NONE) {
+					empty++;
+					continue;
+				}
+				if (empty > 0) {
+					builder.append((char) ('0' + empty));
+					empty = 0;
+				}
+				builder.append(PieceCode.toFenCharacter(piece));
+			}
+			if (empty > 0) {
+				builder.append((char) ('0' + empty));
+			}
+			if (rank > 0) {
+				builder.append('/');
+			}
+		}
+		builder.append(position.getSideToMove() == PieceCode.WHITE ? " w " : " b ");
+		int castlingRights = position.getCastlingRights();
+		if (castlingRights == 0) {
+			builder.append('-');
+		} else {
+			if ((castlingRights & Position.WHITE_KINGSIDE) != 0) {
+				builder.append('K');
+			}
+			if ((castlingRights & Position.WHITE_QUEENSIDE) != 0) {
+				builder.append('Q');
+			}
+			if ((castlingRights & Position.BLACK_KINGSIDE) != 0) {
+				builder.append('k');
+			}
+			if ((castlingRights & Position.BLACK_QUEENSIDE) != 0) {
+				builder.append('q');
+			}
+		}
+		builder.append(' ');
+		int enPassantSquare = position.getEnPassantSquare();
+		if (enPassantSquare == Square.NONE) {
+			builder.append('-');
+		} else {
+			builder.append((char) ('a' + Square.file(enPassantSquare)))
+					.append((char) ('1' + Square.rank(enPassantSquare)));
+		}
+		builder.append(' ').append(position.getHalfmoveClock())
+				.append(' ').append(position.getFullmoveNumber());
+	}
+
+	private static int parsePlacement(CharSequence fen, int index, Position position) throws InvalidFenException {
+		int length = fen.length();
+		int rank = 7;
+		int file = 0;
+		for (; index < length; index++) {
+			char c = fen.charAt(index);
+			if (c == ' ') {
+				break;
+			}
+			if (c == '/') {
+				if (file != 8) {
+					throw new InvalidFenException("Rank " + (rank + 1) + " does not describe 8 squares");
+				}
+				rank--;
+				file = 0;
+				continue;
+			}
+			if (rank < 0) {
+				throw new InvalidFenException("Too many ranks");
+			}
+			if (c >= '1' && c <= '8') {
+				file += c - '0';
+			} else {
+				int piece = PieceCode.fromFenCharacter(c);
+				if (piece == PieceCode.NONE) {
+					throw new InvalidFenException("Unknown character provided: " + c);
+				}
+				if (file > 7) {
+					throw new InvalidFenException("Rank " + (rank + 1) + " does not describe 8 squares");
+				}
+				if (PieceCode.typeOf(piece) == PieceCode.KING
+						&& position.kingSquare(PieceCode.colorOf(piece)) != Square.NONE) {
+					throw new InvalidFenException("Both sides must have exactly one king");
+				}
+				position.setPiece(Square.of(file, rank), piece);
+				file++;
+			}
+			if (file > 8) {
+				throw new InvalidFenException("Rank " + (rank + 1) + " does not describe 8 squares");
+			}
+		}
+		if (rank != 0 || file != 8) {
+			throw new InvalidFenException("Piece placement must describe 8 ranks of 8 squares");
+		}
+		return index;
+	}
+
+	private static int castlingRight(char c) throws InvalidFenException {
+		switch (c) {
+			case 'K':
+				return Position.WHITE_KINGSIDE;
+			case 'Q':
+				return Position.WHITE_QUEENSIDE;
+			case 'k':
+				return Position.BLACK_KINGSIDE;
+			case 'q':
+				return Position.BLACK_QUEENSIDE;
+			default:
+				throw new InvalidFenException("Invalid castling availability: " + c);
+		}
+	}
+
+	private static int requireSeparator(CharSequence fen, int index) throws InvalidFenException {
+		if (index >= fen.length() || fen.charAt(index) != ' ') {
+			throw new InvalidFenException();
+		}
+		return skipSpaces(fen, index);
+	}
+
+	private static int skipSpaces(CharSequence fen, int index) {
+		while (index < fen.length() && fen.charAt(index) == ' ') {
+			index++;
+		}
+		return index;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+}
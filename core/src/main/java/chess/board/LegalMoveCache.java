@@ -0,0 +1,101 @@
+package chess.board;
+
+import java.util.Arrays;
+
+/**
+ * Legal moves of recently seen positions, keyed by Zobrist hash, with the destinations of each from-square
+ * kept as a bitboard. A position's moves are generated once, the first time it is asked about; after that
+ * "can this piece go there" is a mask test. Direct-mapped, so going back and forth through a game's positions
+ * keeps hitting. Not thread-safe.
+ */
+public class LegalMoveCache {
+	public static final int DEFAULT_ENTRIES = 64;
+
+	private final int mask;
+	private final long[] keys;
+	private final boolean[] filled;
+	private final MoveList[] moves;
+	private final long[][] destinations;
+	private long hits;
+	private long misses;
+
+	public LegalMoveCache() {
+		this(DEFAULT_ENTRIES);
+	}
+
+	/**
+	 * @param entries number of positions kept, rounded up to a power of two
+	 */
+	public LegalMoveCache(int entries) {
+		int size = entries <= 1 ? 1 : Integer.highestOneBit(entries - 1) << 1;
+		this.mask = size - 1;
+		this.keys = new long[size];
+		this.filled = new boolean[size];
+		this.moves = new MoveList[size];
+		this.destinations = new long[size][64];
+		for (int i = 0; i < size; i++) {
+			moves[i] = new MoveList();
+		}
+	}
+
+	/**
+	 * Squares the piece on {@code from} can legally move to; empty if it is not the side to move's piece.
+	 */
+	public long destinations(Position position, int from) {
+		return destinations[slot(position)][from];
+	}
+
+	/**
+	 * The legal move from {@code from} to {@code to}, promoting to {@code promotionType} if it is a promotion.
+	 *
+	 * @return {@link Move#NONE} if there is none
+	 */
+	public int find(Position position, int from, int to, int promotionType) {
+		int slot = slot(position);
+		if ((destinations[slot][from] & 1L << to) == 0) {
+			return Move.NONE;
+		}
+		MoveList list = moves[slot];
+		for (int i = 0; i < list.size(); i++) {
+			int move = list.get(i);
+			if (Move.from(move) == from && Move.to(move) == to
+					&& (!Move.isPromotion(move) || Move.promotionType(move) == promotionType)) {
+				return move;
+			}
+		}
+		return Move.NONE;
+	}
+
+	public int count(Position position) {
+		return moves[slot(position)].size();
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	private int slot(Position position) {
+		long key = position.getHash();
+		int slot = (int) key & mask;
+		if (filled[slot] && keys[slot] == key) {
+			hits++;
+			return slot;
+		}
+		misses++;
+		MoveList list = moves[slot];
+		long[] targets = destinations[slot];
+		MoveGenerator.generateLegalMoves(position, list);
+		Arrays.fill(targets, 0);
+		for (int i = 0; i < list.size(); i++) {
+			int move = list.get(i);
+			targets[Move.from(move)] |= 1L << Move.to(move);
+		}
+		keys[slot] = key;
+		filled[slot] = true;
+		return slot;
+	}
+}
@@ -0,0 +1,64 @@
+package chess.board;
+
+public final class Move {
+	public static final int NONE = 0;
+
+	public static final int QUIET = 0;
+	public static final int DOUBLE_PAWN_PUSH = 1;
+	public static final int KING_CASTLE = 2;
+	public static final int QUEEN_CASTLE = 3;
+	public static final int CAPTURE = 4;
+	public static final int EN_PASSANT = 5;
+	public static final int PROMOTION = 8;
+	public static final int PROMOTION_CAPTURE = 12;
+
+	private static final char[] PROMOTION_CHARACTERS = new char[]{'n', 'b', 'r', 'q'};
+
+	private Move() {
+	}
+
+	public static int of(int from, int to, int flags) {
+		return from | (to << 6) | (flags << 12);
+	}
+
+	public static int promotion(int from, int to, int type, boolean capture) {
+		return of(from, to, (capture ? PROMOTION_CAPTURE : PROMOTION) | (type - PieceCode.KNIGHT));
+	}
+
+	public static int from(int move) {
+		return move & 0x3F;
+	}
+
+	public static int to(int move) {
+		return (move >>> 6) & 0x3F;
+	}
+
+	public static int flags(int move) {
+		return (move >>> 12) & 0xF;
+	}
+
+	public static boolean isCapture(int move) {
+		return (flags(move) & CAPTURE) != 0;
+	}
+
+	public static boolean isPromotion(int move) {
+		return (flags(move) & PROMOTION) != 0;
+	}
+
+	public static boolean isCastle(int move) {
+		int flags = flags(move);
+		return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+	}
+
+	public static int promotionType(int move) {
+		return PieceCode.KNIGHT + (flags(move) & 3);
+	}
+
+	public static String toUci(int move) {
+		String notation = Square.name(from(move)) + Square.name(to(move));
+		if (isPromotion(move)) {
+			notation += PROMOTION_CHARACTERS[promotionType(move) - PieceCode.KNIGHT];
+		}
+		return notation;
+	}
+}
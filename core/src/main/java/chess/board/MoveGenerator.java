@@ -0,0 +1,164 @@
+package chess.board;
+
+public final class MoveGenerator {
+	private MoveGenerator() {
+	}
+
+	public static void generateLegalMoves(Position position, MoveList moves) {
+		generatePseudoLegalMoves(position, moves);
+		filterLegalMoves(position, moves);
+	}
+
+	public static void generateLegalCaptures(Position position, MoveList moves) {
+		generatePseudoLegalCaptures(position, moves);
+		filterLegalMoves(position, moves);
+	}
+
+	public static void generatePseudoLegalMoves(Position position, MoveList moves) {
+		generatePseudoLegalMoves(position, moves, false);
+	}
+
+	public static void generatePseudoLegalCaptures(Position position, MoveList moves) {
+		generatePseudoLegalMoves(position, moves, true);
+	}
+
+	/**
+	 * Whether a pseudo-legal move leaves the mover's king safe.
+	 */
+	public static boolean isLegal(Position position, int move) {
+		int color = position.getSideToMove();
+		position.makeMove(move);
+		boolean legal = !position.isSquareAttacked(position.kingSquare(color), PieceCode.opposite(color));
+		position.unmakeMove(move);
+		return legal;
+	}
+
+	private static void filterLegalMoves(Position position, MoveList moves) {
+		int legalMoves = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			if (isLegal(position, move)) {
+				moves.set(legalMoves++, move);
+			}
+		}
+		moves.truncate(legalMoves);
+	}
+
+	private static void generatePseudoLegalMoves(Position position, MoveList moves, boolean capturesOnly) {
+		moves.clear();
+		int color = position.getSideToMove();
+		long own = position.getColor(color);
+		long enemies = position.getColor(PieceCode.opposite(color));
+		long occupied = position.getOccupied();
+		generatePawnMoves(position, moves, color, enemies, ~occupied, capturesOnly);
+		long targets = capturesOnly ? enemies : ~own;
+		long knights = position.getPieces(color, PieceCode.KNIGHT);
+		while (knights != 0) {
+			int from = Bitboards.first(knights);
+			knights &= knights - 1;
+			addMoves(moves, from, Attacks.knight(from) & targets, enemies);
+		}
+		long diagonalSliders = position.getPieces(color, PieceCode.BISHOP) | position.getPieces(color, PieceCode.QUEEN);
+		while (diagonalSliders != 0) {
+			int from = Bitboards.first(diagonalSliders);
+			diagonalSliders &= diagonalSliders - 1;
+			addMoves(moves, from, Attacks.bishop(from, occupied) & targets, enemies);
+		}
+		long orthogonalSliders = position.getPieces(color, PieceCode.ROOK) | position.getPieces(color, PieceCode.QUEEN);
+		while (orthogonalSliders != 0) {
+			int from = Bitboards.first(orthogonalSliders);
+			orthogonalSliders &= orthogonalSliders - 1;
+			addMoves(moves, from, Attacks.rook(from, occupied) & targets, enemies);
+		}
+		int king = position.kingSquare(color);
+		if (king >= 0) {
+			addMoves(moves, king, Attacks.king(king) & targets, enemies);
+			if (!capturesOnly) {
+				generateCastlingMoves(position, moves, color, king, occupied);
+			}
+		}
+	}
+
+	private static void generatePawnMoves(Position position, MoveList moves, int color, long enemies, long empty,
+										  boolean capturesOnly) {
+		long pawns = position.getPieces(color, PieceCode.PAWN);
+		int forward = color == PieceCode.WHITE ? 8 : -8;
+		long promotionRank = color == PieceCode.WHITE ? Bitboards.RANK_8 : Bitboards.RANK_1;
+		long doublePushRank = color == PieceCode.WHITE ? Bitboards.RANK_3 : Bitboards.RANK_6;
+
+		long singlePushes = Bitboards.shift(pawns, forward) & empty;
+		long doublePushes = Bitboards.shift(singlePushes & doublePushRank, forward) & empty;
+		long leftCaptures = Bitboards.shift(pawns & ~Bitboards.FILE_A, forward - 1) & enemies;
+		long rightCaptures = Bitboards.shift(pawns & ~Bitboards.FILE_H, forward + 1) & enemies;
+
+		if (!capturesOnly) {
+			addPawnMoves(moves, singlePushes & ~promotionRank, forward, Move.QUIET);
+			addPawnMoves(moves, doublePushes, 2 * forward, Move.DOUBLE_PAWN_PUSH);
+		}
+		addPawnMoves(moves, leftCaptures & ~promotionRank, forward - 1, Move.CAPTURE);
+		addPawnMoves(moves, rightCaptures & ~promotionRank, forward + 1, Move.CAPTURE);
+		addPromotions(moves, singlePushes & promotionRank, forward, false);
+		addPromotions(moves, leftCaptures & promotionRank, forward - 1, true);
+		addPromotions(moves, rightCaptures & promotionRank, forward + 1, true);
+
+		int enPassantSquare = position.getEnPassantSquare();
+		if (enPassantSquare != Square.NONE) {
+			long attackers = Attacks.pawn(PieceCode.opposite(color), enPassantSquare) & pawns;
+			while (attackers != 0) {
+				int from = Bitboards.first(attackers);
+				attackers &= attackers - 1;
+				moves.add(Move.of(from, enPassantSquare, Move.EN_PASSANT));
+			}
+		}
+	}
+
+	private static void addPawnMoves(MoveList moves, long targets, int offset, int flags) {
+		while (targets != 0) {
+			int to = Bitboards.first(targets);
+			targets &= targets - 1;
+			moves.add(Move.of(to - offset, to, flags));
+		}
+	}
+
+	private static void addPromotions(MoveList moves, long targets, int offset, boolean capture) {
+		while (targets != 0) {
+			int to = Bitboards.first(targets);
+			targets &= targets - 1;
+			for (int type = PieceCode.QUEEN; type >= PieceCode.KNIGHT; type--) {
+				moves.add(Move.promotion(to - offset, to, type, capture));
+			}
+		}
+	}
+
+	private static void addMoves(MoveList moves, int from, long targets, long enemies) {
+		while (targets != 0) {
+			int to = Bitboards.first(targets);
+			long mask = targets & -targets;
+			targets &= targets - 1;
+			moves.add(Move.of(from, to, (enemies & mask) != 0 ? Move.CAPTURE : Move.QUIET));
+		}
+	}
+
+	private static void generateCastlingMoves(Position position, MoveList moves, int color, int king, long occupied) {
+		int rights = position.getCastlingRights();
+		int kingside = color == PieceCode.WHITE ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+		int queenside = color == PieceCode.WHITE ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+		if ((rights & (kingside | queenside)) == 0) {
+			return;
+		}
+		int enemy = PieceCode.opposite(color);
+		if (position.isSquareAttacked(king, enemy)) {
+			return;
+		}
+		if ((rights & kingside) != 0
+				&& (occupied & (3L << (king + 1))) == 0
+				&& !position.isSquareAttacked(king + 1, enemy)) {
+			moves.add(Move.of(king, king + 2, Move.KING_CASTLE));
+		}
+		if ((rights & queenside) != 0
+				&& (occupied & (7L << (king - 3))) == 0
+				&& !position.isSquareAttacked(king - 1, enemy)) {
+			moves.add(Move.of(king, king - 2, Move.QUEEN_CASTLE));
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package chess.board;
+
+public class MoveList {
+	public static final int CAPACITY = 256;
+	private final int[] moves;
+	private int size;
+
+	public MoveList() {
+		moves = new int[CAPACITY];
+	}
+
+	public void add(int move) {
+		moves[size++] = move;
+	}
+
+	public int get(int index) {
+		return moves[index];
+	}
+
+	public void set(int index, int move) {
+		moves[index] = move;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void truncate(int size) {
+		this.size = size;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	public boolean contains(int move) {
+		for (int i = 0; i < size; i++) {
+			if (moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,26 @@
+package chess.board;
+
+import chess.metrics.Counter;
+import chess.metrics.Metrics;
+
+/**
+ * Why {@link Board#makeMove} or {@link Board#isLegal} turned a move down. Each reason counts its occurrences
+ * under {@code board.rejected.<reason>} when metrics are enabled.
+ */
+public enum MoveRejection {
+	WRONG_SIDE_TO_MOVE,
+	INVALID_MOVEMENT,
+	INVALID_DOUBLE_PUSH,
+	SQUARE_OCCUPIED,
+	NOTHING_TO_CAPTURE,
+	OWN_PIECE,
+	PATH_BLOCKED,
+	KING_ADJACENT,
+	KING_IN_CHECK;
+
+	private final Counter counter = Metrics.counter("board.rejected." + name().toLowerCase());
+
+	void count() {
+		counter.increment();
+	}
+}
@@ -0,0 +1,83 @@
+package chess.board;
+
+import chess.exceptions.InvalidFenException;
+
+import java.io.PrintStream;
+
+public class Perft {
+	private static final int MAX_DEPTH = 64;
+	private final Position position;
+	private final MoveList[] moveLists;
+
+	public Perft(Position position) {
+		this.position = position;
+		this.moveLists = new MoveList[MAX_DEPTH];
+	}
+
+	public static void main(String[] args) throws InvalidFenException {
+		if (args.length < 2) {
+			System.out.println("Usage: Perft <fen|startpos> <depth> [divide]");
+			return;
+		}
+		String fen = args[0].equals("startpos") ? Fen.START_POSITION : args[0];
+		int depth = Integer.parseInt(args[1]);
+		Perft perft = new Perft(Position.fromFen(fen));
+		long start = System.nanoTime();
+		long nodes = args.length > 2 && args[2].equals("divide")
+				? perft.divide(depth, System.out)
+				: perft.perft(depth);
+		long elapsed = Math.max(1, System.nanoTime() - start);
+		System.out.println("Nodes: " + nodes);
+		System.out.println("Time: " + elapsed / 1_000_000 + " ms");
+		System.out.println("Nodes/second: " + nodes * 1_000_000_000L / elapsed);
+	}
+
+	public long perft(int depth) {
+		return perft(depth, 0);
+	}
+
+	public long divide(int depth, PrintStream out) {
+		if (depth < 1) {
+			return 1;
+		}
+		MoveList moves = moveList(0);
+		MoveGenerator.generateLegalMoves(position, moves);
+		long total = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			position.makeMove(move);
+			long nodes = perft(depth - 1, 1);
+			position.unmakeMove(move);
+			out.println(Move.toUci(move) + ": " + nodes);
+			total += nodes;
+		}
+		return total;
+	}
+
+	private long perft(int depth, int ply) {
+		if (depth == 0) {
+			return 1;
+		}
+		MoveList moves = moveList(ply);
+		MoveGenerator.generateLegalMoves(position, moves);
+		if (depth == 1) {
+			return moves.size();
+		}
+		long nodes = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			position.makeMove(move);
+			nodes += perft(depth - 1, ply + 1);
+			position.unmakeMove(move);
+		}
+		return nodes;
+	}
+
+	private MoveList moveList(int ply) {
+		MoveList moves = moveLists[ply];
+		if (moves == null) {
+			moves = moveLists[ply] = new MoveList();
+		}
+		return moves;
+	}
+}
@@ -0,0 +1,55 @@
+package chess.board;
+
+public final class PieceCode {
+	public static final int WHITE = 0;
+	public static final int BLACK = 1;
+
+	public static final int PAWN = 0;
+	public static final int KNIGHT = 1;
+	public static final int BISHOP = 2;
+	public static final int ROOK = 3;
+	public static final int QUEEN = 4;
+	public static final int KING = 5;
+
+	public static final int NONE = -1;
+	public static final int COUNT = 12;
+
+	private static final String FEN_CHARACTERS = "pnbrqk";
+	private static final String[] TYPE_NAMES = new String[]{"Pawn", "Knight", "Bishop", "Rook", "Queen", "King"};
+
+	private PieceCode() {
+	}
+
+	public static int of(int color, int type) {
+		return (type << 1) | color;
+	}
+
+	public static int colorOf(int piece) {
+		return piece & 1;
+	}
+
+	public static int typeOf(int piece) {
+		return piece >>> 1;
+	}
+
+	public static int opposite(int color) {
+		return color ^ 1;
+	}
+
+	public static int fromFenCharacter(char c) {
+		int type = FEN_CHARACTERS.indexOf(Character.toLowerCase(c));
+		if (type < 0) {
+			return NONE;
+		}
+		return of(Character.isLowerCase(c) ? BLACK : WHITE, type);
+	}
+
+	public static char toFenCharacter(int piece) {
+		char c = FEN_CHARACTERS.charAt(typeOf(piece));
+		return colorOf(piece) == WHITE ? Character.toUpperCase(c) : c;
+	}
+
+	public static String typeName(int type) {
+		return TYPE_NAMES[type];
+	}
+}
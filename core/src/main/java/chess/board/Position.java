@@ -0,0 +1,522 @@
+package chess.board;
+
+import chess.eval.PieceSquareTables;
+import chess.exceptions.InvalidFenException;
+
+import java.util.Arrays;
+
+public class Position {
+	public static final int WHITE_KINGSIDE = 1;
+	public static final int WHITE_QUEENSIDE = 2;
+	public static final int BLACK_KINGSIDE = 4;
+	public static final int BLACK_QUEENSIDE = 8;
+	public static final int FIFTY_MOVE_PLIES = 100;
+	private static final int INITIAL_HISTORY_CAPACITY = 16;
+	private static final int UNDO_CAPTURED_SHIFT = 16;
+	private static final int UNDO_CASTLING_SHIFT = 20;
+	private static final int UNDO_EN_PASSANT_SHIFT = 24;
+	private static final int UNDO_HALFMOVE_SHIFT = 32;
+	// Material-key nibbles of both colours' pawns, rooks and queens
+	private static final long MATING_MATERIAL = 0xFFL << (PieceCode.PAWN << 3) | 0xFFL << (PieceCode.ROOK << 3)
+			| 0xFFL << (PieceCode.QUEEN << 3);
+	private static final long DARK_SQUARES = 0xAA55AA55AA55AA55L;
+
+	private static final int[] CASTLING_MASKS = new int[64];
+
+	static {
+		Arrays.fill(CASTLING_MASKS, 0xF);
+		CASTLING_MASKS[Square.of(4, 0)] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+		CASTLING_MASKS[Square.of(7, 0)] &= ~WHITE_KINGSIDE;
+		CASTLING_MASKS[Square.of(0, 0)] &= ~WHITE_QUEENSIDE;
+		CASTLING_MASKS[Square.of(4, 7)] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+		CASTLING_MASKS[Square.of(7, 7)] &= ~BLACK_KINGSIDE;
+		CASTLING_MASKS[Square.of(0, 7)] &= ~BLACK_QUEENSIDE;
+	}
+
+	private final long[] pieceBitboards;
+	private final long[] colorBitboards;
+	private final int[] squares;
+	private final int[] kingSquares;
+	// One packed record per ply: move, captured piece, castling rights, en-passant square and halfmove clock
+	private long[] undoStack;
+	private long[] hashStack;
+	private long occupied;
+	private int sideToMove;
+	private int castlingRights;
+	private int enPassantSquare;
+	private int halfmoveClock;
+	private int fullmoveNumber;
+	private int ply;
+	private long hash;
+	// Key of the en-passant square as it is in the hash: zero unless a pawn can actually take on it
+	private long enPassantKey;
+	private long pawnHash;
+	private long materialKey;
+	private int middlegameScore;
+	private int endgameScore;
+	private int phase;
+
+	public Position() {
+		pieceBitboards = new long[PieceCode.COUNT];
+		colorBitboards = new long[2];
+		squares = new int[64];
+		kingSquares = new int[2];
+		undoStack = new long[INITIAL_HISTORY_CAPACITY];
+		hashStack = new long[INITIAL_HISTORY_CAPACITY];
+		clear();
+	}
+
+	public Position(Position other) {
+		this();
+		copyFrom(other);
+	}
+
+	public static Position fromFen(String fen) throws InvalidFenException {
+		return Fen.parse(fen);
+	}
+
+	public String toFen() {
+		return Fen.toFen(this);
+	}
+
+	public void clear() {
+		Arrays.fill(pieceBitboards, 0);
+		Arrays.fill(colorBitboards, 0);
+		Arrays.fill(squares, PieceCode.NONE);
+		kingSquares[PieceCode.WHITE] = Square.NONE;
+		kingSquares[PieceCode.BLACK] = Square.NONE;
+		occupied = 0;
+		sideToMove = PieceCode.WHITE;
+		castlingRights = 0;
+		enPassantSquare = Square.NONE;
+		halfmoveClock = 0;
+		fullmoveNumber = 1;
+		ply = 0;
+		hash = Zobrist.castling(0);
+		enPassantKey = 0;
+		pawnHash = 0;
+		materialKey = 0;
+		middlegameScore = 0;
+		endgameScore = 0;
+		phase = 0;
+	}
+
+	public void copyFrom(Position other) {
+		System.arraycopy(other.pieceBitboards, 0, pieceBitboards, 0, PieceCode.COUNT);
+		System.arraycopy(other.colorBitboards, 0, colorBitboards, 0, 2);
+		System.arraycopy(other.squares, 0, squares, 0, 64);
+		kingSquares[PieceCode.WHITE] = other.kingSquares[PieceCode.WHITE];
+		kingSquares[PieceCode.BLACK] = other.kingSquares[PieceCode.BLACK];
+		occupied = other.occupied;
+		sideToMove = other.sideToMove;
+		castlingRights = other.castlingRights;
+		enPassantSquare = other.enPassantSquare;
+		halfmoveClock = other.halfmoveClock;
+		fullmoveNumber = other.fullmoveNumber;
+		hash = other.hash;
+		enPassantKey = other.enPassantKey;
+		pawnHash = other.pawnHash;
+		materialKey = other.materialKey;
+		middlegameScore = other.middlegameScore;
+		endgameScore = other.endgameScore;
+		phase = other.phase;
+		// The history comes along so repetitions of positions played before the copy are still found
+		ply = other.ply;
+		if (undoStack.length < ply) {
+			undoStack = new long[other.undoStack.length];
+			hashStack = new long[other.hashStack.length];
+		}
+		System.arraycopy(other.undoStack, 0, undoStack, 0, ply);
+		System.arraycopy(other.hashStack, 0, hashStack, 0, ply);
+	}
+
+	public int pieceAt(int square) {
+		return squares[square];
+	}
+
+	public long getPieces(int piece) {
+		return pieceBitboards[piece];
+	}
+
+	public long getPieces(int color, int type) {
+		return pieceBitboards[PieceCode.of(color, type)];
+	}
+
+	public long getColor(int color) {
+		return colorBitboards[color];
+	}
+
+	public long getOccupied() {
+		return occupied;
+	}
+
+	public int getSideToMove() {
+		return sideToMove;
+	}
+
+	public void setSideToMove(int sideToMove) {
+		if (this.sideToMove != sideToMove) {
+			hash ^= Zobrist.side();
+		}
+		this.sideToMove = sideToMove;
+	}
+
+	public int getCastlingRights() {
+		return castlingRights;
+	}
+
+	public void setCastlingRights(int castlingRights) {
+		hash ^= Zobrist.castling(this.castlingRights) ^ Zobrist.castling(castlingRights);
+		this.castlingRights = castlingRights;
+	}
+
+	public int getEnPassantSquare() {
+		return enPassantSquare;
+	}
+
+	/**
+	 * Set after the pieces and the side to move, which decide whether the square is part of the hash.
+	 */
+	public void setEnPassantSquare(int enPassantSquare) {
+		long key = capturableEnPassantKey(enPassantSquare, sideToMove);
+		hash ^= enPassantKey ^ key;
+		enPassantKey = key;
+		this.enPassantSquare = enPassantSquare;
+	}
+
+	public int getHalfmoveClock() {
+		return halfmoveClock;
+	}
+
+	public void setHalfmoveClock(int halfmoveClock) {
+		this.halfmoveClock = halfmoveClock;
+	}
+
+	public int getFullmoveNumber() {
+		return fullmoveNumber;
+	}
+
+	public void setFullmoveNumber(int fullmoveNumber) {
+		this.fullmoveNumber = fullmoveNumber;
+	}
+
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Zobrist key of the pawns alone, so pawn-structure terms can be cached across positions sharing it.
+	 */
+	public long getPawnHash() {
+		return pawnHash;
+	}
+
+	/**
+	 * Four bits per piece code counting that piece on the board, so positions with equal material share a key.
+	 */
+	public long getMaterialKey() {
+		return materialKey;
+	}
+
+	public long computePawnHash() {
+		long key = 0;
+		for (int color = PieceCode.WHITE; color <= PieceCode.BLACK; color++) {
+			int pawn = PieceCode.of(color, PieceCode.PAWN);
+			for (long pawns = pieceBitboards[pawn]; pawns != 0; pawns &= pawns - 1) {
+				key ^= Zobrist.piece(pawn, Long.numberOfTrailingZeros(pawns));
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Material plus piece-square score for the middlegame, white minus black, kept up to date by every piece change.
+	 */
+	public int getMiddlegameScore() {
+		return middlegameScore;
+	}
+
+	public int getEndgameScore() {
+		return endgameScore;
+	}
+
+	/**
+	 * Remaining non-pawn material in phase units, {@link PieceSquareTables#MAX_PHASE} at the start of the game.
+	 * Can exceed the maximum after promotions.
+	 */
+	public int getPhase() {
+		return phase;
+	}
+
+	public long computeHash() {
+		long key = Zobrist.castling(castlingRights) ^ capturableEnPassantKey(enPassantSquare, sideToMove);
+		if (sideToMove == PieceCode.BLACK) {
+			key ^= Zobrist.side();
+		}
+		for (int square = 0; square < 64; square++) {
+			if (squares[square] != PieceCode.NONE) {
+				key ^= Zobrist.piece(squares[square], square);
+			}
+		}
+		return key;
+	}
+
+	public void makeMove(int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int flags = Move.flags(move);
+		if (ply == undoStack.length) {
+			undoStack = Arrays.copyOf(undoStack, ply * 2);
+			hashStack = Arrays.copyOf(hashStack, ply * 2);
+		}
+		hashStack[ply] = hash;
+		int piece = removePiece(from);
+		int captured = removePiece(flags == Move.EN_PASSANT ? to ^ 8 : to);
+		undoStack[ply] = move & 0xFFFFL
+				| (long) (captured & 0xF) << UNDO_CAPTURED_SHIFT
+				| (long) castlingRights << UNDO_CASTLING_SHIFT
+				| (long) (enPassantSquare & 0x7F) << UNDO_EN_PASSANT_SHIFT
+				| (long) halfmoveClock << UNDO_HALFMOVE_SHIFT;
+		ply++;
+		if (captured != PieceCode.NONE || PieceCode.typeOf(piece) == PieceCode.PAWN) {
+			halfmoveClock = 0;
+		} else {
+			halfmoveClock++;
+		}
+		if (sideToMove == PieceCode.BLACK) {
+			fullmoveNumber++;
+		}
+		if (Move.isPromotion(move)) {
+			piece = PieceCode.of(sideToMove, Move.promotionType(move));
+		}
+		setPiece(to, piece);
+		if (flags == Move.KING_CASTLE) {
+			setPiece(to - 1, removePiece(to + 1));
+		} else if (flags == Move.QUEEN_CASTLE) {
+			setPiece(to + 1, removePiece(to - 2));
+		}
+		int newCastlingRights = castlingRights & CASTLING_MASKS[from] & CASTLING_MASKS[to];
+		int newEnPassantSquare = flags == Move.DOUBLE_PAWN_PUSH ? (from + to) >>> 1 : Square.NONE;
+		long newEnPassantKey = capturableEnPassantKey(newEnPassantSquare, PieceCode.opposite(sideToMove));
+		hash ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(newCastlingRights)
+				^ enPassantKey ^ newEnPassantKey
+				^ Zobrist.side();
+		castlingRights = newCastlingRights;
+		enPassantSquare = newEnPassantSquare;
+		enPassantKey = newEnPassantKey;
+		sideToMove = PieceCode.opposite(sideToMove);
+	}
+
+	/**
+	 * Takes back the last move made on this position.
+	 */
+	public void unmakeMove() {
+		unmakeMove((int) (undoStack[ply - 1] & 0xFFFF));
+	}
+
+	public void unmakeMove(int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int flags = Move.flags(move);
+		ply--;
+		long undo = undoStack[ply];
+		sideToMove = PieceCode.opposite(sideToMove);
+		castlingRights = (int) (undo >>> UNDO_CASTLING_SHIFT) & 0xF;
+		int enPassant = (int) (undo >>> UNDO_EN_PASSANT_SHIFT) & 0x7F;
+		enPassantSquare = enPassant == 0x7F ? Square.NONE : enPassant;
+		halfmoveClock = (int) (undo >>> UNDO_HALFMOVE_SHIFT);
+		if (sideToMove == PieceCode.BLACK) {
+			fullmoveNumber--;
+		}
+		int piece = removePiece(to);
+		if (Move.isPromotion(move)) {
+			piece = PieceCode.of(sideToMove, PieceCode.PAWN);
+		}
+		setPiece(from, piece);
+		if (flags == Move.KING_CASTLE) {
+			setPiece(to + 1, removePiece(to - 1));
+		} else if (flags == Move.QUEEN_CASTLE) {
+			setPiece(to - 2, removePiece(to + 1));
+		}
+		int captured = (int) (undo >>> UNDO_CAPTURED_SHIFT) & 0xF;
+		if (captured != 0xF) {
+			setPiece(flags == Move.EN_PASSANT ? to ^ 8 : to, captured);
+		}
+		hash = hashStack[ply];
+		enPassantKey = capturableEnPassantKey(enPassantSquare, sideToMove);
+	}
+
+	/**
+	 * Number of moves made since this position was set up, including those inherited through
+	 * {@link #copyFrom(Position)}, i.e. how many can be taken back.
+	 */
+	public int getPly() {
+		return ply;
+	}
+
+	/**
+	 * Whether this position occurred before since the last capture or pawn move. Only positions with the same
+	 * side to move are compared, so the scan is bounded by half the halfmove clock.
+	 */
+	public boolean isRepetition() {
+		return repetitions(1) >= 1;
+	}
+
+	/**
+	 * Whether this position is on the board for at least the third time.
+	 */
+	public boolean isThreefoldRepetition() {
+		return repetitions(2) >= 2;
+	}
+
+	public boolean isFiftyMoveRule() {
+		return halfmoveClock >= FIFTY_MOVE_PLIES;
+	}
+
+	/**
+	 * Whether neither side can possibly mate: no pawns, rooks or queens, and either at most one minor piece or
+	 * only bishops all on squares of one colour.
+	 */
+	public boolean hasInsufficientMaterial() {
+		if ((materialKey & MATING_MATERIAL) != 0) {
+			return false;
+		}
+		long knights = pieceBitboards[PieceCode.of(PieceCode.WHITE, PieceCode.KNIGHT)]
+				| pieceBitboards[PieceCode.of(PieceCode.BLACK, PieceCode.KNIGHT)];
+		long bishops = pieceBitboards[PieceCode.of(PieceCode.WHITE, PieceCode.BISHOP)]
+				| pieceBitboards[PieceCode.of(PieceCode.BLACK, PieceCode.BISHOP)];
+		if (Long.bitCount(knights | bishops) <= 1) {
+			return true;
+		}
+		return knights == 0 && ((bishops & DARK_SQUARES) == 0 || (bishops & ~DARK_SQUARES) == 0);
+	}
+
+	/**
+	 * The key of an en-passant square counts only while a pawn of {@code capturer} attacks it, so a double push
+	 * nobody can take does not make an otherwise identical position look new to the repetition check.
+	 */
+	private long capturableEnPassantKey(int square, int capturer) {
+		if (square == Square.NONE || (Attacks.pawn(PieceCode.opposite(capturer), square)
+				& pieceBitboards[PieceCode.of(capturer, PieceCode.PAWN)]) == 0) {
+			return 0;
+		}
+		return Zobrist.enPassant(square);
+	}
+
+	private int repetitions(int limit) {
+		int count = 0;
+		int oldest = Math.max(0, ply - halfmoveClock);
+		for (int i = ply - 4; i >= oldest; i -= 2) {
+			if (hashStack[i] == hash && ++count >= limit) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * The move made {@code pliesAgo + 1} plies ago, 0 being the last one.
+	 */
+	public int getMove(int pliesAgo) {
+		return (int) (undoStack[ply - 1 - pliesAgo] & 0xFFFF);
+	}
+
+	public void setPiece(int square, int piece) {
+		removePiece(square);
+		long mask = 1L << square;
+		pieceBitboards[piece] |= mask;
+		colorBitboards[PieceCode.colorOf(piece)] |= mask;
+		occupied |= mask;
+		squares[square] = piece;
+		hash ^= Zobrist.piece(piece, square);
+		materialKey += 1L << (piece << 2);
+		middlegameScore += PieceSquareTables.middlegame(piece, square);
+		endgameScore += PieceSquareTables.endgame(piece, square);
+		phase += PieceSquareTables.phase(piece);
+		if (PieceCode.typeOf(piece) == PieceCode.KING) {
+			kingSquares[PieceCode.colorOf(piece)] = square;
+		} else if (PieceCode.typeOf(piece) == PieceCode.PAWN) {
+			pawnHash ^= Zobrist.piece(piece, square);
+		}
+	}
+
+	public int removePiece(int square) {
+		int piece = squares[square];
+		if (piece == PieceCode.NONE) {
+			return piece;
+		}
+		long mask = ~(1L << square);
+		pieceBitboards[piece] &= mask;
+		colorBitboards[PieceCode.colorOf(piece)] &= mask;
+		occupied &= mask;
+		squares[square] = PieceCode.NONE;
+		hash ^= Zobrist.piece(piece, square);
+		materialKey -= 1L << (piece << 2);
+		middlegameScore -= PieceSquareTables.middlegame(piece, square);
+		endgameScore -= PieceSquareTables.endgame(piece, square);
+		phase -= PieceSquareTables.phase(piece);
+		if (PieceCode.typeOf(piece) == PieceCode.KING) {
+			kingSquares[PieceCode.colorOf(piece)] = Square.NONE;
+		} else if (PieceCode.typeOf(piece) == PieceCode.PAWN) {
+			pawnHash ^= Zobrist.piece(piece, square);
+		}
+		return piece;
+	}
+
+	public int movePiece(int from, int to) {
+		int captured = removePiece(to);
+		setPiece(to, removePiece(from));
+		return captured;
+	}
+
+	int inferCastlingRights() {
+		int rights = 0;
+		if (squares[Square.of(4, 0)] == PieceCode.of(PieceCode.WHITE, PieceCode.KING)) {
+			int rook = PieceCode.of(PieceCode.WHITE, PieceCode.ROOK);
+			rights |= squares[Square.of(7, 0)] == rook ? WHITE_KINGSIDE : 0;
+			rights |= squares[Square.of(0, 0)] == rook ? WHITE_QUEENSIDE : 0;
+		}
+		if (squares[Square.of(4, 7)] == PieceCode.of(PieceCode.BLACK, PieceCode.KING)) {
+			int rook = PieceCode.of(PieceCode.BLACK, PieceCode.ROOK);
+			rights |= squares[Square.of(7, 7)] == rook ? BLACK_KINGSIDE : 0;
+			rights |= squares[Square.of(0, 7)] == rook ? BLACK_QUEENSIDE : 0;
+		}
+		return rights;
+	}
+
+	public int kingSquare(int color) {
+		return kingSquares[color];
+	}
+
+	public boolean isInCheck() {
+		return isSquareAttacked(kingSquares[sideToMove], PieceCode.opposite(sideToMove));
+	}
+
+	public boolean isSquareAttacked(int square, int byColor) {
+		return (attackersTo(square, occupied) & colorBitboards[byColor]) != 0;
+	}
+
+	public long attackersTo(int square, long occupied) {
+		long diagonalSliders = pieceBitboards[PieceCode.of(PieceCode.WHITE, PieceCode.BISHOP)]
+				| pieceBitboards[PieceCode.of(PieceCode.BLACK, PieceCode.BISHOP)]
+				| pieceBitboards[PieceCode.of(PieceCode.WHITE, PieceCode.QUEEN)]
+				| pieceBitboards[PieceCode.of(PieceCode.BLACK, PieceCode.QUEEN)];
+		long orthogonalSliders = pieceBitboards[PieceCode.of(PieceCode.WHITE, PieceCode.ROOK)]
+				| pieceBitboards[PieceCode.of(PieceCode.BLACK, PieceCode.ROOK)]
+				| pieceBitboards[PieceCode.of(PieceCode.WHITE, PieceCode.QUEEN)]
+				| pieceBitboards[PieceCode.of(PieceCode.BLACK, PieceCode.QUEEN)];
+		return (Attacks.pawn(PieceCode.BLACK, square) & pieceBitboards[PieceCode.of(PieceCode.WHITE, PieceCode.PAWN)])
+				| (Attacks.pawn(PieceCode.WHITE, square) & pieceBitboards[PieceCode.of(PieceCode.BLACK, PieceCode.PAWN)])
+				| (Attacks.knight(square) & (pieceBitboards[PieceCode.of(PieceCode.WHITE, PieceCode.KNIGHT)]
+				| pieceBitboards[PieceCode.of(PieceCode.BLACK, PieceCode.KNIGHT)]))
+				| (Attacks.king(square) & (pieceBitboards[PieceCode.of(PieceCode.WHITE, PieceCode.KING)]
+				| pieceBitboards[PieceCode.of(PieceCode.BLACK, PieceCode.KING)]))
+				| (Attacks.bishop(square, occupied) & diagonalSliders)
+				| (Attacks.rook(square, occupied) & orthogonalSliders);
+	}
+
+	public int attackerOf(int square, int byColor) {
+		long attackers = attackersTo(square, occupied) & colorBitboards[byColor];
+		return attackers == 0 ? PieceCode.NONE : squares[Long.numberOfTrailingZeros(attackers)];
+	}
+}
@@ -0,0 +1,36 @@
+package chess.board;
+
+public final class Square {
+	public static final int NONE = -1;
+
+	private Square() {
+	}
+
+	public static int of(int file, int rank) {
+		return rank * 8 + file;
+	}
+
+	public static int file(int square) {
+		return square & 7;
+	}
+
+	public static int rank(int square) {
+		return square >>> 3;
+	}
+
+	public static String name(int square) {
+		return "" + (char) ('a' + file(square)) + (char) ('1' + rank(square));
+	}
+
+	public static int parse(String name) {
+		if (name.length() != 2) {
+			return NONE;
+		}
+		int file = name.charAt(0) - 'a';
+		int rank = name.charAt(1) - '1';
+		if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+			return NONE;
+		}
+		return of(file, rank);
+	}
+}
@@ -0,0 +1,51 @@
+package chess.board;
+
+public final class Zobrist {
+	private static final long[][] PIECES = new long[PieceCode.COUNT][64];
+	private static final long[] CASTLING = new long[16];
+	private static final long[] EN_PASSANT_FILES = new long[8];
+	private static final long SIDE;
+	private static long seed = 0x2545F4914F6CDD1DL;
+
+	static {
+		for (long[] squares : PIECES) {
+			for (int square = 0; square < 64; square++) {
+				squares[square] = nextRandom();
+			}
+		}
+		for (int rights = 0; rights < 16; rights++) {
+			CASTLING[rights] = nextRandom();
+		}
+		for (int file = 0; file < 8; file++) {
+			EN_PASSANT_FILES[file] = nextRandom();
+		}
+		SIDE = nextRandom();
+	}
+
+	private Zobrist() {
+	}
+
+	public static long piece(int piece, int square) {
+		return PIECES[piece][square];
+	}
+
+	public static long castling(int castlingRights) {
+		return CASTLING[castlingRights];
+	}
+
+	public static long enPassant(int square) {
+		return square == Square.NONE ? 0 : EN_PASSANT_FILES[Square.file(square)];
+	}
+
+	public static long side() {
+		return SIDE;
+	}
+
+	// SplitMix64, so keys are identical across JVMs and runs
+	private static long nextRandom() {
+		long z = (seed += 0x9E3779B97F4A7C15L);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
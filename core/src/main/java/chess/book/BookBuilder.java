@@ -0,0 +1,227 @@
+package chess.book;
+
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnReader;
+import chess.pgn.PgnReplayer;
+import chess.pgn.PositionListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Builds an {@link OpeningBook} file from PGN games. Every (position, move) pair of the first plies of each
+ * decided game is counted in an open-addressing table of primitive arrays; pairs seen too rarely are dropped
+ * when the book is written. A game's pairs are only counted once it has replayed without error.
+ */
+public class BookBuilder implements PositionListener {
+	public static final int DEFAULT_MAX_PLIES = 24;
+	public static final int DEFAULT_MIN_GAMES = 3;
+	private static final int WIN = 0;
+	private static final int DRAW = 1;
+	private static final int LOSS = 2;
+	private static final int WRITE_BUFFER_ENTRIES = 4096;
+	private static final int INITIAL_PENDING = 64;
+
+	private final int maxPlies;
+	private final PgnReplayer replayer;
+	private long[] keys;
+	private short[] moves;
+	private int[][] counts;
+	private int entries;
+	private int whiteOutcome;
+	private long games;
+	// Pairs of the game being replayed, counted once it replays to the end
+	private long[] pendingKeys;
+	private short[] pendingMoves;
+	private byte[] pendingOutcomes;
+	private int pendingCount;
+
+	public BookBuilder(int maxPlies) {
+		this.maxPlies = maxPlies;
+		this.replayer = new PgnReplayer();
+		this.pendingKeys = new long[INITIAL_PENDING];
+		this.pendingMoves = new short[INITIAL_PENDING];
+		this.pendingOutcomes = new byte[INITIAL_PENDING];
+		allocate(1 << 16);
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out.println("Usage: BookBuilder <games.pgn> <book.bin> [maxPlies] [minGames]");
+			return;
+		}
+		int maxPlies = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PLIES;
+		int minGames = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MIN_GAMES;
+		long start = System.nanoTime();
+		BookBuilder builder = new BookBuilder(maxPlies);
+		try (PgnReader reader = new PgnReader(Paths.get(args[0]))) {
+			PgnGame game;
+			while ((game = reader.next()) != null) {
+				builder.add(game);
+			}
+		}
+		int written = builder.write(Paths.get(args[1]), minGames);
+		long elapsed = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		System.out.println("Games: " + builder.getGames());
+		System.out.println("Entries: " + written + " of " + builder.entries + " distinct moves");
+		System.out.println("Time: " + elapsed + " ms");
+	}
+
+	/**
+	 * Counts the opening moves of a game. Games without a decisive or drawn result are skipped, and so are
+	 * games with an illegal or unreadable move within the book depth.
+	 *
+	 * @return false if the game was skipped
+	 */
+	public boolean add(PgnGame game) {
+		switch (game.getResult()) {
+			case "1-0":
+				whiteOutcome = WIN;
+				break;
+			case "0-1":
+				whiteOutcome = LOSS;
+				break;
+			case "1/2-1/2":
+				whiteOutcome = DRAW;
+				break;
+			default:
+				return false;
+		}
+		pendingCount = 0;
+		if (!replayer.replay(game, this, maxPlies)) {
+			return false;
+		}
+		games++;
+		for (int i = 0; i < pendingCount; i++) {
+			count(pendingKeys[i], pendingMoves[i] & 0xFFFF, pendingOutcomes[i]);
+		}
+		return true;
+	}
+
+	public long getGames() {
+		return games;
+	}
+
+	@Override
+	public void onPosition(PgnGame game, Position position, int move) {
+		if (pendingCount == pendingKeys.length) {
+			pendingKeys = Arrays.copyOf(pendingKeys, pendingCount * 2);
+			pendingMoves = Arrays.copyOf(pendingMoves, pendingCount * 2);
+			pendingOutcomes = Arrays.copyOf(pendingOutcomes, pendingCount * 2);
+		}
+		pendingKeys[pendingCount] = position.getHash();
+		pendingMoves[pendingCount] = (short) move;
+		pendingOutcomes[pendingCount++] = (byte) (position.getSideToMove() == PieceCode.WHITE
+				? whiteOutcome : LOSS - whiteOutcome);
+	}
+
+	private void count(long key, int move, int outcome) {
+		int slot = slot(key, move);
+		boolean added = games(slot) == 0;
+		keys[slot] = key;
+		moves[slot] = (short) move;
+		counts[outcome][slot]++;
+		if (added && ++entries * 2 > keys.length) {
+			grow();
+		}
+	}
+
+	/**
+	 * Writes every move played at least {@code minGames} times, sorted for binary search.
+	 *
+	 * @return the number of entries written
+	 */
+	public int write(Path path, int minGames) throws IOException {
+		int kept = 0;
+		int[] order = new int[entries];
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (games(slot) >= Math.max(1, minGames)) {
+				order[kept++] = slot;
+			}
+		}
+		Integer[] sorted = new Integer[kept];
+		for (int i = 0; i < kept; i++) {
+			sorted[i] = order[i];
+		}
+		Arrays.sort(sorted, (a, b) -> keys[a] != keys[b] ? Long.compare(keys[a], keys[b])
+				: Integer.compare(weight(b), weight(a)));
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.ENTRY_SIZE * WRITE_BUFFER_ENTRIES);
+			buffer.putLong(OpeningBook.MAGIC).putLong(kept);
+			for (int slot : sorted) {
+				if (buffer.remaining() < OpeningBook.ENTRY_SIZE) {
+					flush(channel, buffer);
+				}
+				buffer.putLong(keys[slot])
+						.putShort(moves[slot])
+						.putShort((short) weight(slot))
+						.putInt(counts[WIN][slot])
+						.putInt(counts[DRAW][slot])
+						.putInt(counts[LOSS][slot]);
+			}
+			flush(channel, buffer);
+		}
+		return kept;
+	}
+
+	private int games(int slot) {
+		return counts[WIN][slot] + counts[DRAW][slot] + counts[LOSS][slot];
+	}
+
+	/**
+	 * Polyglot-style weight: two points per win and one per draw, saturated to 16 bits.
+	 */
+	private int weight(int slot) {
+		return (int) Math.min(0xFFFF, 2L * counts[WIN][slot] + counts[DRAW][slot]);
+	}
+
+	private int slot(long key, int move) {
+		int mask = keys.length - 1;
+		long hash = (key ^ move * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+		int slot = (int) (hash >>> 32) & mask;
+		while (games(slot) != 0 && (keys[slot] != key || moves[slot] != (short) move)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		moves = new short[capacity];
+		counts = new int[3][capacity];
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		short[] oldMoves = moves;
+		int[][] oldCounts = counts;
+		allocate(oldKeys.length * 2);
+		for (int old = 0; old < oldKeys.length; old++) {
+			if (oldCounts[WIN][old] + oldCounts[DRAW][old] + oldCounts[LOSS][old] == 0) {
+				continue;
+			}
+			int slot = slot(oldKeys[old], oldMoves[old] & 0xFFFF);
+			keys[slot] = oldKeys[old];
+			moves[slot] = oldMoves[old];
+			for (int outcome = WIN; outcome <= LOSS; outcome++) {
+				counts[outcome][slot] = oldCounts[outcome][old];
+			}
+		}
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,156 @@
+package chess.book;
+
+import chess.board.Move;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Read-only view of a book file written by {@link BookBuilder}. The file is memory-mapped and searched in
+ * place, so opening a book costs the same whatever its size and the entries never touch the heap. Lookups
+ * only use absolute reads and are safe to share between threads.
+ * <p>
+ * Layout, big-endian: a 16-byte header holding {@link #MAGIC} and the entry count, then entries of
+ * {@link #ENTRY_SIZE} bytes sorted by key and, within a key, by descending weight. An entry is the position's
+ * Zobrist key (8 bytes), the move (2), its weight (2, unsigned), and the win, draw and loss counts (4 each)
+ * from the point of view of the side playing the move. Keys come from {@link chess.board.Zobrist}, so books
+ * are specific to this engine and are not Polyglot files.
+ */
+public class OpeningBook implements Closeable {
+	public static final long MAGIC = 0x4348455353424B31L;
+	public static final int HEADER_SIZE = 16;
+	public static final int ENTRY_SIZE = 24;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final int size;
+
+	public OpeningBook(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		long fileSize = channel.size();
+		if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+			channel.close();
+			throw new IOException("Not an opening book: " + path);
+		}
+		this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+		long entries = buffer.getLong(8);
+		if (buffer.getLong(0) != MAGIC || HEADER_SIZE + entries * ENTRY_SIZE != fileSize) {
+			channel.close();
+			throw new IOException("Not an opening book: " + path);
+		}
+		this.size = (int) entries;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the index of the first entry for {@code key}, or -1 if the book has none
+	 */
+	public int find(long key) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (getKey(middle) < key) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low < size && getKey(low) == key ? low : -1;
+	}
+
+	public long getKey(int index) {
+		return buffer.getLong(offset(index));
+	}
+
+	public int getMove(int index) {
+		return buffer.getShort(offset(index) + 8) & 0xFFFF;
+	}
+
+	public int getWeight(int index) {
+		return buffer.getShort(offset(index) + 10) & 0xFFFF;
+	}
+
+	public int getWins(int index) {
+		return buffer.getInt(offset(index) + 12);
+	}
+
+	public int getDraws(int index) {
+		return buffer.getInt(offset(index) + 16);
+	}
+
+	public int getLosses(int index) {
+		return buffer.getInt(offset(index) + 20);
+	}
+
+	/**
+	 * Highest-weighted book move that is legal in the position, or {@link Move#NONE}.
+	 */
+	public int bestMove(Position position, MoveList moves) {
+		int index = find(position.getHash());
+		if (index < 0) {
+			return Move.NONE;
+		}
+		MoveGenerator.generateLegalMoves(position, moves);
+		long key = position.getHash();
+		for (; index < size && getKey(index) == key; index++) {
+			// Guards against key collisions and books built with different keys
+			if (moves.contains(getMove(index))) {
+				return getMove(index);
+			}
+		}
+		return Move.NONE;
+	}
+
+	/**
+	 * Picks a legal book move at random, in proportion to the weights, or returns {@link Move#NONE}.
+	 */
+	public int randomMove(Position position, MoveList moves, Random random) {
+		long key = position.getHash();
+		int first = find(key);
+		if (first < 0) {
+			return Move.NONE;
+		}
+		MoveGenerator.generateLegalMoves(position, moves);
+		long total = 0;
+		int end = first;
+		for (; end < size && getKey(end) == key; end++) {
+			if (moves.contains(getMove(end))) {
+				total += getWeight(end);
+			}
+		}
+		if (total == 0) {
+			return bestMove(position, moves);
+		}
+		long pick = (long) (random.nextDouble() * total);
+		for (int index = first; index < end; index++) {
+			if (moves.contains(getMove(index))) {
+				pick -= getWeight(index);
+				if (pick < 0) {
+					return getMove(index);
+				}
+			}
+		}
+		return Move.NONE;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private static int offset(int index) {
+		return HEADER_SIZE + index * ENTRY_SIZE;
+	}
+}
@@ -0,0 +1,201 @@
+package chess.eval;
+
+import chess.board.Attacks;
+import chess.board.Bitboards;
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.board.Square;
+
+/**
+ * Static evaluation tapered between middlegame and endgame scores by the remaining material. Material and
+ * piece-square terms come incrementally from the position, pawn structure from a {@link PawnCache} keyed by
+ * the pawn hash, and mobility and king safety are computed from the bitboards. An evaluator keeps its
+ * running totals in fields, so it is not thread-safe and each search thread needs its own instance.
+ */
+public class Evaluator {
+	private static final int[] MOBILITY_MIDDLEGAME = new int[]{0, 4, 5, 2, 1, 0};
+	private static final int[] MOBILITY_ENDGAME = new int[]{0, 4, 5, 4, 2, 0};
+	private static final int[] MOBILITY_BASELINE = new int[]{0, 4, 6, 6, 12, 0};
+	private static final int[] KING_ATTACK_WEIGHTS = new int[]{0, 7, 5, 9, 14, 0};
+	// Percentage of the attack weight that counts, by number of pieces hitting the king zone
+	private static final int[] KING_ATTACKER_SCALING = new int[]{0, 0, 50, 75, 88, 94, 97, 99};
+	private static final int SHIELD_NEAR = 12;
+	private static final int SHIELD_FAR = 6;
+	private static final int DOUBLED_MIDDLEGAME = -10;
+	private static final int DOUBLED_ENDGAME = -20;
+	private static final int ISOLATED_MIDDLEGAME = -10;
+	private static final int ISOLATED_ENDGAME = -15;
+	private static final int BACKWARD_MIDDLEGAME = -8;
+	private static final int BACKWARD_ENDGAME = -10;
+	private static final int[] PASSED_MIDDLEGAME = new int[]{0, 5, 10, 15, 25, 40, 60, 0};
+	private static final int[] PASSED_ENDGAME = new int[]{0, 10, 20, 35, 55, 80, 110, 0};
+
+	private static final long[] ADJACENT_FILES = new long[8];
+	private static final long[][] FORWARD_FILE = new long[2][64];
+	private static final long[][] PASSED_SPAN = new long[2][64];
+	private static final long[][] SUPPORT_SPAN = new long[2][64];
+	private static final long[][] SHIELD = new long[2][64];
+
+	static {
+		for (int file = 0; file < 8; file++) {
+			ADJACENT_FILES[file] = (file > 0 ? Bitboards.FILE_A << (file - 1) : 0)
+					| (file < 7 ? Bitboards.FILE_A << (file + 1) : 0);
+		}
+		for (int square = 0; square < 64; square++) {
+			int file = Square.file(square);
+			int rank = Square.rank(square);
+			long files = Bitboards.FILE_A << file | ADJACENT_FILES[file];
+			long above = rank < 7 ? -1L << (8 * (rank + 1)) : 0;
+			long below = (1L << (8 * rank)) - 1;
+			FORWARD_FILE[PieceCode.WHITE][square] = Bitboards.FILE_A << file & above;
+			FORWARD_FILE[PieceCode.BLACK][square] = Bitboards.FILE_A << file & below;
+			PASSED_SPAN[PieceCode.WHITE][square] = files & above;
+			PASSED_SPAN[PieceCode.BLACK][square] = files & below;
+			SUPPORT_SPAN[PieceCode.WHITE][square] = ADJACENT_FILES[file] & ~above;
+			SUPPORT_SPAN[PieceCode.BLACK][square] = ADJACENT_FILES[file] & ~below;
+			SHIELD[PieceCode.WHITE][square] = rank < 7 ? files & Bitboards.RANK_1 << (8 * (rank + 1)) : 0;
+			SHIELD[PieceCode.BLACK][square] = rank > 0 ? files & Bitboards.RANK_1 << (8 * (rank - 1)) : 0;
+		}
+	}
+
+	private final PawnCache pawnCache;
+	private int middlegame;
+	private int endgame;
+	private int pawnMiddlegame;
+	private int pawnEndgame;
+
+	public Evaluator() {
+		this(new PawnCache());
+	}
+
+	public Evaluator(PawnCache pawnCache) {
+		this.pawnCache = pawnCache;
+	}
+
+	public PawnCache getPawnCache() {
+		return pawnCache;
+	}
+
+	/**
+	 * Score in centipawns from the point of view of the side to move.
+	 */
+	public int evaluate(Position position) {
+		middlegame = position.getMiddlegameScore();
+		endgame = position.getEndgameScore();
+		evaluatePawnStructure(position);
+		evaluatePieces(position, PieceCode.WHITE);
+		evaluatePieces(position, PieceCode.BLACK);
+		evaluateKingShelter(position, PieceCode.WHITE);
+		evaluateKingShelter(position, PieceCode.BLACK);
+		int phase = Math.min(position.getPhase(), PieceSquareTables.MAX_PHASE);
+		int score = (middlegame * phase + endgame * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+		return position.getSideToMove() == PieceCode.WHITE ? score : -score;
+	}
+
+	private void evaluatePawnStructure(Position position) {
+		long key = position.getPawnHash();
+		int slot = pawnCache.probe(key);
+		if (slot >= 0) {
+			middlegame += pawnCache.middlegame(slot);
+			endgame += pawnCache.endgame(slot);
+			return;
+		}
+		pawnMiddlegame = 0;
+		pawnEndgame = 0;
+		evaluatePawns(position, PieceCode.WHITE);
+		evaluatePawns(position, PieceCode.BLACK);
+		pawnCache.store(key, pawnMiddlegame, pawnEndgame);
+		middlegame += pawnMiddlegame;
+		endgame += pawnEndgame;
+	}
+
+	private void evaluatePawns(Position position, int color) {
+		int sign = color == PieceCode.WHITE ? 1 : -1;
+		int enemy = PieceCode.opposite(color);
+		long pawns = position.getPieces(color, PieceCode.PAWN);
+		long enemyPawns = position.getPieces(enemy, PieceCode.PAWN);
+		long enemyPawnAttacks = pawnAttacks(enemy, enemyPawns);
+		for (long remaining = pawns; remaining != 0; remaining &= remaining - 1) {
+			int square = Bitboards.first(remaining);
+			boolean doubled = (pawns & FORWARD_FILE[color][square]) != 0;
+			if (doubled) {
+				pawnMiddlegame += sign * DOUBLED_MIDDLEGAME;
+				pawnEndgame += sign * DOUBLED_ENDGAME;
+			}
+			if ((pawns & ADJACENT_FILES[Square.file(square)]) == 0) {
+				pawnMiddlegame += sign * ISOLATED_MIDDLEGAME;
+				pawnEndgame += sign * ISOLATED_ENDGAME;
+			} else if ((pawns & SUPPORT_SPAN[color][square]) == 0) {
+				// No neighbour level or behind to cover the advance, and an enemy pawn guards the stop square
+				int stop = color == PieceCode.WHITE ? square + 8 : square - 8;
+				if ((enemyPawnAttacks & 1L << stop) != 0) {
+					pawnMiddlegame += sign * BACKWARD_MIDDLEGAME;
+					pawnEndgame += sign * BACKWARD_ENDGAME;
+				}
+			}
+			if (!doubled && (enemyPawns & PASSED_SPAN[color][square]) == 0) {
+				int rank = color == PieceCode.WHITE ? Square.rank(square) : 7 - Square.rank(square);
+				pawnMiddlegame += sign * PASSED_MIDDLEGAME[rank];
+				pawnEndgame += sign * PASSED_ENDGAME[rank];
+			}
+		}
+	}
+
+	private void evaluatePieces(Position position, int color) {
+		int sign = color == PieceCode.WHITE ? 1 : -1;
+		int enemy = PieceCode.opposite(color);
+		long occupied = position.getOccupied();
+		long mobilityArea = ~position.getColor(color) & ~pawnAttacks(enemy, position.getPieces(enemy, PieceCode.PAWN));
+		int enemyKing = position.kingSquare(enemy);
+		long kingZone = Attacks.king(enemyKing) | 1L << enemyKing;
+		int attackers = 0;
+		int attackWeight = 0;
+		for (int type = PieceCode.KNIGHT; type <= PieceCode.QUEEN; type++) {
+			for (long pieces = position.getPieces(color, type); pieces != 0; pieces &= pieces - 1) {
+				long attacks = attacks(type, Bitboards.first(pieces), occupied);
+				int mobility = Bitboards.count(attacks & mobilityArea) - MOBILITY_BASELINE[type];
+				middlegame += sign * MOBILITY_MIDDLEGAME[type] * mobility;
+				endgame += sign * MOBILITY_ENDGAME[type] * mobility;
+				long kingAttacks = attacks & kingZone;
+				if (kingAttacks != 0) {
+					attackers++;
+					attackWeight += KING_ATTACK_WEIGHTS[type] * Bitboards.count(kingAttacks);
+				}
+			}
+		}
+		int scaling = KING_ATTACKER_SCALING[Math.min(attackers, KING_ATTACKER_SCALING.length - 1)];
+		middlegame += sign * attackWeight * scaling / 100;
+	}
+
+	private void evaluateKingShelter(Position position, int color) {
+		int king = position.kingSquare(color);
+		int rank = color == PieceCode.WHITE ? Square.rank(king) : 7 - Square.rank(king);
+		if (rank > 1) {
+			return;
+		}
+		long pawns = position.getPieces(color, PieceCode.PAWN);
+		long near = SHIELD[color][king];
+		long far = color == PieceCode.WHITE ? near << 8 : near >>> 8;
+		int shelter = SHIELD_NEAR * Bitboards.count(pawns & near) + SHIELD_FAR * Bitboards.count(pawns & far);
+		middlegame += color == PieceCode.WHITE ? shelter : -shelter;
+	}
+
+	private static long attacks(int type, int square, long occupied) {
+		switch (type) {
+			case PieceCode.KNIGHT:
+				return Attacks.knight(square);
+			case PieceCode.BISHOP:
+				return Attacks.bishop(square, occupied);
+			case PieceCode.ROOK:
+				return Attacks.rook(square, occupied);
+			default:
+				return Attacks.queen(square, occupied);
+		}
+	}
+
+	private static long pawnAttacks(int color, long pawns) {
+		return color == PieceCode.WHITE
+				? Bitboards.shift(pawns & ~Bitboards.FILE_A, 7) | Bitboards.shift(pawns & ~Bitboards.FILE_H, 9)
+				: Bitboards.shift(pawns & ~Bitboards.FILE_A, -9) | Bitboards.shift(pawns & ~Bitboards.FILE_H, -7);
+	}
+}
@@ -0,0 +1,96 @@
+package chess.eval;
+
+import chess.metrics.Counter;
+import chess.metrics.Metrics;
+
+import java.util.Arrays;
+
+/**
+ * Direct-mapped cache of pawn-structure scores keyed by {@link chess.board.Position#getPawnHash()}. A new entry
+ * always evicts whatever occupied its slot. Not thread-safe; each evaluator owns one.
+ */
+public class PawnCache {
+	public static final int DEFAULT_ENTRIES = 1 << 14;
+	// Totals over every cache, next to the per-cache counts below
+	private static final Counter TOTAL_HITS = Metrics.counter("eval.pawn_cache.hits");
+	private static final Counter TOTAL_MISSES = Metrics.counter("eval.pawn_cache.misses");
+
+	private final long[] keys;
+	private final int[] middlegameScores;
+	private final int[] endgameScores;
+	private final int mask;
+	private long hits;
+	private long misses;
+
+	public PawnCache() {
+		this(DEFAULT_ENTRIES);
+	}
+
+	public PawnCache(int entries) {
+		int size = Integer.highestOneBit(Math.max(1, entries));
+		this.keys = new long[size];
+		this.middlegameScores = new int[size];
+		this.endgameScores = new int[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Returns the slot holding {@code key}, or -1 on a miss. Empty slots hold key 0, which is the key of a
+	 * position without pawns, whose pawn-structure score is 0 anyway.
+	 */
+	public int probe(long key) {
+		int slot = (int) key & mask;
+		if (keys[slot] == key) {
+			hits++;
+			TOTAL_HITS.increment();
+			return slot;
+		}
+		misses++;
+		TOTAL_MISSES.increment();
+		return -1;
+	}
+
+	public int middlegame(int slot) {
+		return middlegameScores[slot];
+	}
+
+	public int endgame(int slot) {
+		return endgameScores[slot];
+	}
+
+	public void store(long key, int middlegame, int endgame) {
+		int slot = (int) key & mask;
+		keys[slot] = key;
+		middlegameScores[slot] = middlegame;
+		endgameScores[slot] = endgame;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(middlegameScores, 0);
+		Arrays.fill(endgameScores, 0);
+		resetStatistics();
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public double getHitRate() {
+		long probes = hits + misses;
+		return probes == 0 ? 0 : (double) hits / probes;
+	}
+
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+	}
+
+	public int size() {
+		return keys.length;
+	}
+}
@@ -0,0 +1,139 @@
+package chess.eval;
+
+import chess.board.PieceCode;
+
+/**
+ * Material plus piece-square values for the middlegame and the endgame. The combined tables are signed,
+ * positive for white and negative for black, so a position can keep their sums up to date on every
+ * piece change.
+ */
+public final class PieceSquareTables {
+	public static final int MAX_PHASE = 24;
+
+	private static final int[] MIDDLEGAME_VALUES = new int[]{82, 337, 365, 477, 1025, 0};
+	private static final int[] ENDGAME_VALUES = new int[]{94, 281, 297, 512, 936, 0};
+	private static final int[] PHASE_WEIGHTS = new int[]{0, 1, 1, 2, 4, 0};
+
+	// Tables are written the way a board is drawn, a8 first, from white's point of view
+	private static final int[] PAWN_MIDDLEGAME = new int[]{
+			0, 0, 0, 0, 0, 0, 0, 0,
+			50, 50, 50, 50, 50, 50, 50, 50,
+			10, 10, 20, 30, 30, 20, 10, 10,
+			5, 5, 10, 25, 25, 10, 5, 5,
+			0, 0, 0, 20, 20, 0, 0, 0,
+			5, -5, -10, 0, 0, -10, -5, 5,
+			5, 10, 10, -20, -20, 10, 10, 5,
+			0, 0, 0, 0, 0, 0, 0, 0
+	};
+	private static final int[] PAWN_ENDGAME = new int[]{
+			0, 0, 0, 0, 0, 0, 0, 0,
+			80, 80, 80, 80, 80, 80, 80, 80,
+			50, 50, 50, 50, 50, 50, 50, 50,
+			30, 30, 30, 30, 30, 30, 30, 30,
+			20, 20, 20, 20, 20, 20, 20, 20,
+			10, 10, 10, 10, 10, 10, 10, 10,
+			5, 5, 5, 5, 5, 5, 5, 5,
+			0, 0, 0, 0, 0, 0, 0, 0
+	};
+	private static final int[] KNIGHT = new int[]{
+			-50, -40, -30, -30, -30, -30, -40, -50,
+			-40, -20, 0, 0, 0, 0, -20, -40,
+			-30, 0, 10, 15, 15, 10, 0, -30,
+			-30, 5, 15, 20, 20, 15, 5, -30,
+			-30, 0, 15, 20, 20, 15, 0, -30,
+			-30, 5, 10, 15, 15, 10, 5, -30,
+			-40, -20, 0, 5, 5, 0, -20, -40,
+			-50, -40, -30, -30, -30, -30, -40, -50
+	};
+	private static final int[] BISHOP = new int[]{
+			-20, -10, -10, -10, -10, -10, -10, -20,
+			-10, 0, 0, 0, 0, 0, 0, -10,
+			-10, 0, 5, 10, 10, 5, 0, -10,
+			-10, 5, 5, 10, 10, 5, 5, -10,
+			-10, 0, 10, 10, 10, 10, 0, -10,
+			-10, 10, 10, 10, 10, 10, 10, -10,
+			-10, 5, 0, 0, 0, 0, 5, -10,
+			-20, -10, -10, -10, -10, -10, -10, -20
+	};
+	private static final int[] ROOK = new int[]{
+			0, 0, 0, 0, 0, 0, 0, 0,
+			5, 10, 10, 10, 10, 10, 10, 5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			0, 0, 0, 5, 5, 0, 0, 0
+	};
+	private static final int[] QUEEN = new int[]{
+			-20, -10, -10, -5, -5, -10, -10, -20,
+			-10, 0, 0, 0, 0, 0, 0, -10,
+			-10, 0, 5, 5, 5, 5, 0, -10,
+			-5, 0, 5, 5, 5, 5, 0, -5,
+			0, 0, 5, 5, 5, 5, 0, -5,
+			-10, 5, 5, 5, 5, 5, 0, -10,
+			-10, 0, 5, 0, 0, 0, 0, -10,
+			-20, -10, -10, -5, -5, -10, -10, -20
+	};
+	private static final int[] KING_MIDDLEGAME = new int[]{
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-20, -30, -30, -40, -40, -30, -30, -20,
+			-10, -20, -20, -20, -20, -20, -20, -10,
+			20, 20, 0, 0, 0, 0, 20, 20,
+			20, 30, 10, 0, 0, 10, 30, 20
+	};
+	private static final int[] KING_ENDGAME = new int[]{
+			-50, -40, -30, -20, -20, -30, -40, -50,
+			-30, -20, -10, 0, 0, -10, -20, -30,
+			-30, -10, 20, 30, 30, 20, -10, -30,
+			-30, -10, 30, 40, 40, 30, -10, -30,
+			-30, -10, 30, 40, 40, 30, -10, -30,
+			-30, -10, 20, 30, 30, 20, -10, -30,
+			-30, -30, 0, 0, 0, 0, -30, -30,
+			-50, -30, -30, -30, -30, -30, -30, -50
+	};
+	private static final int[][] MIDDLEGAME_TABLES = new int[][]{
+			PAWN_MIDDLEGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDDLEGAME};
+	private static final int[][] ENDGAME_TABLES = new int[][]{
+			PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME};
+
+	private static final int[] MIDDLEGAME = new int[PieceCode.COUNT * 64];
+	private static final int[] ENDGAME = new int[PieceCode.COUNT * 64];
+
+	static {
+		for (int piece = 0; piece < PieceCode.COUNT; piece++) {
+			int type = PieceCode.typeOf(piece);
+			boolean white = PieceCode.colorOf(piece) == PieceCode.WHITE;
+			for (int square = 0; square < 64; square++) {
+				// Flip the rank for white so a1 reads the bottom-left entry; black sees the board mirrored
+				int index = white ? square ^ 56 : square;
+				int middlegame = MIDDLEGAME_VALUES[type] + MIDDLEGAME_TABLES[type][index];
+				int endgame = ENDGAME_VALUES[type] + ENDGAME_TABLES[type][index];
+				MIDDLEGAME[piece << 6 | square] = white ? middlegame : -middlegame;
+				ENDGAME[piece << 6 | square] = white ? endgame : -endgame;
+			}
+		}
+	}
+
+	private PieceSquareTables() {
+	}
+
+	public static int middlegame(int piece, int square) {
+		return MIDDLEGAME[piece << 6 | square];
+	}
+
+	public static int endgame(int piece, int square) {
+		return ENDGAME[piece << 6 | square];
+	}
+
+	public static int phase(int piece) {
+		return PHASE_WEIGHTS[PieceCode.typeOf(piece)];
+	}
+
+	public static int pieceValue(int type) {
+		return MIDDLEGAME_VALUES[type];
+	}
+}
@@ -25,6 +25,14 @@ public class ChessPosition {
 		return rank + 1;
 	}
 
+	public static ChessPosition fromSquare(int square) {
+		return new ChessPosition((square & 7) + 1, (square >>> 3) + 1);
+	}
+
+	public int getSquare() {
+		return rank * 8 + file;
+	}
+
 	public String getChessNotation() {
 		return FILES[file] + "" + RANKS[rank];
 	}
@@ -38,6 +46,11 @@ public class ChessPosition {
 		return position.getRank() == getRank() && position.getFile() == getFile();
 	}
 
+	@Override
+	public int hashCode() {
+		return getSquare();
+	}
+
 	@Override
 	public String toString() {
 		return getChessNotation();
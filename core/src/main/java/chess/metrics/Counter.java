@@ -0,0 +1,41 @@
+package chess.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count, cheap to update from many threads. Updates do nothing unless
+ * {@link Metrics#ENABLED}, and the JIT drops them entirely when it is not.
+ */
+public final class Counter {
+	private final String name;
+	private final LongAdder count;
+
+	Counter(String name) {
+		this.name = name;
+		this.count = new LongAdder();
+	}
+
+	public void increment() {
+		if (Metrics.ENABLED) {
+			count.increment();
+		}
+	}
+
+	public void add(long amount) {
+		if (Metrics.ENABLED) {
+			count.add(amount);
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long get() {
+		return count.sum();
+	}
+
+	void reset() {
+		count.reset();
+	}
+}
@@ -0,0 +1,92 @@
+package chess.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values, such as durations in nanoseconds, in power-of-two buckets: bucket
+ * {@code b} counts values below {@code 2^b} and at least {@code 2^(b-1)}. Percentiles are therefore upper
+ * bounds within a factor of two, which is enough to tell microseconds from milliseconds at the cost of a
+ * leading-zero count and one adder per record. Like {@link Counter}, recording is free when metrics are off.
+ */
+public final class Histogram {
+	private static final int BUCKETS = 64;
+
+	private final String name;
+	private final LongAdder[] buckets;
+	private final LongAdder count;
+	private final LongAdder sum;
+	private final LongAccumulator max;
+
+	Histogram(String name) {
+		this.name = name;
+		this.buckets = new LongAdder[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+		this.count = new LongAdder();
+		this.sum = new LongAdder();
+		this.max = new LongAccumulator(Math::max, 0);
+	}
+
+	public void record(long value) {
+		if (Metrics.ENABLED) {
+			long clamped = Math.max(0, value);
+			buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(clamped))].increment();
+			count.increment();
+			sum.add(clamped);
+			max.accumulate(clamped);
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public double getMean() {
+		long samples = count.sum();
+		return samples == 0 ? 0 : (double) sum.sum() / samples;
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Upper bound of the bucket holding the given fraction of the values, e.g. 0.99 for the 99th percentile.
+	 */
+	public long getPercentile(double fraction) {
+		long samples = count.sum();
+		if (samples == 0) {
+			return 0;
+		}
+		long target = (long) Math.ceil(samples * fraction);
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += buckets[bucket].sum();
+			if (seen >= target) {
+				return Math.min(getMax(), bucket == 0 ? 0 : (1L << bucket) - 1);
+			}
+		}
+		return getMax();
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + getCount() + " mean=" + Math.round(getMean()) + " p50<=" + getPercentile(0.5)
+				+ " p99<=" + getPercentile(0.99) + " max=" + getMax();
+	}
+
+	void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+}
@@ -0,0 +1,131 @@
+package chess.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide registry of named counters, histograms and gauges. Metrics are off unless the JVM is started
+ * with {@code -Dchess.metrics=true}; {@link #ENABLED} is then a constant the JIT folds, so disabled
+ * instrumentation costs nothing on the hot paths it sits on. Code that measures something costly, such as
+ * reading the clock, should still test {@code ENABLED} itself.
+ * <p>
+ * When enabled, everything registered is readable as attributes of the JMX bean {@value #OBJECT_NAME}, and
+ * {@code -Dchess.metrics.dump=<seconds>} additionally prints all values to standard error at that interval.
+ * Names are dotted and lower case, grouped by the component that owns them, e.g. {@code board.rejected.path_blocked}.
+ */
+public final class Metrics {
+	public static final boolean ENABLED = Boolean.getBoolean("chess.metrics");
+	public static final String OBJECT_NAME = "chess:type=Metrics";
+
+	private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+	private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+	private static final Map<String, LongSupplier> GAUGES = new ConcurrentHashMap<>();
+	private static ScheduledExecutorService dumper;
+
+	static {
+		if (ENABLED) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsBean(), new ObjectName(OBJECT_NAME));
+			} catch (JMException e) {
+				System.err.println("Metrics are not available over JMX: " + e);
+			}
+			long dumpSeconds = Long.getLong("chess.metrics.dump", 0);
+			if (dumpSeconds > 0) {
+				startDump(System.err, dumpSeconds, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	private Metrics() {
+	}
+
+	/**
+	 * The counter with this name, created on first use. Meant to be looked up once and kept in a static field.
+	 */
+	public static Counter counter(String name) {
+		return COUNTERS.computeIfAbsent(name, Counter::new);
+	}
+
+	public static Histogram histogram(String name) {
+		return HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+	}
+
+	/**
+	 * Registers a value read on demand, such as the size of a cache, replacing any gauge of the same name. Objects
+	 * created repeatedly should register under a fixed name so the latest one is reported.
+	 */
+	public static void gauge(String name, LongSupplier value) {
+		if (ENABLED) {
+			GAUGES.put(name, value);
+		}
+	}
+
+	/**
+	 * Every value, sorted by name. Histograms contribute their count, mean, 50th and 99th percentiles and maximum
+	 * as {@code name.count}, {@code name.mean} and so on.
+	 */
+	public static Map<String, Long> snapshot() {
+		Map<String, Long> values = new TreeMap<>();
+		for (Counter counter : COUNTERS.values()) {
+			values.put(counter.getName(), counter.get());
+		}
+		for (Histogram histogram : HISTOGRAMS.values()) {
+			String name = histogram.getName();
+			values.put(name + ".count", histogram.getCount());
+			values.put(name + ".mean", Math.round(histogram.getMean()));
+			values.put(name + ".p50", histogram.getPercentile(0.5));
+			values.put(name + ".p99", histogram.getPercentile(0.99));
+			values.put(name + ".max", histogram.getMax());
+		}
+		for (Map.Entry<String, LongSupplier> gauge : GAUGES.entrySet()) {
+			values.put(gauge.getKey(), gauge.getValue().getAsLong());
+		}
+		return values;
+	}
+
+	public static void dump(PrintStream output) {
+		StringBuilder text = new StringBuilder();
+		for (Map.Entry<String, Long> value : snapshot().entrySet()) {
+			text.append(value.getKey()).append(' ').append(value.getValue()).append('\n');
+		}
+		output.print(text);
+		output.flush();
+	}
+
+	/**
+	 * Dumps all values to {@code output} at a fixed rate from a daemon thread, replacing any earlier dump.
+	 */
+	public static synchronized void startDump(PrintStream output, long interval, TimeUnit unit) {
+		stopDump();
+		dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-dump");
+			thread.setDaemon(true);
+			return thread;
+		});
+		dumper.scheduleAtFixedRate(() -> dump(output), interval, interval, unit);
+	}
+
+	public static synchronized void stopDump() {
+		if (dumper != null) {
+			dumper.shutdownNow();
+			dumper = null;
+		}
+	}
+
+	/**
+	 * Zeroes every counter and histogram; gauges are left alone.
+	 */
+	public static void reset() {
+		COUNTERS.values().forEach(Counter::reset);
+		HISTOGRAMS.values().forEach(Histogram::reset);
+	}
+}
@@ -0,0 +1,72 @@
+package chess.metrics;
+
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+
+/**
+ * Exposes {@link Metrics#snapshot()} over JMX, one read-only long attribute per value, plus a {@code reset}
+ * operation. The attribute list is rebuilt on every request, so metrics registered later show up.
+ */
+class MetricsBean implements DynamicMBean {
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		Long value = Metrics.snapshot().get(attribute);
+		if (value == null) {
+			throw new AttributeNotFoundException(attribute);
+		}
+		return value;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		Map<String, Long> snapshot = Metrics.snapshot();
+		AttributeList list = new AttributeList();
+		for (String attribute : attributes) {
+			Long value = snapshot.get(attribute);
+			if (value != null) {
+				list.add(new Attribute(attribute, value));
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) {
+		if (actionName.equals("reset")) {
+			Metrics.reset();
+			return null;
+		}
+		throw new UnsupportedOperationException(actionName);
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		Map<String, Long> snapshot = Metrics.snapshot();
+		MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[snapshot.size()];
+		int i = 0;
+		for (String name : snapshot.keySet()) {
+			attributes[i++] = new MBeanAttributeInfo(name, "long", name, true, false, false);
+		}
+		MBeanOperationInfo reset = new MBeanOperationInfo("reset", "Zeroes counters and histograms",
+				new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION);
+		return new MBeanInfo(MetricsBean.class.getName(), "Chess engine metrics", attributes, null,
+				new MBeanOperationInfo[]{reset}, null);
+	}
+}
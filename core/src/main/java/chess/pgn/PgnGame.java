@@ -0,0 +1,49 @@
+package chess.pgn;
+
+import java.util.Map;
+
+public class PgnGame {
+	private final long number;
+	private final Map<String, String> tags;
+	private final String movetext;
+
+	public PgnGame(long number, Map<String, String> tags, String movetext) {
+		this.number = number;
+		this.tags = tags;
+		this.movetext = movetext;
+	}
+
+	/**
+	 * One-based index of the game in its source file.
+	 */
+	public long getNumber() {
+		return number;
+	}
+
+	public Map<String, String> getTags() {
+		return tags;
+	}
+
+	public String getTag(String name) {
+		return tags.get(name);
+	}
+
+	public String getResult() {
+		String result = tags.get("Result");
+		return result == null ? "*" : result;
+	}
+
+	public String getMovetext() {
+		return movetext;
+	}
+
+	@Override
+	public String toString() {
+		return "PgnGame{" +
+				"number=" + number +
+				", white=" + tags.get("White") +
+				", black=" + tags.get("Black") +
+				", result=" + getResult() +
+				'}';
+	}
+}
@@ -0,0 +1,176 @@
+package chess.pgn;
+
+import chess.board.Fen;
+import chess.board.Move;
+import chess.board.Position;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays every game of a PGN file in parallel and optionally writes one tab-separated line per position:
+ * FEN, Zobrist key, move played (UCI) and game result. The file is read by a single thread and handed to a
+ * fork-join pool in batches; the number of batches in flight is capped, so memory stays bounded however
+ * large the input is. Output lines keep the order of moves within a game but not the order of games.
+ */
+public class PgnIngest {
+	private static final int BATCH_SIZE = 256;
+	private static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+
+	private final ForkJoinPool pool;
+	private final Semaphore batchesInFlight;
+	private final Writer output;
+	private final ThreadLocal<Worker> workers;
+	private final AtomicLong games;
+	private final AtomicLong rejectedGames;
+	private final AtomicLong positions;
+
+	public PgnIngest(int threads, Writer output) {
+		this.pool = new ForkJoinPool(threads);
+		this.batchesInFlight = new Semaphore(threads * 2);
+		this.output = output;
+		this.workers = ThreadLocal.withInitial(Worker::new);
+		this.games = new AtomicLong();
+		this.rejectedGames = new AtomicLong();
+		this.positions = new AtomicLong();
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 1) {
+			System.out.println("Usage: PgnIngest <games.pgn> [positions.tsv|-] [threads]");
+			return;
+		}
+		Path input = Paths.get(args[0]);
+		String outputName = args.length > 1 ? args[1] : "-";
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		Writer output = outputName.equals("-") ? null
+				: Files.newBufferedWriter(Paths.get(outputName), StandardCharsets.US_ASCII);
+		try (PgnReader reader = new PgnReader(input)) {
+			new PgnIngest(threads, output).run(reader);
+		} finally {
+			if (output != null) {
+				output.close();
+			}
+		}
+	}
+
+	public void run(PgnReader reader) throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		long nextReport = start + PROGRESS_INTERVAL;
+		List<PgnGame> batch = new ArrayList<>(BATCH_SIZE);
+		PgnGame game;
+		while ((game = reader.next()) != null) {
+			batch.add(game);
+			if (batch.size() == BATCH_SIZE) {
+				submit(batch);
+				batch = new ArrayList<>(BATCH_SIZE);
+			}
+			long now = System.nanoTime();
+			if (now >= nextReport) {
+				report(now - start, reader);
+				nextReport = now + PROGRESS_INTERVAL;
+			}
+		}
+		if (!batch.isEmpty()) {
+			submit(batch);
+		}
+		pool.shutdown();
+		pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		report(System.nanoTime() - start, reader);
+	}
+
+	public long getGames() {
+		return games.get();
+	}
+
+	public long getRejectedGames() {
+		return rejectedGames.get();
+	}
+
+	public long getPositions() {
+		return positions.get();
+	}
+
+	private void submit(List<PgnGame> batch) throws InterruptedException {
+		batchesInFlight.acquire();
+		pool.execute(() -> {
+			try {
+				replay(batch);
+			} finally {
+				batchesInFlight.release();
+			}
+		});
+	}
+
+	private void replay(List<PgnGame> batch) {
+		Worker worker = workers.get();
+		worker.output.setLength(0);
+		for (PgnGame game : batch) {
+			long before = worker.positions;
+			int outputLength = worker.output.length();
+			try {
+				if (!worker.replayer.replay(game, worker)) {
+					// A rejected game emits nothing, not even the positions before the bad move
+					worker.output.setLength(outputLength);
+					worker.positions = before;
+					rejectedGames.incrementAndGet();
+					System.err.println("Game " + game.getNumber() + ": " + worker.replayer.getError());
+				}
+			} catch (RuntimeException e) {
+				worker.output.setLength(outputLength);
+				worker.positions = before;
+				rejectedGames.incrementAndGet();
+				System.err.println("Game " + game.getNumber() + ": " + e);
+			}
+			games.incrementAndGet();
+			positions.addAndGet(worker.positions - before);
+		}
+		if (output != null && worker.output.length() > 0) {
+			synchronized (output) {
+				try {
+					output.append(worker.output);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+
+	private void report(long elapsedNanos, PgnReader reader) {
+		long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+		System.out.printf("Games: %d (rejected %d)  Positions: %d  Read: %d%%  Time: %d ms  Games/second: %d%n",
+				games.get(), rejectedGames.get(), positions.get(),
+				reader.getSize() == 0 ? 100 : reader.getPosition() * 100 / reader.getSize(),
+				elapsedMillis, games.get() * 1000 / elapsedMillis);
+	}
+
+	private final class Worker implements PositionListener {
+		private final PgnReplayer replayer = new PgnReplayer();
+		private final StringBuilder output = new StringBuilder(1 << 16);
+		private long positions;
+
+		@Override
+		public void onPosition(PgnGame game, Position position, int move) {
+			positions++;
+			if (PgnIngest.this.output == null) {
+				return;
+			}
+			Fen.append(position, output);
+			output.append('\t').append(Long.toHexString(position.getHash()))
+					.append('\t').append(Move.toUci(move))
+					.append('\t').append(game.getResult())
+					.append('\n');
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams games out of a PGN file of any size. The file is memory-mapped one window at a time, so only the
+ * game being assembled lives on the heap. Bytes are read as ISO-8859-1; movetext is plain ASCII, and
+ * non-ASCII tag values come through garbled but harmless.
+ */
+public class PgnReader implements Closeable {
+	private static final long WINDOW_SIZE = 64L << 20;
+
+	private final FileChannel channel;
+	private final long size;
+	private final StringBuilder line;
+	private final StringBuilder movetext;
+	private Map<String, String> tags;
+	private MappedByteBuffer window;
+	private long windowEnd;
+	private String pendingLine;
+	private long gameCount;
+
+	public PgnReader(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.size = channel.size();
+		this.line = new StringBuilder(256);
+		this.movetext = new StringBuilder(2048);
+		this.tags = new LinkedHashMap<>();
+	}
+
+	/**
+	 * @return the next game, or null at the end of the file
+	 */
+	public PgnGame next() throws IOException {
+		while (true) {
+			String text = pendingLine != null ? pendingLine : readLine();
+			pendingLine = null;
+			if (text == null) {
+				return movetext.length() > 0 || !tags.isEmpty() ? finishGame() : null;
+			}
+			if (text.isEmpty() || text.charAt(0) == '%') {
+				continue;
+			}
+			if (text.charAt(0) == '[') {
+				if (movetext.length() > 0) {
+					// First tag of the following game
+					pendingLine = text;
+					return finishGame();
+				}
+				parseTag(text);
+			} else {
+				movetext.append(text).append('\n');
+			}
+		}
+	}
+
+	/**
+	 * Bytes consumed so far, for progress reporting.
+	 */
+	public long getPosition() {
+		return window == null ? 0 : windowEnd - window.remaining();
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private PgnGame finishGame() {
+		PgnGame game = new PgnGame(++gameCount, tags, movetext.toString());
+		tags = new LinkedHashMap<>();
+		movetext.setLength(0);
+		return game;
+	}
+
+	private void parseTag(String text) {
+		int nameEnd = 1;
+		while (nameEnd < text.length() && text.charAt(nameEnd) != ' ' && text.charAt(nameEnd) != '"') {
+			nameEnd++;
+		}
+		int valueStart = text.indexOf('"', nameEnd);
+		if (valueStart < 0) {
+			return;
+		}
+		StringBuilder value = new StringBuilder();
+		for (int i = valueStart + 1; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\\' && i + 1 < text.length()) {
+				value.append(text.charAt(++i));
+			} else if (c == '"') {
+				break;
+			} else {
+				value.append(c);
+			}
+		}
+		tags.put(text.substring(1, nameEnd), value.toString());
+	}
+
+	private String readLine() throws IOException {
+		line.setLength(0);
+		while (true) {
+			if (window == null || !window.hasRemaining()) {
+				if (!mapNextWindow()) {
+					return line.length() > 0 ? line.toString() : null;
+				}
+			}
+			byte b = window.get();
+			if (b == '\n') {
+				int length = line.length();
+				if (length > 0 && line.charAt(length - 1) == '\r') {
+					line.setLength(length - 1);
+				}
+				return line.toString();
+			}
+			line.append((char) (b & 0xFF));
+		}
+	}
+
+	private boolean mapNextWindow() throws IOException {
+		if (windowEnd >= size) {
+			return false;
+		}
+		long start = windowEnd;
+		windowEnd = Math.min(size, start + WINDOW_SIZE);
+		window = channel.map(FileChannel.MapMode.READ_ONLY, start, windowEnd - start);
+		return true;
+	}
+}
@@ -0,0 +1,130 @@
+package chess.pgn;
+
+import chess.board.Fen;
+import chess.board.Move;
+import chess.board.MoveList;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+
+/**
+ * Replays the main line of PGN games on a board of its own. Comments, variations, NAGs and move numbers
+ * are skipped. One replayer per thread.
+ */
+public class PgnReplayer {
+	private final Position position;
+	private final MoveList moves;
+	private String error;
+
+	public PgnReplayer() {
+		this.position = new Position();
+		this.moves = new MoveList();
+	}
+
+	/**
+	 * @return false if the game has a bad starting position or a move that is malformed or illegal, in which
+	 * case {@link #getError()} says why. Positions before the bad move have already been reported.
+	 */
+	public boolean replay(PgnGame game, PositionListener listener) {
+		return replay(game, listener, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Replays at most {@code maxPlies} moves of the game.
+	 */
+	public boolean replay(PgnGame game, PositionListener listener, int maxPlies) {
+		error = null;
+		String fen = game.getTag("FEN");
+		try {
+			Fen.parse(fen == null ? Fen.START_POSITION : fen, position);
+		} catch (InvalidFenException e) {
+			error = "Invalid FEN tag: " + e.getMessage();
+			return false;
+		}
+		String text = game.getMovetext();
+		int length = text.length();
+		int variationDepth = 0;
+		int index = 0;
+		while (index < length && position.getPly() < maxPlies) {
+			char c = text.charAt(index);
+			if (c <= ' ') {
+				index++;
+			} else if (c == '{') {
+				index = skipPast(text, index, '}');
+			} else if (c == ';') {
+				index = skipPast(text, index, '\n');
+			} else if (c == '(') {
+				variationDepth++;
+				index++;
+			} else if (c == ')') {
+				variationDepth--;
+				index++;
+			} else {
+				int end = index;
+				while (end < length && !isDelimiter(text.charAt(end))) {
+					end++;
+				}
+				int start = index;
+				index = end;
+				if (variationDepth > 0 || c == '$') {
+					continue;
+				}
+				if (isResult(text, start, end)) {
+					break;
+				}
+				// Move numbers: "12." or "12..." on their own or glued to the move as in "12.e4"
+				if (c >= '1' && c <= '9') {
+					int dots = start;
+					while (dots < end && text.charAt(dots) != '.') {
+						dots++;
+					}
+					if (dots < end) {
+						start = dots;
+						while (start < end && text.charAt(start) == '.') {
+							start++;
+						}
+						if (start == end) {
+							continue;
+						}
+					}
+				}
+				int move = San.parse(position, text, start, end, moves);
+				if (move == Move.NONE) {
+					error = "Illegal or unreadable move " + text.substring(start, end) + " at ply " + position.getPly();
+					return false;
+				}
+				if (listener != null) {
+					listener.onPosition(game, position, move);
+				}
+				position.makeMove(move);
+			}
+		}
+		return true;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * Final position of the last replayed game.
+	 */
+	public Position getPosition() {
+		return position;
+	}
+
+	private static int skipPast(String text, int index, char terminator) {
+		int end = text.indexOf(terminator, index + 1);
+		return end < 0 ? text.length() : end + 1;
+	}
+
+	private static boolean isDelimiter(char c) {
+		return c <= ' ' || c == '{' || c == '}' || c == '(' || c == ')' || c == ';';
+	}
+
+	private static boolean isResult(String text, int start, int end) {
+		return text.startsWith("1-0", start) && end - start == 3
+				|| text.startsWith("0-1", start) && end - start == 3
+				|| text.startsWith("1/2-1/2", start) && end - start == 7
+				|| text.charAt(start) == '*' && end - start == 1;
+	}
+}
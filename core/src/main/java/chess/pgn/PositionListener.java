@@ -0,0 +1,10 @@
+package chess.pgn;
+
+import chess.board.Position;
+
+public interface PositionListener {
+	/**
+	 * Called for every position of a replayed game with the move played from it, before the move is made.
+	 */
+	void onPosition(PgnGame game, Position position, int move);
+}
@@ -0,0 +1,182 @@
+package chess.pgn;
+
+import chess.board.*;
+
+/**
+ * Standard Algebraic Notation. Parsed moves are matched against the generated moves and only the candidates
+ * are put through the legality test, so whatever parses is legal.
+ */
+public final class San {
+	private San() {
+	}
+
+	public static int parse(Position position, CharSequence san, MoveList moves) {
+		return parse(position, san, 0, san.length(), moves);
+	}
+
+	/**
+	 * Parses the SAN move in {@code text[start, end)}.
+	 *
+	 * @return the matching legal move, or {@link Move#NONE} when the text is malformed, illegal or ambiguous
+	 */
+	public static int parse(Position position, CharSequence text, int start, int end, MoveList moves) {
+		while (end > start && isAnnotation(text.charAt(end - 1))) {
+			end--;
+		}
+		if (end - start < 2) {
+			return Move.NONE;
+		}
+		MoveGenerator.generatePseudoLegalMoves(position, moves);
+		char first = text.charAt(start);
+		if (first == 'O' || first == '0') {
+			int castlingFlag = castlingFlag(text, start, end);
+			for (int i = 0; i < moves.size(); i++) {
+				int move = moves.get(i);
+				if (castlingFlag != Move.QUIET && Move.flags(move) == castlingFlag) {
+					return MoveGenerator.isLegal(position, move) ? move : Move.NONE;
+				}
+			}
+			return Move.NONE;
+		}
+
+		int promotionType = PieceCode.NONE;
+		char last = text.charAt(end - 1);
+		if (last >= 'A' && last <= 'Z') {
+			promotionType = pieceType(last);
+			end -= text.charAt(end - 2) == '=' ? 2 : 1;
+			if (promotionType == PieceCode.NONE || promotionType == PieceCode.PAWN || promotionType == PieceCode.KING
+					|| end - start < 2) {
+				return Move.NONE;
+			}
+		}
+		int toFile = text.charAt(end - 2) - 'a';
+		int toRank = text.charAt(end - 1) - '1';
+		if (toFile < 0 || toFile > 7 || toRank < 0 || toRank > 7) {
+			return Move.NONE;
+		}
+		int to = Square.of(toFile, toRank);
+
+		int type = PieceCode.PAWN;
+		int index = start;
+		if (first >= 'A' && first <= 'Z') {
+			type = pieceType(first);
+			if (type == PieceCode.NONE || type == PieceCode.PAWN) {
+				return Move.NONE;
+			}
+			index++;
+		}
+		int fromFile = -1;
+		int fromRank = -1;
+		for (; index < end - 2; index++) {
+			char c = text.charAt(index);
+			if (c >= 'a' && c <= 'h') {
+				fromFile = c - 'a';
+			} else if (c >= '1' && c <= '8') {
+				fromRank = c - '1';
+			} else if (c != 'x' && c != ':' && c != '-') {
+				return Move.NONE;
+			}
+		}
+
+		int found = Move.NONE;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			int from = Move.from(move);
+			if (Move.to(move) != to || PieceCode.typeOf(position.pieceAt(from)) != type
+					|| (fromFile >= 0 && Square.file(from) != fromFile)
+					|| (fromRank >= 0 && Square.rank(from) != fromRank)
+					|| (Move.isPromotion(move) ? Move.promotionType(move) != promotionType
+					: promotionType != PieceCode.NONE)
+					|| !MoveGenerator.isLegal(position, move)) {
+				continue;
+			}
+			if (found != Move.NONE) {
+				return Move.NONE;
+			}
+			found = move;
+		}
+		return found;
+	}
+
+	/**
+	 * Formats a legal move of {@code position} in SAN, with the minimal disambiguation and a check or mate suffix.
+	 */
+	public static String toSan(Position position, int move, MoveList moves) {
+		StringBuilder san = new StringBuilder(8);
+		int flags = Move.flags(move);
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int type = PieceCode.typeOf(position.pieceAt(from));
+		if (flags == Move.KING_CASTLE) {
+			san.append("O-O");
+		} else if (flags == Move.QUEEN_CASTLE) {
+			san.append("O-O-O");
+		} else if (type == PieceCode.PAWN) {
+			if (Move.isCapture(move)) {
+				san.append((char) ('a' + Square.file(from))).append('x');
+			}
+			san.append(Square.name(to));
+			if (Move.isPromotion(move)) {
+				san.append('=').append(PieceCode.toFenCharacter(PieceCode.of(PieceCode.WHITE, Move.promotionType(move))));
+			}
+		} else {
+			san.append(PieceCode.toFenCharacter(PieceCode.of(PieceCode.WHITE, type)));
+			MoveGenerator.generateLegalMoves(position, moves);
+			boolean ambiguous = false;
+			boolean sameFile = false;
+			boolean sameRank = false;
+			for (int i = 0; i < moves.size(); i++) {
+				int other = moves.get(i);
+				int otherFrom = Move.from(other);
+				if (other != move && Move.to(other) == to && otherFrom != from
+						&& position.pieceAt(otherFrom) == position.pieceAt(from)) {
+					ambiguous = true;
+					sameFile |= Square.file(otherFrom) == Square.file(from);
+					sameRank |= Square.rank(otherFrom) == Square.rank(from);
+				}
+			}
+			if (ambiguous) {
+				if (!sameFile) {
+					san.append((char) ('a' + Square.file(from)));
+				} else if (!sameRank) {
+					san.append((char) ('1' + Square.rank(from)));
+				} else {
+					san.append(Square.name(from));
+				}
+			}
+			if (Move.isCapture(move)) {
+				san.append('x');
+			}
+			san.append(Square.name(to));
+		}
+		position.makeMove(move);
+		if (position.isInCheck()) {
+			MoveGenerator.generateLegalMoves(position, moves);
+			san.append(moves.size() == 0 ? '#' : '+');
+		}
+		position.unmakeMove(move);
+		return san.toString();
+	}
+
+	private static int castlingFlag(CharSequence text, int start, int end) {
+		int castles = 0;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (c == 'O' || c == '0') {
+				castles++;
+			} else if (c != '-') {
+				return Move.QUIET;
+			}
+		}
+		return castles == 2 ? Move.KING_CASTLE : castles == 3 ? Move.QUEEN_CASTLE : Move.QUIET;
+	}
+
+	private static int pieceType(char letter) {
+		int piece = PieceCode.fromFenCharacter(letter);
+		return piece == PieceCode.NONE ? PieceCode.NONE : PieceCode.typeOf(piece);
+	}
+
+	private static boolean isAnnotation(char c) {
+		return c == '+' || c == '#' || c == '!' || c == '?';
+	}
+}
@@ -0,0 +1,19 @@
+package chess.pieces;
+
+import chess.helper.ChessPosition;
+
+public class King extends Piece {
+	public King(PieceColor color, ChessPosition position) {
+		super(color, position);
+	}
+
+	@Override
+	public boolean validMovement(ChessPosition destinationPosition) {
+		int fileDifference = Math.abs(destinationPosition.getFile() - position.getFile());
+		int rankDifference = Math.abs(destinationPosition.getRank() - position.getRank());
+		if (fileDifference == 0 && rankDifference == 0) {
+			return false;
+		}
+		return fileDifference <= 1 && rankDifference <= 1;
+	}
+}
@@ -0,0 +1,16 @@
+package chess.pieces;
+
+import chess.helper.ChessPosition;
+
+public class Knight extends Piece {
+	public Knight(PieceColor color, ChessPosition position) {
+		super(color, position);
+	}
+
+	@Override
+	public boolean validMovement(ChessPosition destinationPosition) {
+		int fileDifference = Math.abs(destinationPosition.getFile() - position.getFile());
+		int rankDifference = Math.abs(destinationPosition.getRank() - position.getRank());
+		return (fileDifference == 2 && rankDifference == 1) || (fileDifference == 1 && rankDifference == 2);
+	}
+}
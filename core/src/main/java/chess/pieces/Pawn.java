@@ -0,0 +1,27 @@
+package chess.pieces;
+
+import chess.helper.ChessPosition;
+
+public class Pawn extends Piece {
+	public Pawn(PieceColor color, ChessPosition chessPosition) {
+		super(color, chessPosition);
+	}
+
+	@Override
+	public boolean validMovement(ChessPosition destinationPosition) {
+		int fileDifference = Math.abs(destinationPosition.getFile() - position.getFile());
+		int rankDifference = destinationPosition.getRank() - position.getRank();
+		if (color == PieceColor.BLACK) {
+			rankDifference *= -1;
+		}
+		if (fileDifference == 0 && rankDifference == 2) {
+			return true;
+		}
+		return fileDifference >= 0 && fileDifference <= 1
+				&& (rankDifference == 1);
+	}
+
+	public enum Promotion {
+		Queen, Rook, Knight, Bishop
+	}
+}
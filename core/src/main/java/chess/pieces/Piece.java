@@ -1,12 +1,10 @@
 package chess.pieces;
 
 import chess.helper.ChessPosition;
-import functionailties.DragListener;
-import functionailties.DraggableImageView;
 
 public abstract class Piece {
 	protected final PieceColor color;
-	protected ChessPosition position;
+	protected final ChessPosition position;
 
 	protected Piece(PieceColor color, ChessPosition position) {
 		this.color = color;
@@ -21,24 +19,8 @@ public abstract class Piece {
 		return position;
 	}
 
-	public void setPosition(ChessPosition chessPosition) {
-		this.position = chessPosition;
-	}
-
 	public abstract boolean validMovement(ChessPosition destinationPosition);
 
-	public abstract DraggableImageView getImageView();
-
-	public DragListener getDragListener() {
-		return getImageView().getDragListener();
-	}
-
-	public void setDragListener(chess.helper.PieceDragListener dragListener) {
-		getImageView().setDragListener(dragListener);
-	}
-
-	public abstract Piece copy();
-
 	@Override
 	public String toString() {
 		return getClass().getSimpleName() + "{" +
@@ -0,0 +1,16 @@
+package chess.pieces;
+
+import chess.helper.ChessPosition;
+
+public class Rook extends Piece {
+	public Rook(PieceColor color, ChessPosition position) {
+		super(color, position);
+	}
+
+	@Override
+	public boolean validMovement(ChessPosition destinationPosition) {
+		int fileDifference = Math.abs(destinationPosition.getFile() - position.getFile());
+		int rankDifference = Math.abs(destinationPosition.getRank() - position.getRank());
+		return (fileDifference == 0) ^ (rankDifference == 0);
+	}
+}
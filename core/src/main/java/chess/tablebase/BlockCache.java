@@ -0,0 +1,112 @@
+package chess.tablebase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Least-recently-used cache of decoded table blocks, capped by the number of bytes it holds. Shared by
+ * all search threads, so it is split into segments by block, each an LRU of its own with its own lock and an
+ * equal share of the capacity; threads probing different blocks rarely meet on a lock. A miss decodes
+ * outside any lock.
+ */
+class BlockCache {
+	private final Segment[] segments;
+	private final int segmentMask;
+	private final LongAdder hits;
+	private final LongAdder misses;
+
+	BlockCache(long capacity) {
+		int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+		this.segments = new Segment[count];
+		this.segmentMask = count - 1;
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment(Math.max(1, capacity / count));
+		}
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+	}
+
+	static long key(int table, int block) {
+		return (long) table << 32 | block;
+	}
+
+	byte[] get(long key) {
+		byte[] block = segment(key).get(key);
+		if (block == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return block;
+	}
+
+	void put(long key, byte[] block) {
+		segment(key).put(key, block);
+	}
+
+	long getBytes() {
+		long bytes = 0;
+		for (Segment segment : segments) {
+			bytes += segment.getBytes();
+		}
+		return bytes;
+	}
+
+	long getHits() {
+		return hits.sum();
+	}
+
+	long getMisses() {
+		return misses.sum();
+	}
+
+	void clear() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	private Segment segment(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return segments[(int) (h >>> 32) & segmentMask];
+	}
+
+	private static final class Segment {
+		private final long capacity;
+		private final LinkedHashMap<Long, byte[]> blocks;
+		private long bytes;
+
+		private Segment(long capacity) {
+			this.capacity = capacity;
+			this.blocks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+					if (bytes > Segment.this.capacity && size() > 1) {
+						bytes -= eldest.getValue().length;
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+
+		private synchronized byte[] get(long key) {
+			return blocks.get(key);
+		}
+
+		private synchronized void put(long key, byte[] block) {
+			byte[] previous = blocks.put(key, block);
+			bytes += block.length - (previous == null ? 0 : previous.length);
+		}
+
+		private synchronized long getBytes() {
+			return bytes;
+		}
+
+		private synchronized void clear() {
+			blocks.clear();
+			bytes = 0;
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package chess.tablebase;
+
+import chess.board.Attacks;
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.board.Square;
+import chess.eval.PieceSquareTables;
+
+/**
+ * The material of one endgame table. Tables are named like {@code KRvKP}, as their files are, and hold the
+ * positions with that material for either colour: {@link #orientation(long)} tells a {@link TablebaseFile}
+ * whether to probe a position as it stands or colour-flipped.
+ * <p>
+ * Probes answer with an entry of one byte from the point of view of the side to move: 0 for a draw, the
+ * distance to zeroing in plies (1..127) for a win, and 128 plus that distance for a loss. The distance counts
+ * plies until the next capture, pawn move or mate under optimal play, as DTZ does.
+ */
+public final class Tablebase {
+	public static final int WIN = 1;
+	public static final int DRAW = 0;
+	public static final int LOSS = -1;
+	public static final int MAX_DISTANCE = 127;
+	private static final String TYPE_ORDER = "KQRBNP";
+	private static final int[] TYPES = {PieceCode.KING, PieceCode.QUEEN, PieceCode.ROOK, PieceCode.BISHOP,
+			PieceCode.KNIGHT, PieceCode.PAWN};
+
+	private final String name;
+	private final int[] pieces;
+	private final long materialKey;
+	private final long mirroredKey;
+
+	private Tablebase(String name, int[] pieces) {
+		this.name = name;
+		this.pieces = pieces;
+		this.materialKey = materialKey(pieces, 0);
+		this.mirroredKey = materialKey(pieces, 1);
+	}
+
+	/**
+	 * Parses a table name such as {@code KQvK}; the sides may be given in either order.
+	 */
+	public static Tablebase of(String name) {
+		int separator = name.indexOf('v');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Not a table name: " + name);
+		}
+		int[] pieces = new int[name.length() - 1];
+		int count = 0;
+		for (int i = 0; i < name.length(); i++) {
+			if (i == separator) {
+				continue;
+			}
+			int type = TYPE_ORDER.indexOf(Character.toUpperCase(name.charAt(i)));
+			if (type < 0) {
+				throw new IllegalArgumentException("Not a table name: " + name);
+			}
+			pieces[count++] = PieceCode.of(i < separator ? PieceCode.WHITE : PieceCode.BLACK, TYPES[type]);
+		}
+		return of(pieces);
+	}
+
+	/**
+	 * The table holding exactly the given pieces, whichever colour they are.
+	 */
+	public static Tablebase of(int[] pieces) {
+		String white = side(pieces, PieceCode.WHITE);
+		String black = side(pieces, PieceCode.BLACK);
+		if (white.indexOf('K') != 0 || black.indexOf('K') != 0 || white.lastIndexOf('K') != 0
+				|| black.lastIndexOf('K') != 0) {
+			throw new IllegalArgumentException("A table needs exactly one king per side");
+		}
+		int whiteValue = value(pieces, PieceCode.WHITE);
+		int blackValue = value(pieces, PieceCode.BLACK);
+		int flip = blackValue > whiteValue || (blackValue == whiteValue && black.compareTo(white) > 0) ? 1 : 0;
+		int[] canonical = new int[pieces.length];
+		int count = 0;
+		for (int color = PieceCode.WHITE; color <= PieceCode.BLACK; color++) {
+			for (int type : TYPES) {
+				for (int piece : pieces) {
+					if (piece == PieceCode.of(color ^ flip, type)) {
+						canonical[count++] = PieceCode.of(color, type);
+					}
+				}
+			}
+		}
+		return new Tablebase(flip == 0 ? white + "v" + black : black + "v" + white, canonical);
+	}
+
+	/**
+	 * The table for the material on the board.
+	 */
+	public static Tablebase of(Position position) {
+		int[] pieces = new int[Long.bitCount(position.getOccupied())];
+		int count = 0;
+		for (int piece = 0; piece < PieceCode.COUNT; piece++) {
+			for (int i = Long.bitCount(position.getPieces(piece)); i > 0; i--) {
+				pieces[count++] = piece;
+			}
+		}
+		return of(pieces);
+	}
+
+	public static int wdl(int entry) {
+		return entry == 0 ? DRAW : entry < 128 ? WIN : LOSS;
+	}
+
+	public static int distance(int entry) {
+		return entry & 0x7F;
+	}
+
+	public static int entry(int wdl, int distance) {
+		if (distance > MAX_DISTANCE) {
+			throw new IllegalArgumentException("Distance " + distance + " does not fit in an entry");
+		}
+		return wdl == WIN ? distance : wdl == LOSS ? 128 | distance : 0;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int[] getPieces() {
+		return pieces.clone();
+	}
+
+	public int getPieceCount() {
+		return pieces.length;
+	}
+
+	/**
+	 * @return 0 if the position has this table's material as stored, 1 if it has it with colours swapped and
+	 * -1 if it does not belong to this table
+	 */
+	public int orientation(long materialKey) {
+		return materialKey == this.materialKey ? 0 : materialKey == mirroredKey ? 1 : -1;
+	}
+
+	/**
+	 * Whether the side to move could capture en passant, in which case the position is not in any table and
+	 * has to be resolved one move deeper.
+	 */
+	public static boolean hasEnPassantCapture(Position position) {
+		int square = position.getEnPassantSquare();
+		int side = position.getSideToMove();
+		return square != Square.NONE && (Attacks.pawn(PieceCode.opposite(side), square)
+				& position.getPieces(side, PieceCode.PAWN)) != 0;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	private static String side(int[] pieces, int color) {
+		StringBuilder side = new StringBuilder();
+		for (int type : TYPES) {
+			for (int piece : pieces) {
+				if (piece == PieceCode.of(color, type)) {
+					side.append(TYPE_ORDER.charAt(indexOf(type)));
+				}
+			}
+		}
+		return side.toString();
+	}
+
+	private static int value(int[] pieces, int color) {
+		int value = 0;
+		for (int piece : pieces) {
+			if (PieceCode.colorOf(piece) == color && PieceCode.typeOf(piece) != PieceCode.KING) {
+				value += PieceSquareTables.pieceValue(PieceCode.typeOf(piece));
+			}
+		}
+		return value;
+	}
+
+	private static int indexOf(int type) {
+		for (int i = 0; i < TYPES.length; i++) {
+			if (TYPES[i] == type) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static long materialKey(int[] pieces, int flip) {
+		long key = 0;
+		for (int piece : pieces) {
+			key += 1L << ((piece ^ flip) << 2);
+		}
+		return key;
+	}
+}
@@ -0,0 +1,104 @@
+package chess.tablebase;
+
+import chess.board.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped table file, read by a {@link TablebaseFormat}. A subclass finds the entry of a position,
+ * typically by locating it in one compressed block of the file: {@link #block(int)} returns that block
+ * decoded, going through the LRU cache shared by all files of a {@link Tablebases} so that only blocks
+ * missing from it are passed to {@link #decode(int)}.
+ */
+public abstract class TablebaseFile implements Closeable {
+	private final Tablebase table;
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private int id;
+	private BlockCache cache;
+
+	/**
+	 * Maps the file. The table is named after the file, without its extension, as in {@code KQvK.rtbw}.
+	 *
+	 * @throws IOException if the file cannot be mapped or is not named after a table
+	 */
+	protected TablebaseFile(Path path) throws IOException {
+		String fileName = path.getFileName().toString();
+		int extension = fileName.lastIndexOf('.');
+		try {
+			this.table = Tablebase.of(extension < 0 ? fileName : fileName.substring(0, extension));
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Not a table file: " + path, e);
+		}
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Table too large: " + path);
+			}
+			this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	public Tablebase getTable() {
+		return table;
+	}
+
+	/**
+	 * The whole file. Use absolute reads only: the buffer is shared by every search thread.
+	 */
+	protected ByteBuffer getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Looks up a position with this table's material.
+	 *
+	 * @param orientation as returned by {@link Tablebase#orientation(long)}: 1 if the position has the
+	 *                    table's material with colours swapped
+	 * @return the entry for the side to move, or {@link Tablebases#NOT_FOUND} if the file does not hold it
+	 * @throws IOException if the file is corrupt
+	 */
+	protected abstract int read(Position position, int orientation) throws IOException;
+
+	/**
+	 * Decodes one block of the file. Called only for blocks missing from the cache, possibly by several
+	 * threads at once.
+	 *
+	 * @throws IOException if the block is corrupt
+	 */
+	protected abstract byte[] decode(int block) throws IOException;
+
+	/**
+	 * A decoded block, from the cache when it is there.
+	 */
+	protected final byte[] block(int block) throws IOException {
+		long key = BlockCache.key(id, block);
+		byte[] data = cache.get(key);
+		if (data == null) {
+			data = decode(block);
+			cache.put(key, data);
+		}
+		return data;
+	}
+
+	/**
+	 * Called by {@link Tablebases} before the first probe.
+	 */
+	void attach(int id, BlockCache cache) {
+		this.id = id;
+		this.cache = cache;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,21 @@
+package chess.tablebase;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A kind of endgame table file that {@link Tablebases} can load, such as Syzygy WDL tables. The format only
+ * names its files and decodes them; mapping, caching decoded blocks, counting probes, resolving positions
+ * with an en-passant capture and choosing moves are shared by all formats.
+ */
+public interface TablebaseFormat {
+	/**
+	 * Pattern of the file names holding tables of this format, e.g. {@code *.rtbw}.
+	 */
+	String getGlob();
+
+	/**
+	 * @throws IOException if the file cannot be read or is not a table of this format
+	 */
+	TablebaseFile open(Path path) throws IOException;
+}
@@ -0,0 +1,224 @@
+package chess.tablebase;
+
+import chess.board.Move;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.Position;
+import chess.metrics.Metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The endgame tables of one {@link TablebaseFormat} found in a directory. Files are memory-mapped when opened
+ * and their blocks decoded into a size-capped LRU cache as probes need them. Probe hits and misses are
+ * counted, and positions with an en-passant capture, which tables leave out, are resolved one move deeper.
+ * Safe to share between search threads.
+ */
+public class Tablebases implements Closeable {
+	public static final long DEFAULT_CACHE_BYTES = 32L << 20;
+	/**
+	 * Returned by {@link #probe(Position)} when no table covers the position.
+	 */
+	public static final int NOT_FOUND = -1;
+	/**
+	 * Returned by {@link #probeWdl(Position)} when no table covers the position.
+	 */
+	public static final int UNKNOWN = 2;
+
+	private final TablebaseFile[] files;
+	private final BlockCache cache;
+	private final int maxPieces;
+	private final LongAdder hits;
+	private final LongAdder misses;
+
+	public Tablebases(Path directory, TablebaseFormat format) throws IOException {
+		this(directory, format, DEFAULT_CACHE_BYTES);
+	}
+
+	public Tablebases(Path directory, TablebaseFormat format, long cacheBytes) throws IOException {
+		this.cache = new BlockCache(cacheBytes);
+		List<TablebaseFile> opened = new ArrayList<>();
+		try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, format.getGlob())) {
+			for (Path path : paths) {
+				TablebaseFile file = format.open(path);
+				file.attach(opened.size(), cache);
+				opened.add(file);
+			}
+		} catch (IOException | RuntimeException e) {
+			for (TablebaseFile file : opened) {
+				file.close();
+			}
+			throw e;
+		}
+		this.files = opened.toArray(new TablebaseFile[0]);
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+		int pieces = 2;
+		for (TablebaseFile file : files) {
+			pieces = Math.max(pieces, file.getTable().getPieceCount());
+		}
+		this.maxPieces = files.length == 0 ? 0 : pieces;
+		// The most recently opened tables are the ones reported
+		Metrics.gauge("tablebase.hits", this::getHits);
+		Metrics.gauge("tablebase.misses", this::getMisses);
+		Metrics.gauge("tablebase.cache.hits", this::getCacheHits);
+		Metrics.gauge("tablebase.cache.misses", this::getCacheMisses);
+		Metrics.gauge("tablebase.cache.bytes", this::getCacheBytes);
+	}
+
+	/**
+	 * Most pieces, kings included, of any loaded table; 0 if the directory held none.
+	 */
+	public int getMaxPieces() {
+		return maxPieces;
+	}
+
+	public int getTableCount() {
+		return files.length;
+	}
+
+	/**
+	 * Cheap pre-check for the search: whether the position has few enough pieces and no castling rights.
+	 */
+	public boolean covers(Position position) {
+		return Long.bitCount(position.getOccupied()) <= maxPieces && position.getCastlingRights() == 0;
+	}
+
+	/**
+	 * Looks the position up, see {@link Tablebase} for the meaning of the entry. Positions without a table,
+	 * and positions a table does not hold, count as misses.
+	 *
+	 * @return the entry for the side to move, or {@link #NOT_FOUND}
+	 */
+	public int probe(Position position) {
+		int entry = lookup(position);
+		if (entry == NOT_FOUND) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return entry;
+	}
+
+	/**
+	 * @return {@link Tablebase#WIN}, {@link Tablebase#DRAW} or {@link Tablebase#LOSS} for the side to move, or
+	 * {@link #UNKNOWN}
+	 */
+	public int probeWdl(Position position) {
+		int entry = probe(position);
+		return entry == NOT_FOUND ? UNKNOWN : Tablebase.wdl(entry);
+	}
+
+	/**
+	 * Picks the move that keeps the best result: the fastest way to the next zeroing move when winning, any
+	 * move holding the draw, and the longest resistance when losing.
+	 *
+	 * @return the move, or {@link Move#NONE} if the position or one of its successors is not in the tables
+	 */
+	public int bestMove(Position position, MoveList moves) {
+		int[] best = new int[1];
+		return covers(position) && resolve(position, moves, best) != NOT_FOUND ? best[0] : Move.NONE;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getCacheHits() {
+		return cache.getHits();
+	}
+
+	public long getCacheMisses() {
+		return cache.getMisses();
+	}
+
+	public long getCacheBytes() {
+		return cache.getBytes();
+	}
+
+	@Override
+	public void close() throws IOException {
+		cache.clear();
+		for (TablebaseFile file : files) {
+			file.close();
+		}
+	}
+
+	private int lookup(Position position) {
+		if (!covers(position)) {
+			return NOT_FOUND;
+		}
+		if (Tablebase.hasEnPassantCapture(position)) {
+			return resolve(position, new MoveList(), null);
+		}
+		if (Long.bitCount(position.getOccupied()) == 2) {
+			return 0;
+		}
+		long materialKey = position.getMaterialKey();
+		for (TablebaseFile file : files) {
+			int orientation = file.getTable().orientation(materialKey);
+			if (orientation >= 0) {
+				try {
+					return file.read(position, orientation);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Computes the entry of a position from those of its successors, storing the move achieving it in
+	 * {@code best} if given.
+	 */
+	private int resolve(Position position, MoveList moves, int[] best) {
+		MoveGenerator.generateLegalMoves(position, moves);
+		if (moves.size() == 0) {
+			return position.isInCheck() ? Tablebase.entry(Tablebase.LOSS, 0) : 0;
+		}
+		int bestRank = Integer.MIN_VALUE;
+		int bestEntry = NOT_FOUND;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			position.makeMove(move);
+			boolean zeroing = position.getHalfmoveClock() == 0;
+			int child = lookup(position);
+			position.unmakeMove(move);
+			if (child == NOT_FOUND) {
+				return NOT_FOUND;
+			}
+			int distance = zeroing ? 0 : Tablebase.distance(child);
+			int wdl = -Tablebase.wdl(child);
+			int rank;
+			if (wdl == Tablebase.WIN) {
+				// Mates and other zeroing moves first, then the shortest way to one
+				rank = (2 << 16) - ((distance << 8) | Tablebase.distance(child));
+			} else if (wdl == Tablebase.DRAW) {
+				rank = 1 << 16;
+			} else {
+				rank = distance;
+			}
+			if (rank > bestRank) {
+				bestRank = rank;
+				bestEntry = Tablebase.entry(wdl, wdl == Tablebase.DRAW ? 0 : distance + 1);
+				if (best != null) {
+					best[0] = move;
+				}
+			}
+		}
+		return bestEntry;
+	}
+}
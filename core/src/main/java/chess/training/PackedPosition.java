@@ -0,0 +1,138 @@
+package chess.training;
+
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.board.Square;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size 32-byte encoding of a labeled position, little-endian so that it can be read directly as a
+ * numpy structured array:
+ * <pre>
+ * bytes  0..7   occupied squares, bit i = square i (a1 = 0)
+ * bytes  8..23  one nibble per occupied square in square order, low nibble first; the {@link PieceCode}
+ * bytes 24..27  bit 0 side to move, bits 1..4 castling rights, bits 5..11 en-passant square (127 if none),
+ *               bits 12..19 halfmove clock (capped at 255), bits 20..31 fullmove number (capped at 4095)
+ * bytes 28..29  score in centipawns from the side to move's point of view, signed
+ * byte  30      game result for the side to move: 1 win, 0 draw, -1 loss
+ * byte  31      reserved, zero
+ * </pre>
+ * Sixteen bytes of nibbles hold exactly 32 pieces, the most a legal position can have.
+ */
+public final class PackedPosition {
+	public static final int SIZE = 32;
+	public static final int WIN = 1;
+	public static final int DRAW = 0;
+	public static final int LOSS = -1;
+	private static final int MAX_PIECES = 32;
+	private static final int PIECES_OFFSET = 8;
+	private static final int STATE_OFFSET = 24;
+	private static final int SCORE_OFFSET = 28;
+	private static final int RESULT_OFFSET = 30;
+	private static final int CASTLING_SHIFT = 1;
+	private static final int EN_PASSANT_SHIFT = 5;
+	private static final int HALFMOVE_SHIFT = 12;
+	private static final int FULLMOVE_SHIFT = 20;
+	private static final int NO_EN_PASSANT = 0x7F;
+
+	private PackedPosition() {
+	}
+
+	/**
+	 * Writes one record at the buffer's position, which advances by {@link #SIZE}. The buffer must be
+	 * little-endian.
+	 *
+	 * @throws IllegalArgumentException if the position has more than 32 pieces
+	 */
+	public static void pack(Position position, int score, int result, ByteBuffer buffer) {
+		long occupied = position.getOccupied();
+		if (Long.bitCount(occupied) > MAX_PIECES) {
+			throw new IllegalArgumentException("More than " + MAX_PIECES + " pieces on the board");
+		}
+		long low = 0;
+		long high = 0;
+		int index = 0;
+		for (long squares = occupied; squares != 0; squares &= squares - 1, index++) {
+			long piece = position.pieceAt(Long.numberOfTrailingZeros(squares));
+			if (index < 16) {
+				low |= piece << (index << 2);
+			} else {
+				high |= piece << ((index - 16) << 2);
+			}
+		}
+		int enPassant = position.getEnPassantSquare();
+		int state = position.getSideToMove()
+				| position.getCastlingRights() << CASTLING_SHIFT
+				| (enPassant == Square.NONE ? NO_EN_PASSANT : enPassant) << EN_PASSANT_SHIFT
+				| Math.min(position.getHalfmoveClock(), 0xFF) << HALFMOVE_SHIFT
+				| Math.min(position.getFullmoveNumber(), 0xFFF) << FULLMOVE_SHIFT;
+		buffer.putLong(occupied)
+				.putLong(low)
+				.putLong(high)
+				.putInt(state)
+				.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, score)))
+				.put((byte) result)
+				.put((byte) 0);
+	}
+
+	/**
+	 * Places the record starting at {@code offset} on {@code position}. History is not part of the record, so
+	 * repetitions before it are unknown to the position.
+	 */
+	public static void unpack(ByteBuffer buffer, int offset, Position position) {
+		position.clear();
+		long occupied = buffer.getLong(offset);
+		long low = buffer.getLong(offset + PIECES_OFFSET);
+		long high = buffer.getLong(offset + PIECES_OFFSET + 8);
+		int index = 0;
+		for (long squares = occupied; squares != 0; squares &= squares - 1, index++) {
+			long pieces = index < 16 ? low : high;
+			position.setPiece(Long.numberOfTrailingZeros(squares), (int) (pieces >>> ((index & 15) << 2)) & 0xF);
+		}
+		int state = buffer.getInt(offset + STATE_OFFSET);
+		int enPassant = (state >>> EN_PASSANT_SHIFT) & 0x7F;
+		position.setSideToMove(state & 1);
+		position.setCastlingRights((state >>> CASTLING_SHIFT) & 0xF);
+		position.setEnPassantSquare(enPassant == NO_EN_PASSANT ? Square.NONE : enPassant);
+		position.setHalfmoveClock((state >>> HALFMOVE_SHIFT) & 0xFF);
+		position.setFullmoveNumber(state >>> FULLMOVE_SHIFT);
+	}
+
+	public static int score(ByteBuffer buffer, int offset) {
+		return buffer.getShort(offset + SCORE_OFFSET);
+	}
+
+	public static int result(ByteBuffer buffer, int offset) {
+		return buffer.get(offset + RESULT_OFFSET);
+	}
+
+	/**
+	 * Overwrites the result of a record already packed, for labels only known once the game is over.
+	 */
+	public static void setResult(ByteBuffer buffer, int offset, int result) {
+		buffer.put(offset + RESULT_OFFSET, (byte) result);
+	}
+
+	/**
+	 * The result from the point of view of {@code sideToMove} for a PGN result string, or
+	 * {@link Integer#MIN_VALUE} if the game was not decided ({@code *} or anything unrecognised).
+	 */
+	public static int result(String pgnResult, int sideToMove) {
+		int whiteResult;
+		switch (pgnResult) {
+			case "1-0":
+				whiteResult = WIN;
+				break;
+			case "0-1":
+				whiteResult = LOSS;
+				break;
+			case "1/2-1/2":
+				whiteResult = DRAW;
+				break;
+			default:
+				return Integer.MIN_VALUE;
+		}
+		return sideToMove == PieceCode.WHITE ? whiteResult : -whiteResult;
+	}
+}
@@ -0,0 +1,181 @@
+package chess.training;
+
+import chess.board.Position;
+import chess.eval.Evaluator;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnReader;
+import chess.pgn.PgnReplayer;
+import chess.pgn.PositionListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays the decided games of a PGN file in parallel and writes each position as a {@link PackedPosition}
+ * labeled with the static evaluation and the game result. Positions in the first plies of a game, and
+ * positions in check, whose static evaluation says little, are skipped. As in
+ * {@link chess.pgn.PgnIngest}, batches in flight are capped and every worker reuses one output buffer, so
+ * memory stays constant however large the input is.
+ */
+public class TrainingExporter {
+	public static final int DEFAULT_SKIP_PLIES = 8;
+	private static final int BATCH_SIZE = 256;
+	private static final int WORKER_BUFFER_RECORDS = 1 << 14;
+	// Room kept free before each game so that a rejected game can be dropped from the buffer
+	private static final int GAME_RESERVE_RECORDS = 1 << 10;
+
+	private final ForkJoinPool pool;
+	private final Semaphore batchesInFlight;
+	private final TrainingWriter writer;
+	private final int skipPlies;
+	private final ThreadLocal<Worker> workers;
+	private final List<Worker> allWorkers;
+	private final AtomicLong games;
+	private final AtomicLong skippedGames;
+
+	public TrainingExporter(int threads, TrainingWriter writer, int skipPlies) {
+		this.pool = new ForkJoinPool(threads);
+		this.batchesInFlight = new Semaphore(threads * 2);
+		this.writer = writer;
+		this.skipPlies = skipPlies;
+		this.workers = ThreadLocal.withInitial(Worker::new);
+		this.allWorkers = new ArrayList<>();
+		this.games = new AtomicLong();
+		this.skippedGames = new AtomicLong();
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 2) {
+			System.out.println("Usage: TrainingExporter <games.pgn> <positions.bin> [threads] [skipPlies="
+					+ DEFAULT_SKIP_PLIES + "]");
+			return;
+		}
+		Path output = Paths.get(args[1]);
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		int skipPlies = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_SKIP_PLIES;
+		long start = System.nanoTime();
+		TrainingExporter exporter;
+		try (PgnReader reader = new PgnReader(Paths.get(args[0]));
+			 TrainingWriter writer = new TrainingWriter(output)) {
+			exporter = new TrainingExporter(threads, writer, skipPlies);
+			exporter.run(reader);
+		}
+		long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		long bytes = Files.size(output);
+		System.out.printf("Games: %d (skipped %d)  Positions: %d  Size: %d KB  Time: %d ms  MB/second: %.1f%n",
+				exporter.games.get(), exporter.skippedGames.get(), (bytes - TrainingWriter.HEADER_SIZE)
+						/ PackedPosition.SIZE, bytes >> 10, elapsedMillis, bytes / 1000.0 / elapsedMillis);
+	}
+
+	public void run(PgnReader reader) throws IOException, InterruptedException {
+		List<PgnGame> batch = new ArrayList<>(BATCH_SIZE);
+		PgnGame game;
+		while ((game = reader.next()) != null) {
+			batch.add(game);
+			if (batch.size() == BATCH_SIZE) {
+				submit(batch);
+				batch = new ArrayList<>(BATCH_SIZE);
+			}
+		}
+		if (!batch.isEmpty()) {
+			submit(batch);
+		}
+		pool.shutdown();
+		pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		// Workers hand over full buffers only; the remainders are flushed here
+		for (Worker worker : allWorkers) {
+			worker.flush();
+		}
+	}
+
+	public long getGames() {
+		return games.get();
+	}
+
+	public long getSkippedGames() {
+		return skippedGames.get();
+	}
+
+	private void submit(List<PgnGame> batch) throws InterruptedException {
+		batchesInFlight.acquire();
+		pool.execute(() -> {
+			try {
+				replay(batch);
+			} finally {
+				batchesInFlight.release();
+			}
+		});
+	}
+
+	private void replay(List<PgnGame> batch) {
+		Worker worker = workers.get();
+		for (PgnGame game : batch) {
+			games.incrementAndGet();
+			if (PackedPosition.result(game.getResult(), 0) == Integer.MIN_VALUE) {
+				skippedGames.incrementAndGet();
+				continue;
+			}
+			if (worker.buffer.remaining() < GAME_RESERVE_RECORDS * PackedPosition.SIZE) {
+				worker.flush();
+			}
+			worker.gameStart = worker.buffer.position();
+			try {
+				if (!worker.replayer.replay(game, worker)) {
+					worker.buffer.position(worker.gameStart);
+					skippedGames.incrementAndGet();
+				}
+			} catch (RuntimeException e) {
+				worker.buffer.position(worker.gameStart);
+				skippedGames.incrementAndGet();
+			}
+		}
+	}
+
+	private final class Worker implements PositionListener {
+		private final PgnReplayer replayer = new PgnReplayer();
+		private final Evaluator evaluator = new Evaluator();
+		private final ByteBuffer buffer = TrainingWriter.allocate(WORKER_BUFFER_RECORDS);
+		// Where the current game's records start; a game longer than the reserve may have been flushed in part
+		private int gameStart;
+
+		private Worker() {
+			synchronized (allWorkers) {
+				allWorkers.add(this);
+			}
+		}
+
+		@Override
+		public void onPosition(PgnGame game, Position position, int move) {
+			if (position.getPly() < skipPlies || position.isInCheck()) {
+				return;
+			}
+			if (!buffer.hasRemaining()) {
+				flush();
+			}
+			int score = evaluator.evaluate(position);
+			PackedPosition.pack(position, score, PackedPosition.result(game.getResult(), position.getSideToMove()),
+					buffer);
+		}
+
+		private void flush() {
+			buffer.flip();
+			try {
+				writer.write(buffer);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			buffer.clear();
+			gameStart = 0;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package chess.training;
+
+import chess.board.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the records of a file written by {@link TrainingWriter} through a fixed direct buffer. Not
+ * thread-safe.
+ */
+public class TrainingReader implements Closeable {
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final long count;
+	private int offset;
+	private int score;
+	private int result;
+
+	public TrainingReader(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.buffer = ByteBuffer.allocateDirect(TrainingWriter.BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		long size = channel.size();
+		buffer.limit(TrainingWriter.HEADER_SIZE);
+		readFully();
+		if (buffer.hasRemaining() || buffer.getLong(0) != TrainingWriter.MAGIC
+				|| buffer.getInt(8) != PackedPosition.SIZE
+				|| (size - TrainingWriter.HEADER_SIZE) % PackedPosition.SIZE != 0) {
+			channel.close();
+			throw new IOException("Not a training data file: " + path);
+		}
+		this.count = (size - TrainingWriter.HEADER_SIZE) / PackedPosition.SIZE;
+		buffer.clear().limit(0);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Places the next record on {@code position}.
+	 *
+	 * @return false at the end of the file
+	 */
+	public boolean next(Position position) throws IOException {
+		if (offset == buffer.limit() && !fill()) {
+			return false;
+		}
+		PackedPosition.unpack(buffer, offset, position);
+		score = PackedPosition.score(buffer, offset);
+		result = PackedPosition.result(buffer, offset);
+		offset += PackedPosition.SIZE;
+		return true;
+	}
+
+	/**
+	 * Score of the last record read, in centipawns from the side to move's point of view.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Result of the last record read, one of {@link PackedPosition#WIN}, {@code DRAW} or {@code LOSS}.
+	 */
+	public int getResult() {
+		return result;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private boolean fill() throws IOException {
+		buffer.clear();
+		readFully();
+		buffer.flip();
+		buffer.limit(buffer.limit() - buffer.limit() % PackedPosition.SIZE);
+		offset = 0;
+		return buffer.limit() > 0;
+	}
+
+	/**
+	 * Reads until the buffer is full or the file ends.
+	 */
+	private void readFully() throws IOException {
+		int read;
+		do {
+			read = channel.read(buffer);
+		} while (read >= 0 && buffer.hasRemaining());
+	}
+}
@@ -0,0 +1,94 @@
+package chess.training;
+
+import chess.board.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends {@link PackedPosition} records to a file through a fixed direct buffer, so memory stays the same
+ * however many positions are written. The file starts with a {@link #HEADER_SIZE}-byte header holding
+ * {@link #MAGIC} and the record size; the record count follows from the file size. Methods are synchronized,
+ * and workers producing records in parallel should pack them into buffers of their own and hand them over
+ * with {@link #write(ByteBuffer)}.
+ */
+public class TrainingWriter implements Closeable {
+	public static final long MAGIC = 0x4348455353504F53L;
+	public static final int HEADER_SIZE = 32;
+	public static final int BUFFER_SIZE = 1 << 20;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private long count;
+
+	public TrainingWriter(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putLong(MAGIC).putInt(PackedPosition.SIZE);
+		buffer.position(HEADER_SIZE);
+	}
+
+	/**
+	 * A buffer of the byte order records are written in, for callers packing records themselves.
+	 */
+	public static ByteBuffer allocate(int records) {
+		return ByteBuffer.allocate(records * PackedPosition.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	public synchronized void write(Position position, int score, int result) throws IOException {
+		if (buffer.remaining() < PackedPosition.SIZE) {
+			flush();
+		}
+		PackedPosition.pack(position, score, result, buffer);
+		count++;
+	}
+
+	/**
+	 * Writes the records between the position and the limit of {@code records}, which must be whole.
+	 */
+	public synchronized void write(ByteBuffer records) throws IOException {
+		if (records.remaining() % PackedPosition.SIZE != 0) {
+			throw new IllegalArgumentException("Partial record in buffer");
+		}
+		count += records.remaining() / PackedPosition.SIZE;
+		if (records.remaining() > buffer.remaining()) {
+			flush();
+			if (records.remaining() >= buffer.capacity()) {
+				drain(records);
+				return;
+			}
+		}
+		buffer.put(records);
+	}
+
+	public synchronized long getCount() {
+		return count;
+	}
+
+	public synchronized void flush() throws IOException {
+		buffer.flip();
+		drain(buffer);
+		buffer.clear();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void drain(ByteBuffer data) throws IOException {
+		while (data.hasRemaining()) {
+			channel.write(data);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package chess.board;
+
+import chess.exceptions.InvalidFenException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DrawRulesTest {
+	@Test
+	public void knightShuffleRepeatsTheStartPosition() throws InvalidFenException {
+		Position position = Fen.parse(Fen.START_POSITION);
+		play(position, "g1f3", "g8f6", "f3g1");
+		assertFalse(position.isRepetition());
+		play(position, "f6g8");
+		assertTrue(position.isRepetition());
+		assertFalse(position.isThreefoldRepetition());
+		play(position, "g1f3", "g8f6", "f3g1", "f6g8");
+		assertTrue(position.isThreefoldRepetition());
+	}
+
+	@Test
+	public void takingBackAMoveUndoesTheRepetition() throws InvalidFenException {
+		Position position = Fen.parse(Fen.START_POSITION);
+		play(position, "g1f3", "g8f6", "f3g1", "f6g8");
+		position.unmakeMove();
+		assertFalse(position.isRepetition());
+	}
+
+	@Test
+	public void pawnMovesEndTheScan() throws InvalidFenException {
+		Position position = Fen.parse(Fen.START_POSITION);
+		play(position, "g1f3", "g8f6", "f3g1", "f6g8", "e2e4", "e7e5");
+		assertFalse(position.isRepetition());
+		play(position, "g1f3", "g8f6", "f3g1", "f6g8");
+		assertTrue(position.isRepetition());
+		assertFalse(position.isThreefoldRepetition());
+	}
+
+	@Test
+	public void enPassantRightCountsOnlyWhenAPawnCanTake() throws InvalidFenException {
+		Position position = Fen.parse(Fen.START_POSITION);
+		play(position, "e2e4", "g8f6", "e4e5", "d7d5");
+		assertEquals(position.computeHash(), position.getHash());
+		// Same squares, but exd6 is no longer possible
+		play(position, "g1f3", "f6g8", "f3g1", "g8f6");
+		assertFalse(position.isRepetition());
+		play(position, "g1f3", "f6g8", "f3g1", "g8f6");
+		assertTrue(position.isRepetition());
+		for (int i = 0; i < 8; i++) {
+			position.unmakeMove();
+		}
+		assertEquals(position.computeHash(), position.getHash());
+	}
+
+	@Test
+	public void sameSquaresWithTheOtherSideToMoveIsNoRepetition() throws InvalidFenException {
+		// The king triangle leaves the pieces where they were but hands the move to the other side
+		Position position = Fen.parse("8/8/8/4k3/8/8/8/R3K3 w - - 0 1");
+		play(position, "e1d1", "e5e4", "d1d2", "e4e5", "d2e1");
+		assertFalse(position.isRepetition());
+	}
+
+	@Test
+	public void fiftyMoveRuleCountsReversiblePlies() throws InvalidFenException {
+		Position position = Fen.parse("8/8/8/4k3/8/8/4P3/R3K3 w - - 98 80");
+		play(position, "a1a2");
+		assertFalse(position.isFiftyMoveRule());
+		play(position, "e5e4");
+		assertTrue(position.isFiftyMoveRule());
+		position.unmakeMove();
+		play(position, "e5d5", "e2e3");
+		assertFalse(position.isFiftyMoveRule());
+	}
+
+	@Test
+	public void insufficientMaterial() throws InvalidFenException {
+		assertInsufficient(true, "8/8/8/4k3/8/8/8/4K3 w - - 0 1");
+		assertInsufficient(true, "8/8/8/4k3/8/8/8/2B1K3 w - - 0 1");
+		assertInsufficient(true, "8/8/8/4k3/8/8/8/1N2K3 b - - 0 1");
+		// Bishops on squares of one colour, whoever owns them
+		assertInsufficient(true, "1b6/8/8/4k3/8/8/8/2B1K3 w - - 0 1");
+		assertInsufficient(true, "8/8/8/4k3/8/8/8/B1B1K3 w - - 0 1");
+		assertInsufficient(false, "2b5/8/8/4k3/8/8/8/2B1K3 w - - 0 1");
+		assertInsufficient(false, "8/8/8/4k3/8/8/8/1NN1K3 w - - 0 1");
+		assertInsufficient(false, "8/8/8/4k3/8/8/8/1N1BK3 w - - 0 1");
+		assertInsufficient(false, "8/8/8/4k3/8/8/4P3/4K3 w - - 0 1");
+		assertInsufficient(false, "8/8/8/4k3/8/8/8/R3K3 w - - 0 1");
+		assertInsufficient(false, "8/8/8/4k3/8/8/8/3QK3 w - - 0 1");
+	}
+
+	private static void assertInsufficient(boolean expected, String fen) throws InvalidFenException {
+		assertTrue(fen, Fen.parse(fen).hasInsufficientMaterial() == expected);
+	}
+
+	private static void play(Position position, String... moves) {
+		MoveList legal = new MoveList();
+		for (String notation : moves) {
+			MoveGenerator.generateLegalMoves(position, legal);
+			int move = Move.NONE;
+			for (int i = 0; i < legal.size(); i++) {
+				if (Move.toUci(legal.get(i)).equals(notation)) {
+					move = legal.get(i);
+				}
+			}
+			if (move == Move.NONE) {
+				fail("Illegal move " + notation + " in " + Fen.toFen(position));
+			}
+			position.makeMove(move);
+		}
+	}
+}
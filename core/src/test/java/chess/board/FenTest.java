@@ -0,0 +1,108 @@
+package chess.board;
+
+import chess.exceptions.InvalidFenException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class FenTest {
+	private static final String[] FENS = {
+			Fen.START_POSITION,
+			"rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+			"rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 3",
+			"rnbqkbnr/pppp1ppp/8/3Pp3/8/8/PPP1PPPP/RNBQKBNR w KQkq e6 0 3",
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+			"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+			"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+			"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+			"8/8/8/4k3/8/8/8/4K2Q b - - 57 120",
+	};
+
+	@Test
+	public void roundTrips() throws InvalidFenException {
+		for (String fen : FENS) {
+			assertEquals(fen, Fen.toFen(Fen.parse(fen)));
+		}
+	}
+
+	@Test
+	public void roundTripsAlongPerftTree() throws InvalidFenException {
+		for (String fen : FENS) {
+			roundTrip(Fen.parse(fen), 2);
+		}
+	}
+
+	@Test
+	public void parsedHashMatchesComputedHash() throws InvalidFenException {
+		for (String fen : FENS) {
+			Position position = Fen.parse(fen);
+			assertEquals(fen, position.computeHash(), position.getHash());
+		}
+	}
+
+	@Test
+	public void placementOnlyInfersCastlingRights() throws InvalidFenException {
+		Position position = Fen.parse("r3k2r/8/8/8/8/8/8/4K2R");
+		assertEquals(PieceCode.WHITE, position.getSideToMove());
+		assertEquals(Position.WHITE_KINGSIDE | Position.BLACK_KINGSIDE | Position.BLACK_QUEENSIDE,
+				position.getCastlingRights());
+		assertEquals(Square.NONE, position.getEnPassantSquare());
+	}
+
+	@Test
+	public void dropsCastlingRightsThePlacementCannotHave() throws InvalidFenException {
+		assertEquals("4k3/8/8/8/8/8/8/4K2R w K - 0 1", Fen.toFen(Fen.parse("4k3/8/8/8/8/8/8/4K2R w KQkq - 0 1")));
+	}
+
+	@Test
+	public void acceptsEpdOperations() throws InvalidFenException {
+		Position position = Fen.parse("4k3/8/8/8/8/8/8/4K2R w K - bm Rh8+; id \"test\";");
+		assertEquals("4k3/8/8/8/8/8/8/4K2R w K - 0 1", Fen.toFen(position));
+	}
+
+	@Test
+	public void rejectsEnPassantSquareOnTheWrongRank() {
+		assertInvalid("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq e3 0 1");
+		assertInvalid("rnbqkbnr/pppp1ppp/8/3Pp3/8/8/PPP1PPPP/RNBQKBNR b KQkq e6 0 3");
+		assertInvalid("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e4 0 1");
+	}
+
+	@Test
+	public void rejectsEnPassantSquareWithoutPushedPawn() {
+		assertInvalid("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR b KQkq e3 0 1");
+		assertInvalid("rnbqkbnr/pppppppp/8/8/4p3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+	}
+
+	@Test
+	public void rejectsMalformedFields() {
+		assertInvalid("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQ1BNR w KQkq - 0 1");
+		assertInvalid("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1");
+		assertInvalid("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq z9 0 1");
+	}
+
+	private static void roundTrip(Position position, int depth) throws InvalidFenException {
+		String fen = Fen.toFen(position);
+		assertEquals(fen, Fen.toFen(Fen.parse(fen)));
+		if (depth == 0) {
+			return;
+		}
+		MoveList moves = new MoveList();
+		MoveGenerator.generateLegalMoves(position, moves);
+		for (int i = 0; i < moves.size(); i++) {
+			position.makeMove(moves.get(i));
+			roundTrip(position, depth - 1);
+			position.unmakeMove();
+		}
+	}
+
+	private static void assertInvalid(String fen) {
+		try {
+			Fen.parse(fen);
+			fail("Accepted " + fen);
+		} catch (InvalidFenException expected) {
+			// expected
+		}
+	}
+}
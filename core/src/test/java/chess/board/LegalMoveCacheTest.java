@@ -0,0 +1,68 @@
+package chess.board;
+
+import chess.exceptions.InvalidFenException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LegalMoveCacheTest {
+	private static final String[] FENS = {
+			Fen.START_POSITION,
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+			"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+	};
+
+	@Test
+	public void destinationsAreTheLegalMoves() throws InvalidFenException {
+		LegalMoveCache cache = new LegalMoveCache();
+		MoveList legal = new MoveList();
+		for (String fen : FENS) {
+			Position position = Fen.parse(fen);
+			MoveGenerator.generateLegalMoves(position, legal);
+			long[] expected = new long[64];
+			for (int i = 0; i < legal.size(); i++) {
+				expected[Move.from(legal.get(i))] |= 1L << Move.to(legal.get(i));
+			}
+			for (int square = 0; square < 64; square++) {
+				assertEquals(fen + " " + Square.name(square), expected[square], cache.destinations(position, square));
+			}
+			assertEquals(legal.size(), cache.count(position));
+		}
+	}
+
+	@Test
+	public void findsTheMoveBetweenTwoSquares() throws InvalidFenException {
+		LegalMoveCache cache = new LegalMoveCache();
+		Position position = Fen.parse("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8");
+		assertEquals("e1g1", Move.toUci(cache.find(position, Square.parse("e1"), Square.parse("g1"), PieceCode.NONE)));
+		assertEquals("d7c8n", Move.toUci(cache.find(position, Square.parse("d7"), Square.parse("c8"), PieceCode.KNIGHT)));
+		assertEquals("d7c8q", Move.toUci(cache.find(position, Square.parse("d7"), Square.parse("c8"), PieceCode.QUEEN)));
+		assertEquals(Move.NONE, cache.find(position, Square.parse("c4"), Square.parse("c5"), PieceCode.NONE));
+		// Black's pieces cannot move while it is white's turn
+		assertEquals(0, cache.destinations(position, Square.parse("f2")));
+	}
+
+	@Test
+	public void generatesEachPositionOnce() throws InvalidFenException {
+		LegalMoveCache cache = new LegalMoveCache();
+		Position position = Fen.parse(Fen.START_POSITION);
+		cache.destinations(position, Square.parse("g1"));
+		cache.destinations(position, Square.parse("b1"));
+		cache.count(position);
+		assertEquals(1, cache.getMisses());
+		assertEquals(2, cache.getHits());
+	}
+
+	@Test
+	public void evictedPositionsAreGeneratedAgain() throws InvalidFenException {
+		LegalMoveCache cache = new LegalMoveCache(1);
+		Position start = Fen.parse(Fen.START_POSITION);
+		Position other = Fen.parse(FENS[1]);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(20, cache.count(start));
+			assertEquals(48, cache.count(other));
+		}
+		assertEquals(6, cache.getMisses());
+	}
+}
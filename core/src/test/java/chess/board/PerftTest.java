@@ -0,0 +1,67 @@
+package chess.board;
+
+import chess.exceptions.InvalidFenException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Move generation against the published node counts of the standard perft positions, at depths that keep
+ * the whole class within a few seconds.
+ */
+public class PerftTest {
+	@Test
+	public void startPosition() throws InvalidFenException {
+		assertPerft(Fen.START_POSITION, 20, 400, 8902, 197281, 4865609);
+	}
+
+	@Test
+	public void kiwipete() throws InvalidFenException {
+		assertPerft("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 48, 2039, 97862, 4085603);
+	}
+
+	@Test
+	public void position3() throws InvalidFenException {
+		assertPerft("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2812, 43238, 674624);
+	}
+
+	@Test
+	public void position4() throws InvalidFenException {
+		assertPerft("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 6, 264, 9467, 422333);
+	}
+
+	@Test
+	public void position4Mirrored() throws InvalidFenException {
+		assertPerft("r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1", 6, 264, 9467, 422333);
+	}
+
+	@Test
+	public void position5() throws InvalidFenException {
+		assertPerft("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44, 1486, 62379, 2103487);
+	}
+
+	@Test
+	public void position6() throws InvalidFenException {
+		assertPerft("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 46, 2079, 89890, 3894594);
+	}
+
+	@Test
+	public void leavesPositionUnchanged() throws InvalidFenException {
+		Position position = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+		long hash = position.getHash();
+		String fen = Fen.toFen(position);
+		new Perft(position).perft(3);
+		assertEquals(hash, position.getHash());
+		assertEquals(fen, Fen.toFen(position));
+	}
+
+	/**
+	 * @param expected node counts for depths 1, 2, 3 and so on
+	 */
+	private static void assertPerft(String fen, long... expected) throws InvalidFenException {
+		Perft perft = new Perft(Fen.parse(fen));
+		for (int depth = 1; depth <= expected.length; depth++) {
+			assertEquals(fen + " at depth " + depth, expected[depth - 1], perft.perft(depth));
+		}
+	}
+}
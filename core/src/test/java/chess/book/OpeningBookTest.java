@@ -0,0 +1,111 @@
+package chess.book;
+
+import chess.board.Fen;
+import chess.board.Move;
+import chess.board.MoveList;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import chess.pgn.PgnGame;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OpeningBookTest {
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("book", ".bin");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void readsWhatTheBuilderWrote() throws IOException, InvalidFenException {
+		BookBuilder builder = new BookBuilder(4);
+		builder.add(game(1, "1-0", "1. e4 e5 2. Nf3 Nc6 3. Bb5 a6"));
+		builder.add(game(2, "1-0", "1. e4 c5 2. Nf3 d6"));
+		builder.add(game(3, "1/2-1/2", "1. e4 e5 2. Nf3 Nf6"));
+		builder.add(game(4, "0-1", "1. d4 d5 2. c4 e6"));
+		builder.add(game(5, "*", "1. c4 e5"));
+		assertEquals(4, builder.getGames());
+		int written = builder.write(file, 1);
+
+		try (OpeningBook book = new OpeningBook(file)) {
+			assertEquals(written, book.size());
+			Position position = Fen.parse(Fen.START_POSITION);
+			int index = book.find(position.getHash());
+			assertTrue(index >= 0);
+			assertEntry(book, index, "e2e4", 5, 2, 1, 0);
+			assertEntry(book, index + 1, "d2d4", 0, 0, 0, 1);
+			assertTrue(index + 2 == book.size() || book.getKey(index + 2) != position.getHash());
+
+			MoveList moves = new MoveList();
+			assertEquals("e2e4", Move.toUci(book.bestMove(position, moves)));
+			position.makeMove(book.bestMove(position, moves));
+			int reply = book.find(position.getHash());
+			assertEntry(book, reply, "e7e5", 1, 0, 1, 1);
+			assertEntry(book, reply + 1, "c7c5", 0, 0, 0, 1);
+
+			for (int i = 1; i < book.size(); i++) {
+				assertTrue(book.getKey(i - 1) <= book.getKey(i));
+			}
+		}
+	}
+
+	@Test
+	public void dropsRareMoves() throws IOException, InvalidFenException {
+		BookBuilder builder = new BookBuilder(2);
+		builder.add(game(1, "1-0", "1. e4 e5"));
+		builder.add(game(2, "0-1", "1. e4 c5"));
+		builder.add(game(3, "1/2-1/2", "1. d4 d5"));
+		assertEquals(1, builder.write(file, 2));
+		try (OpeningBook book = new OpeningBook(file)) {
+			assertEquals(1, book.size());
+			assertEquals("e2e4", Move.toUci(book.bestMove(Fen.parse(Fen.START_POSITION), new MoveList())));
+			assertEquals(Move.NONE, book.bestMove(Fen.parse("4k3/8/8/8/8/8/8/4K3 w - - 0 1"), new MoveList()));
+		}
+	}
+
+	@Test
+	public void skipsGamesThatFailToReplay() throws IOException, InvalidFenException {
+		BookBuilder builder = new BookBuilder(4);
+		assertTrue(builder.add(game(1, "1-0", "1. e4 e5 2. Nf3 Nc6")));
+		assertFalse(builder.add(game(2, "1-0", "1. e4 e5 2. Ke3 Nc6")));
+		assertFalse(builder.add(game(3, "1-0", "1. e4 e5 2. Nf9 Nc6")));
+		assertEquals(1, builder.getGames());
+		assertEquals(4, builder.write(file, 1));
+		try (OpeningBook book = new OpeningBook(file)) {
+			int index = book.find(Fen.parse(Fen.START_POSITION).getHash());
+			assertEntry(book, index, "e2e4", 2, 1, 0, 0);
+		}
+	}
+
+	private static void assertEntry(OpeningBook book, int index, String move, int weight, int wins, int draws,
+									int losses) {
+		assertEquals(move, Move.toUci(book.getMove(index)));
+		assertEquals(weight, book.getWeight(index));
+		assertEquals(wins, book.getWins(index));
+		assertEquals(draws, book.getDraws(index));
+		assertEquals(losses, book.getLosses(index));
+	}
+
+	private static PgnGame game(long number, String result, String movetext) {
+		Map<String, String> tags = new HashMap<>();
+		tags.put("Result", result);
+		return new PgnGame(number, tags, movetext + " " + result);
+	}
+}
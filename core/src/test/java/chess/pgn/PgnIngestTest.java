@@ -0,0 +1,50 @@
+package chess.pgn;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PgnIngestTest {
+	private static final String GAMES = "[Event \"1\"]\n[Result \"1-0\"]\n\n1. e4 e5 2. Nf3 Nc6 1-0\n\n"
+			+ "[Event \"2\"]\n[Result \"0-1\"]\n\n1. d4 d5 2. Ke3 Nf6 0-1\n\n"
+			+ "[Event \"3\"]\n[Result \"1/2-1/2\"]\n\n1. c4 e5 1/2-1/2\n";
+
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("games", ".pgn");
+		Files.write(file, GAMES.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void rejectedGameEmitsNothing() throws IOException, InterruptedException {
+		StringWriter output = new StringWriter();
+		PgnIngest ingest = new PgnIngest(1, output);
+		try (PgnReader reader = new PgnReader(file)) {
+			ingest.run(reader);
+		}
+		assertEquals(3, ingest.getGames());
+		assertEquals(1, ingest.getRejectedGames());
+		assertEquals(6, ingest.getPositions());
+		String[] lines = output.toString().split("\n");
+		assertEquals(6, lines.length);
+		for (String line : lines) {
+			assertFalse(line, line.contains("d2d4") || line.contains("d7d5"));
+		}
+	}
+}
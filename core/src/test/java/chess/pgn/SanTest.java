@@ -0,0 +1,87 @@
+package chess.pgn;
+
+import chess.board.Fen;
+import chess.board.Move;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SanTest {
+	private static final String[] FENS = {
+			Fen.START_POSITION,
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 3",
+			"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+			"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+			"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+			// Three queens that can reach e4, for file, rank and square disambiguation
+			"2k5/8/8/8/Q6Q/8/8/4K2Q w - - 0 1",
+	};
+
+	@Test
+	public void everyLegalMoveRoundTrips() throws InvalidFenException {
+		MoveList legal = new MoveList();
+		MoveList scratch = new MoveList();
+		for (String fen : FENS) {
+			Position position = Fen.parse(fen);
+			MoveGenerator.generateLegalMoves(position, legal);
+			for (int i = 0; i < legal.size(); i++) {
+				int move = legal.get(i);
+				String san = San.toSan(position, move, scratch);
+				assertEquals(fen + " " + san, move, San.parse(position, san, scratch));
+			}
+			assertEquals(fen, Fen.toFen(position));
+		}
+	}
+
+	@Test
+	public void formatsMovesAsTheStandardWritesThem() throws InvalidFenException {
+		assertSan("e4", Fen.START_POSITION, "e2e4");
+		assertSan("Nf3", Fen.START_POSITION, "g1f3");
+		assertSan("O-O", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", "e1g1");
+		assertSan("O-O-O", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", "e1c1");
+		assertSan("dxe3", "rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 3", "d4e3");
+		assertSan("dxc8=Q", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", "d7c8q");
+		assertSan("Ra8+", "4k3/8/8/8/8/8/8/R3K3 w - - 0 1", "a1a8");
+		assertSan("Qa8#", "4k3/8/4K3/8/8/8/8/Q7 w - - 0 1", "a1a8");
+		assertSan("Qh4e4", "2k5/8/8/8/Q6Q/8/8/4K2Q w - - 0 1", "h4e4");
+		assertSan("Q1e4", "2k5/8/8/8/Q6Q/8/8/4K2Q w - - 0 1", "h1e4");
+		assertSan("Qae4", "2k5/8/8/8/Q6Q/8/8/4K2Q w - - 0 1", "a4e4");
+	}
+
+	@Test
+	public void parsesLooseNotation() throws InvalidFenException {
+		Position position = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+		MoveList moves = new MoveList();
+		assertEquals("e1g1", Move.toUci(San.parse(position, "0-0", moves)));
+		assertEquals("e5f7", Move.toUci(San.parse(position, "Nxf7!?", moves)));
+		assertEquals("e5f7", Move.toUci(San.parse(position, "Nf7", moves)));
+	}
+
+	@Test
+	public void rejectsIllegalAndAmbiguousMoves() throws InvalidFenException {
+		MoveList moves = new MoveList();
+		Position start = Fen.parse(Fen.START_POSITION);
+		assertEquals(Move.NONE, San.parse(start, "e5", moves));
+		assertEquals(Move.NONE, San.parse(start, "Ke2", moves));
+		assertEquals(Move.NONE, San.parse(start, "Nf9", moves));
+		assertEquals(Move.NONE, San.parse(Fen.parse("2k5/8/8/8/Q6Q/8/8/4K2Q w - - 0 1"), "Qe4", moves));
+	}
+
+	private static void assertSan(String expected, String fen, String uci) throws InvalidFenException {
+		Position position = Fen.parse(fen);
+		MoveList moves = new MoveList();
+		MoveGenerator.generateLegalMoves(position, moves);
+		for (int i = 0; i < moves.size(); i++) {
+			if (Move.toUci(moves.get(i)).equals(uci)) {
+				assertEquals(expected, San.toSan(position, moves.get(i), moves));
+				return;
+			}
+		}
+		throw new AssertionError("Illegal move " + uci + " in " + fen);
+	}
+}
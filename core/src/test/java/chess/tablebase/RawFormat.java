@@ -0,0 +1,68 @@
+package chess.tablebase;
+
+import chess.board.Position;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Uncompressed tables for testing: one entry byte per index, the index being the side to move followed by six
+ * bits per piece in the order of {@link Tablebase#getPieces()}, read in blocks of {@link #BLOCK_ENTRIES}.
+ */
+class RawFormat implements TablebaseFormat {
+	static final int BLOCK_ENTRIES = 4096;
+
+	@Override
+	public String getGlob() {
+		return "*.raw";
+	}
+
+	@Override
+	public TablebaseFile open(Path path) throws IOException {
+		return new RawFile(path);
+	}
+
+	static int size(Tablebase table) {
+		return 2 << (6 * table.getPieceCount());
+	}
+
+	static int index(Tablebase table, Position position, int orientation) {
+		int flip = orientation == 1 ? 56 : 0;
+		long used = 0;
+		int index = position.getSideToMove() ^ orientation;
+		for (int piece : table.getPieces()) {
+			long candidates = position.getPieces(piece ^ orientation) & ~used;
+			long bit = candidates & -candidates;
+			used |= bit;
+			index = (index << 6) | (Long.numberOfTrailingZeros(bit) ^ flip);
+		}
+		return index;
+	}
+
+	private static class RawFile extends TablebaseFile {
+		RawFile(Path path) throws IOException {
+			super(path);
+			if (getBuffer().capacity() != size(getTable())) {
+				close();
+				throw new IOException("Wrong size: " + path);
+			}
+		}
+
+		@Override
+		protected int read(Position position, int orientation) throws IOException {
+			int index = index(getTable(), position, orientation);
+			return block(index / BLOCK_ENTRIES)[index % BLOCK_ENTRIES] & 0xFF;
+		}
+
+		@Override
+		protected byte[] decode(int block) {
+			ByteBuffer buffer = getBuffer();
+			byte[] entries = new byte[Math.min(BLOCK_ENTRIES, buffer.capacity() - block * BLOCK_ENTRIES)];
+			for (int i = 0; i < entries.length; i++) {
+				entries[i] = buffer.get(block * BLOCK_ENTRIES + i);
+			}
+			return entries;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package chess.tablebase;
+
+import chess.board.Fen;
+import chess.board.Move;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Probing through {@link RawFormat} files with made-up entries: white to move wins in 9 plies everywhere, and
+ * black to move loses in 1 to 7 plies depending on the index.
+ */
+public class TablebasesTest {
+	private static final Tablebase KQVK = Tablebase.of("KQvK");
+	private static Path directory;
+
+	@BeforeClass
+	public static void writeTables() throws IOException {
+		directory = Files.createTempDirectory("tablebases");
+		byte[] entries = new byte[RawFormat.size(KQVK)];
+		for (int index = 0; index < entries.length; index++) {
+			entries[index] = (byte) entry(index);
+		}
+		Files.write(directory.resolve("KQvK.raw"), entries);
+		Files.write(directory.resolve("README.txt"), new byte[]{'x'});
+	}
+
+	@AfterClass
+	public static void delete() throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Test
+	public void loadsTheFilesOfTheFormat() throws IOException {
+		try (Tablebases tablebases = new Tablebases(directory, new RawFormat())) {
+			assertEquals(1, tablebases.getTableCount());
+			assertEquals(3, tablebases.getMaxPieces());
+		}
+	}
+
+	@Test
+	public void readsEntriesInEitherOrientation() throws IOException, InvalidFenException {
+		try (Tablebases tablebases = new Tablebases(directory, new RawFormat())) {
+			Position position = Fen.parse("8/8/8/4k3/8/8/8/4K2Q b - - 0 1");
+			int entry = entry(RawFormat.index(KQVK, position, 0));
+			assertEquals(entry, tablebases.probe(position));
+			assertEquals(entry, tablebases.probe(mirror(position)));
+			assertEquals(Tablebase.LOSS, tablebases.probeWdl(position));
+			assertEquals(Tablebase.WIN, tablebases.probeWdl(Fen.parse("8/8/8/4k3/8/8/8/4K2Q w - - 0 1")));
+			assertEquals(4, tablebases.getHits());
+			assertEquals(0, tablebases.getMisses());
+		}
+	}
+
+	@Test
+	public void countsPositionsWithoutATableAsMisses() throws IOException, InvalidFenException {
+		try (Tablebases tablebases = new Tablebases(directory, new RawFormat())) {
+			assertEquals(0, tablebases.probe(Fen.parse("8/8/8/4k3/8/8/8/4K3 w - - 0 1")));
+			assertEquals(Tablebases.NOT_FOUND, tablebases.probe(Fen.parse("8/8/8/4k3/8/8/8/4K2R w - - 0 1")));
+			assertEquals(Tablebases.UNKNOWN, tablebases.probeWdl(Fen.parse("4k3/8/8/8/8/8/8/4K2R w K - 0 1")));
+			assertEquals(Tablebases.UNKNOWN, tablebases.probeWdl(Fen.parse(Fen.START_POSITION)));
+			assertFalse(tablebases.covers(Fen.parse("4k3/8/8/8/8/8/8/4K2R w K - 0 1")));
+			assertFalse(tablebases.covers(Fen.parse("8/8/8/3pk3/8/8/8/4K2Q w - - 0 1")));
+			assertEquals(1, tablebases.getHits());
+			assertEquals(3, tablebases.getMisses());
+		}
+	}
+
+	@Test
+	public void smallCacheReadsTheSameEntries() throws IOException {
+		try (Tablebases cached = new Tablebases(directory, new RawFormat());
+			 Tablebases small = new Tablebases(directory, new RawFormat(), 1)) {
+			Position position = new Position();
+			// Jumps between blocks so that they are evicted and decoded again
+			for (int i = 0; i < RawFormat.size(KQVK) / 61; i++) {
+				int index = (int) (i * 0x9E3779B1L) & (RawFormat.size(KQVK) - 1);
+				if (setUp(position, index)) {
+					assertEquals(entry(index), cached.probe(position));
+					assertEquals(entry(index), small.probe(position));
+				}
+			}
+			assertTrue(small.getCacheMisses() >= cached.getCacheMisses());
+			assertTrue(cached.getCacheBytes() <= RawFormat.size(KQVK));
+		}
+	}
+
+	@Test
+	public void bestMoveReachesTheQuickestLoss() throws IOException, InvalidFenException {
+		try (Tablebases tablebases = new Tablebases(directory, new RawFormat())) {
+			Position position = Fen.parse("8/8/8/4k3/8/8/8/4K2Q w - - 0 1");
+			MoveList moves = new MoveList();
+			int move = tablebases.bestMove(position, moves);
+			assertNotEquals(Move.NONE, move);
+
+			MoveGenerator.generateLegalMoves(position, moves);
+			assertTrue(moves.contains(move));
+			int quickest = Move.NONE;
+			int quickestDistance = Integer.MAX_VALUE;
+			for (int i = 0; i < moves.size(); i++) {
+				position.makeMove(moves.get(i));
+				int distance = Tablebase.distance(tablebases.probe(position));
+				position.unmakeMove();
+				if (distance < quickestDistance) {
+					quickest = moves.get(i);
+					quickestDistance = distance;
+				}
+			}
+			assertEquals(quickest, move);
+		}
+	}
+
+	@Test
+	public void bestMoveNeedsEverySuccessor() throws IOException, InvalidFenException {
+		try (Tablebases tablebases = new Tablebases(directory, new RawFormat())) {
+			// Taking the rook leads to KQvK, but keeping it to KQvKR, which has no table
+			Position position = Fen.parse("8/8/8/4k3/8/8/7r/4K2Q w - - 0 1");
+			assertEquals(Move.NONE, tablebases.bestMove(position, new MoveList()));
+		}
+	}
+
+	/**
+	 * White to move wins in 9 plies; black to move loses in 1 to 7.
+	 */
+	private static int entry(int index) {
+		boolean whiteToMove = index >>> (6 * KQVK.getPieceCount()) == PieceCode.WHITE;
+		return whiteToMove ? Tablebase.entry(Tablebase.WIN, 9) : Tablebase.entry(Tablebase.LOSS, index % 7 + 1);
+	}
+
+	private static boolean setUp(Position position, int index) {
+		position.clear();
+		int[] pieces = KQVK.getPieces();
+		long occupied = 0;
+		for (int i = pieces.length - 1; i >= 0; i--, index >>>= 6) {
+			int square = index & 63;
+			if ((occupied & 1L << square) != 0) {
+				return false;
+			}
+			occupied |= 1L << square;
+			position.setPiece(square, pieces[i]);
+		}
+		position.setSideToMove(index);
+		return true;
+	}
+
+	private static Position mirror(Position position) {
+		Position mirrored = new Position();
+		for (int square = 0; square < 64; square++) {
+			int piece = position.pieceAt(square);
+			if (piece != PieceCode.NONE) {
+				mirrored.setPiece(square ^ 56, piece ^ 1);
+			}
+		}
+		mirrored.setSideToMove(PieceCode.opposite(position.getSideToMove()));
+		return mirrored;
+	}
+}
@@ -0,0 +1,68 @@
+package chess.training;
+
+import chess.board.Fen;
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.assertEquals;
+
+public class PackedPositionTest {
+	private static final String[] FENS = {
+			Fen.START_POSITION,
+			"rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 3",
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+			"8/8/8/4k3/8/8/8/4K2Q b - - 99 2000",
+	};
+
+	@Test
+	public void roundTrips() throws InvalidFenException {
+		ByteBuffer buffer = ByteBuffer.allocate(FENS.length * PackedPosition.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < FENS.length; i++) {
+			PackedPosition.pack(Fen.parse(FENS[i]), i * 100 - 150, i % 3 - 1, buffer);
+			assertEquals((i + 1) * PackedPosition.SIZE, buffer.position());
+		}
+		Position position = new Position();
+		for (int i = 0; i < FENS.length; i++) {
+			int offset = i * PackedPosition.SIZE;
+			PackedPosition.unpack(buffer, offset, position);
+			assertEquals(FENS[i], Fen.toFen(position));
+			assertEquals(Fen.parse(FENS[i]).getHash(), position.getHash());
+			assertEquals(i * 100 - 150, PackedPosition.score(buffer, offset));
+			assertEquals(i % 3 - 1, PackedPosition.result(buffer, offset));
+		}
+	}
+
+	@Test
+	public void clampsScoreToShort() throws InvalidFenException {
+		ByteBuffer buffer = ByteBuffer.allocate(2 * PackedPosition.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		PackedPosition.pack(Fen.parse(Fen.START_POSITION), 100_000, PackedPosition.DRAW, buffer);
+		PackedPosition.pack(Fen.parse(Fen.START_POSITION), -100_000, PackedPosition.DRAW, buffer);
+		assertEquals(Short.MAX_VALUE, PackedPosition.score(buffer, 0));
+		assertEquals(Short.MIN_VALUE, PackedPosition.score(buffer, PackedPosition.SIZE));
+	}
+
+	@Test
+	public void overwritesResult() throws InvalidFenException {
+		ByteBuffer buffer = ByteBuffer.allocate(PackedPosition.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		PackedPosition.pack(Fen.parse(Fen.START_POSITION), 25, PackedPosition.DRAW, buffer);
+		PackedPosition.setResult(buffer, 0, PackedPosition.LOSS);
+		assertEquals(PackedPosition.LOSS, PackedPosition.result(buffer, 0));
+		assertEquals(25, PackedPosition.score(buffer, 0));
+	}
+
+	@Test
+	public void readsPgnResultsForSideToMove() {
+		assertEquals(PackedPosition.WIN, PackedPosition.result("1-0", PieceCode.WHITE));
+		assertEquals(PackedPosition.LOSS, PackedPosition.result("1-0", PieceCode.BLACK));
+		assertEquals(PackedPosition.LOSS, PackedPosition.result("0-1", PieceCode.WHITE));
+		assertEquals(PackedPosition.WIN, PackedPosition.result("0-1", PieceCode.BLACK));
+		assertEquals(PackedPosition.DRAW, PackedPosition.result("1/2-1/2", PieceCode.BLACK));
+		assertEquals(Integer.MIN_VALUE, PackedPosition.result("*", PieceCode.WHITE));
+	}
+}
@@ -0,0 +1,187 @@
+package chess.engine;
+
+import chess.board.Position;
+import chess.tablebase.Tablebases;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelSearch {
+	private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+	private final TranspositionTable transpositionTable;
+	private final List<Search> workers;
+	private ExecutorService executor;
+	private int requestedThreadCount;
+	private CompletableFuture<SearchResult> running;
+	private Tablebases tablebases;
+	private volatile long generation;
+	private volatile long stoppedGeneration;
+
+	public ParallelSearch(TranspositionTable transpositionTable, int threadCount) {
+		this.transpositionTable = transpositionTable;
+		this.workers = new ArrayList<>();
+		this.requestedThreadCount = Math.max(1, threadCount);
+		this.running = CompletableFuture.completedFuture(null);
+	}
+
+	public TranspositionTable getTranspositionTable() {
+		return transpositionTable;
+	}
+
+	public synchronized int getThreadCount() {
+		return requestedThreadCount;
+	}
+
+	public synchronized void setThreadCount(int threadCount) {
+		requestedThreadCount = Math.max(1, threadCount);
+	}
+
+	/**
+	 * Tablebases probed by every worker from the next search on; null to stop probing.
+	 */
+	public synchronized void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+
+	public synchronized Tablebases getTablebases() {
+		return tablebases;
+	}
+
+	public synchronized CompletableFuture<SearchResult> start(Position position, SearchLimits limits,
+															  SearchListener listener) {
+		stop();
+		long searchGeneration = ++generation;
+		Position rootPosition = new Position(position);
+		CompletableFuture<SearchResult> result = running
+				.handle((previousResult, error) -> null)
+				.thenCompose(ignored -> launch(searchGeneration, rootPosition, limits, listener));
+		running = result;
+		return result;
+	}
+
+	public SearchResult search(Position position, SearchLimits limits, SearchListener listener) {
+		return start(position, limits, listener).join();
+	}
+
+	/**
+	 * Stops the current search, or the latest one started if it is still queued behind its predecessor.
+	 */
+	public synchronized void stop() {
+		stoppedGeneration = generation;
+		for (Search worker : workers) {
+			worker.stop();
+		}
+	}
+
+	/**
+	 * Stops like {@link #stop()} and waits until every worker has returned, after which the transposition
+	 * table can be resized or cleared.
+	 */
+	public void stopAndWait() {
+		CompletableFuture<SearchResult> current;
+		synchronized (this) {
+			stop();
+			current = running;
+		}
+		current.handle((result, error) -> null).join();
+	}
+
+	public synchronized void shutdown() {
+		stop();
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+		workers.clear();
+	}
+
+	public synchronized long getNodes() {
+		long nodes = 0;
+		for (Search worker : workers) {
+			nodes += worker.getNodes();
+		}
+		return nodes;
+	}
+
+	/**
+	 * Share of pawn-structure lookups answered from the workers' pawn caches since they were created.
+	 */
+	public synchronized double getPawnCacheHitRate() {
+		long hits = 0;
+		long probes = 0;
+		for (Search worker : workers) {
+			hits += worker.getPawnCache().getHits();
+			probes += worker.getPawnCache().getHits() + worker.getPawnCache().getMisses();
+		}
+		return probes == 0 ? 0 : (double) hits / probes;
+	}
+
+	private synchronized CompletableFuture<SearchResult> launch(long searchGeneration, Position rootPosition,
+																SearchLimits limits, SearchListener listener) {
+		if (searchGeneration != generation) {
+			CompletableFuture<SearchResult> superseded = new CompletableFuture<>();
+			superseded.cancel(false);
+			return superseded;
+		}
+		applyThreadCount();
+		for (Search worker : workers) {
+			worker.prepare();
+			worker.setTablebases(tablebases);
+			// stopped while queued: finish at once with whatever the first iteration yields
+			if (stoppedGeneration >= searchGeneration) {
+				worker.stop();
+			}
+		}
+		Search main = workers.get(0);
+		List<Search> helpers = new ArrayList<>(workers.subList(1, workers.size()));
+		CompletableFuture<?>[] helperResults = new CompletableFuture<?>[helpers.size()];
+		for (int i = 0; i < helpers.size(); i++) {
+			Search helper = helpers.get(i);
+			helperResults[i] = CompletableFuture.runAsync(() -> helper.run(rootPosition, limits, null), executor);
+		}
+		CompletableFuture<SearchResult> mainResult = CompletableFuture.supplyAsync(() -> {
+			try {
+				return main.run(rootPosition, limits, listener == null ? null
+						: info -> listener.onIteration(info.withNodes(totalNodes(main, helpers))));
+			} finally {
+				for (Search helper : helpers) {
+					helper.stop();
+				}
+			}
+		}, executor);
+		return mainResult.thenCombine(CompletableFuture.allOf(helperResults), (result, ignored) ->
+				result.getInfo() == null ? result : result.withInfo(result.getInfo().withNodes(totalNodes(main, helpers))));
+	}
+
+	private void applyThreadCount() {
+		if (executor != null && workers.size() == requestedThreadCount) {
+			return;
+		}
+		if (executor != null) {
+			executor.shutdown();
+		}
+		workers.clear();
+		for (int i = 0; i < requestedThreadCount; i++) {
+			workers.add(new Search(transpositionTable, i));
+		}
+		int pool = POOL_COUNTER.incrementAndGet();
+		AtomicInteger threadCounter = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(requestedThreadCount, runnable -> {
+			Thread thread = new Thread(runnable, "search-" + pool + "-" + threadCounter.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static long totalNodes(Search main, List<Search> helpers) {
+		long nodes = main.getNodes();
+		for (Search helper : helpers) {
+			nodes += helper.getNodes();
+		}
+		return nodes;
+	}
+}
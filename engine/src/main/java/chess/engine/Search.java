@@ -0,0 +1,446 @@
+package chess.engine;
+
+import chess.board.*;
+import chess.eval.Evaluator;
+import chess.eval.PawnCache;
+import chess.eval.PieceSquareTables;
+import chess.metrics.Counter;
+import chess.metrics.Histogram;
+import chess.metrics.Metrics;
+import chess.tablebase.Tablebase;
+import chess.tablebase.Tablebases;
+
+import java.util.Arrays;
+
+public class Search {
+	public static final int INFINITY = 32000;
+	public static final int MATE = 31000;
+	public static final int MAX_PLY = 128;
+	public static final int MAX_DEPTH = 100;
+	/**
+	 * Score of a tablebase win, below every mate score so a real mate is still preferred.
+	 */
+	public static final int TABLEBASE_WIN = MATE - 2 * MAX_PLY;
+	/**
+	 * Smallest score that depends on the distance from the root: mates and tablebase wins. These are stored in
+	 * the transposition table relative to the node instead.
+	 */
+	private static final int DISTANCE_SCORE = TABLEBASE_WIN - MAX_PLY;
+	private static final Counter NODES = Metrics.counter("search.nodes");
+	private static final Counter SEARCHES = Metrics.counter("search.searches");
+	private static final Histogram TIME_PER_MOVE = Metrics.histogram("search.time_per_move_ms");
+
+	private static final int ASPIRATION_WINDOW = 25;
+	private static final int ASPIRATION_MIN_DEPTH = 5;
+	private static final int TIME_CHECK_INTERVAL = 2047;
+	private static final int HASH_MOVE_SCORE = 1 << 30;
+	private static final int CAPTURE_SCORE = 1 << 24;
+	private static final int KILLER_SCORE = 1 << 22;
+
+	private final TranspositionTable transpositionTable;
+	private final int threadIndex;
+	private final SearchHeuristics heuristics;
+	private final TimeManager timeManager;
+	private final Evaluator evaluator;
+	private final Position position;
+	private final MoveList[] moveLists;
+	private final int[][] moveScores;
+	private final int[][] principalVariations;
+	private final int[] principalVariationLengths;
+	private SearchLimits limits;
+	private SearchListener listener;
+	private Tablebases tablebases;
+	private volatile boolean stopped;
+	private long nodes;
+
+	public Search(TranspositionTable transpositionTable) {
+		this(transpositionTable, 0);
+	}
+
+	public Search(TranspositionTable transpositionTable, int threadIndex) {
+		this.transpositionTable = transpositionTable;
+		this.threadIndex = threadIndex;
+		this.heuristics = new SearchHeuristics();
+		this.timeManager = new TimeManager();
+		this.evaluator = new Evaluator();
+		this.position = new Position();
+		this.moveLists = new MoveList[MAX_PLY + 1];
+		this.moveScores = new int[MAX_PLY + 1][MoveList.CAPACITY];
+		this.principalVariations = new int[MAX_PLY + 1][MAX_PLY + 1];
+		this.principalVariationLengths = new int[MAX_PLY + 1];
+		for (int i = 0; i < moveLists.length; i++) {
+			moveLists[i] = new MoveList();
+		}
+	}
+
+	public SearchResult search(Position rootPosition, SearchLimits limits) {
+		return search(rootPosition, limits, null);
+	}
+
+	public SearchResult search(Position rootPosition, SearchLimits limits, SearchListener listener) {
+		stopped = false;
+		return run(rootPosition, limits, listener);
+	}
+
+	void prepare() {
+		stopped = false;
+	}
+
+	SearchResult run(Position rootPosition, SearchLimits limits, SearchListener listener) {
+		this.position.copyFrom(rootPosition);
+		this.limits = limits;
+		this.listener = listener;
+		this.nodes = 0;
+		timeManager.start(limits, position.getSideToMove());
+		heuristics.newSearch();
+		if (threadIndex == 0) {
+			transpositionTable.newSearch();
+		}
+
+		if (tablebases != null && !limits.isInfinite()) {
+			SearchResult result = probeRoot();
+			if (result != null) {
+				return result;
+			}
+		}
+
+		int maxDepth = limits.getDepth() > 0 ? Math.min(limits.getDepth(), MAX_DEPTH) : MAX_DEPTH;
+		long[] timeToDepth = new long[maxDepth + 1];
+		Arrays.fill(timeToDepth, -1);
+		int bestMove = Move.NONE;
+		SearchInfo lastInfo = null;
+		int score = 0;
+		// Lazy SMP helpers on odd indices search one ply deeper to diversify the shared table
+		int depthOffset = threadIndex & 1;
+		for (int depth = 1 + depthOffset; depth <= maxDepth; depth++) {
+			score = aspirationSearch(depth, score);
+			if (stopped && bestMove != Move.NONE) {
+				break;
+			}
+			if (principalVariationLengths[0] > 0) {
+				bestMove = principalVariations[0][0];
+			}
+			timeToDepth[depth] = timeManager.elapsed();
+			lastInfo = new SearchInfo(depth, score, nodes, timeManager.elapsed(),
+					Arrays.copyOf(principalVariations[0], principalVariationLengths[0]),
+					transpositionTable.hashfull());
+			if (listener != null) {
+				listener.onIteration(lastInfo);
+			}
+			if (stopped || (!limits.isInfinite() && timeManager.softLimitReached())) {
+				break;
+			}
+		}
+		if (bestMove == Move.NONE) {
+			bestMove = firstLegalMove();
+		}
+		NODES.add(nodes);
+		if (threadIndex == 0) {
+			SEARCHES.increment();
+			TIME_PER_MOVE.record(timeManager.elapsed());
+		}
+		return new SearchResult(bestMove, lastInfo, timeToDepth);
+	}
+
+	public void stop() {
+		stopped = true;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public int getThreadIndex() {
+		return threadIndex;
+	}
+
+	public PawnCache getPawnCache() {
+		return evaluator.getPawnCache();
+	}
+
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+
+	/**
+	 * Answers straight from the tablebases when the root is in them.
+	 *
+	 * @return the result, or null if the search has to run
+	 */
+	private SearchResult probeRoot() {
+		if (!tablebases.covers(position)) {
+			return null;
+		}
+		int move = tablebases.bestMove(position, moveLists[0]);
+		if (move == Move.NONE) {
+			return null;
+		}
+		int score = tablebaseScore(tablebases.probeWdl(position), 0);
+		nodes = 1;
+		SearchInfo info = new SearchInfo(1, score, nodes, timeManager.elapsed(), new int[]{move},
+				transpositionTable.hashfull());
+		if (listener != null) {
+			listener.onIteration(info);
+		}
+		return new SearchResult(move, info, new long[]{-1, timeManager.elapsed()});
+	}
+
+	private static int tablebaseScore(int wdl, int ply) {
+		return wdl == Tablebase.WIN ? TABLEBASE_WIN - ply : wdl == Tablebase.LOSS ? -TABLEBASE_WIN + ply : 0;
+	}
+
+	private int aspirationSearch(int depth, int previousScore) {
+		if (depth < ASPIRATION_MIN_DEPTH || Math.abs(previousScore) >= MATE - MAX_PLY) {
+			return negamax(depth, -INFINITY, INFINITY, 0);
+		}
+		int delta = ASPIRATION_WINDOW;
+		int alpha = Math.max(-INFINITY, previousScore - delta);
+		int beta = Math.min(INFINITY, previousScore + delta);
+		while (true) {
+			int score = negamax(depth, alpha, beta, 0);
+			if (stopped) {
+				return score;
+			}
+			if (score <= alpha) {
+				alpha = Math.max(-INFINITY, score - delta);
+			} else if (score >= beta) {
+				beta = Math.min(INFINITY, score + delta);
+			} else {
+				return score;
+			}
+			delta *= 2;
+		}
+	}
+
+	private int negamax(int depth, int alpha, int beta, int ply) {
+		principalVariationLengths[ply] = 0;
+		if (checkStop()) {
+			return 0;
+		}
+		// A repetition inside the tree counts as a draw at once: whoever can avoid it will choose to
+		if (ply > 0 && (position.isRepetition() || position.isFiftyMoveRule() || position.hasInsufficientMaterial())) {
+			return 0;
+		}
+		boolean inCheck = position.isInCheck();
+		if (inCheck) {
+			depth++;
+		}
+		if (depth <= 0) {
+			return quiescence(alpha, beta, ply);
+		}
+		nodes++;
+		if (ply >= MAX_PLY) {
+			return evaluate();
+		}
+		boolean pvNode = beta - alpha > 1;
+		long key = position.getHash();
+		long entry = transpositionTable.probe(key);
+		int hashMove = Move.NONE;
+		if (entry != TranspositionTable.MISS) {
+			hashMove = TranspositionTable.move(entry);
+			if (!pvNode && ply > 0 && TranspositionTable.depth(entry) >= depth) {
+				int score = scoreFromTable(TranspositionTable.score(entry), ply);
+				int bound = TranspositionTable.bound(entry);
+				if (bound == TranspositionTable.BOUND_EXACT
+						|| (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+						|| (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+					return score;
+				}
+			}
+		}
+
+		if (tablebases != null && ply > 0 && tablebases.covers(position)) {
+			int wdl = tablebases.probeWdl(position);
+			if (wdl != Tablebases.UNKNOWN) {
+				int score = tablebaseScore(wdl, ply);
+				transpositionTable.store(key, Move.NONE, scoreToTable(score, ply), depth, TranspositionTable.BOUND_EXACT);
+				return score;
+			}
+		}
+
+		MoveList moves = moveLists[ply];
+		MoveGenerator.generateLegalMoves(position, moves);
+		if (moves.size() == 0) {
+			return inCheck ? -MATE + ply : 0;
+		}
+		int[] scores = moveScores[ply];
+		scoreMoves(moves, scores, ply, hashMove);
+
+		int originalAlpha = alpha;
+		int bestScore = -INFINITY;
+		int bestMove = Move.NONE;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = pickMove(moves, scores, i);
+			int movingPiece = position.pieceAt(Move.from(move));
+			position.makeMove(move);
+			int score;
+			if (i == 0) {
+				score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+			} else {
+				score = -negamax(depth - 1, -alpha - 1, -alpha, ply + 1);
+				if (score > alpha && score < beta) {
+					score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+				}
+			}
+			position.unmakeMove(move);
+			if (stopped) {
+				return 0;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = move;
+				if (score > alpha) {
+					alpha = score;
+					updatePrincipalVariation(ply, move);
+					if (score >= beta) {
+						if (!Move.isCapture(move) && !Move.isPromotion(move)) {
+							heuristics.updateQuietCutoff(ply, move, movingPiece, Move.to(move), depth);
+						}
+						break;
+					}
+				}
+			}
+		}
+		int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+				: bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+		transpositionTable.store(key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+		return bestScore;
+	}
+
+	private int quiescence(int alpha, int beta, int ply) {
+		principalVariationLengths[ply] = 0;
+		if (checkStop()) {
+			return 0;
+		}
+		nodes++;
+		boolean inCheck = position.isInCheck();
+		if (ply >= MAX_PLY) {
+			return evaluate();
+		}
+		int bestScore = -INFINITY;
+		if (!inCheck) {
+			bestScore = evaluate();
+			if (bestScore >= beta) {
+				return bestScore;
+			}
+			if (bestScore > alpha) {
+				alpha = bestScore;
+			}
+		}
+		MoveList moves = moveLists[ply];
+		if (inCheck) {
+			MoveGenerator.generateLegalMoves(position, moves);
+			if (moves.size() == 0) {
+				return -MATE + ply;
+			}
+		} else {
+			MoveGenerator.generateLegalCaptures(position, moves);
+		}
+		int[] scores = moveScores[ply];
+		scoreMoves(moves, scores, ply, Move.NONE);
+		for (int i = 0; i < moves.size(); i++) {
+			int move = pickMove(moves, scores, i);
+			position.makeMove(move);
+			int score = -quiescence(-beta, -alpha, ply + 1);
+			position.unmakeMove(move);
+			if (stopped) {
+				return 0;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				if (score > alpha) {
+					alpha = score;
+					updatePrincipalVariation(ply, move);
+					if (score >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return bestScore;
+	}
+
+	private int evaluate() {
+		return evaluator.evaluate(position);
+	}
+
+	private void scoreMoves(MoveList moves, int[] scores, int ply, int hashMove) {
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			int score;
+			if (move == hashMove) {
+				score = HASH_MOVE_SCORE;
+			} else if (Move.isCapture(move)) {
+				int victim = Move.flags(move) == Move.EN_PASSANT
+						? PieceCode.PAWN : PieceCode.typeOf(position.pieceAt(Move.to(move)));
+				int attacker = PieceCode.typeOf(position.pieceAt(Move.from(move)));
+				score = CAPTURE_SCORE + PieceSquareTables.pieceValue(victim) * 8 - attacker;
+			} else if (Move.isPromotion(move)) {
+				score = CAPTURE_SCORE + PieceSquareTables.pieceValue(Move.promotionType(move));
+			} else {
+				int killerRank = heuristics.killerRank(ply, move);
+				score = killerRank > 0 ? KILLER_SCORE + killerRank
+						: heuristics.history(position.pieceAt(Move.from(move)), Move.to(move));
+			}
+			scores[i] = score;
+		}
+	}
+
+	private static int pickMove(MoveList moves, int[] scores, int index) {
+		int best = index;
+		for (int i = index + 1; i < moves.size(); i++) {
+			if (scores[i] > scores[best]) {
+				best = i;
+			}
+		}
+		int move = moves.get(best);
+		if (best != index) {
+			moves.set(best, moves.get(index));
+			moves.set(index, move);
+			int score = scores[best];
+			scores[best] = scores[index];
+			scores[index] = score;
+		}
+		return move;
+	}
+
+	private void updatePrincipalVariation(int ply, int move) {
+		int[] principalVariation = principalVariations[ply];
+		principalVariation[0] = move;
+		int childLength = principalVariationLengths[ply + 1];
+		System.arraycopy(principalVariations[ply + 1], 0, principalVariation, 1, childLength);
+		principalVariationLengths[ply] = childLength + 1;
+	}
+
+	private boolean checkStop() {
+		if (stopped) {
+			return true;
+		}
+		if ((nodes & TIME_CHECK_INTERVAL) == 0) {
+			if ((limits.getNodes() > 0 && nodes >= limits.getNodes()) || timeManager.hardLimitReached()) {
+				stopped = true;
+			}
+		}
+		return stopped;
+	}
+
+	private int firstLegalMove() {
+		MoveList moves = moveLists[0];
+		MoveGenerator.generateLegalMoves(position, moves);
+		return moves.size() > 0 ? moves.get(0) : Move.NONE;
+	}
+
+	private static int scoreToTable(int score, int ply) {
+		if (score >= DISTANCE_SCORE) {
+			return score + ply;
+		}
+		return score <= -DISTANCE_SCORE ? score - ply : score;
+	}
+
+	private static int scoreFromTable(int score, int ply) {
+		if (score >= DISTANCE_SCORE) {
+			return score - ply;
+		}
+		return score <= -DISTANCE_SCORE ? score + ply : score;
+	}
+}
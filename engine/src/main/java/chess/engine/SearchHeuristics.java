@@ -0,0 +1,52 @@
+package chess.engine;
+
+import chess.board.PieceCode;
+
+public class SearchHeuristics {
+	private static final int HISTORY_LIMIT = 1 << 20;
+	private final int[][] killers;
+	private final int[][] history;
+
+	public SearchHeuristics() {
+		killers = new int[Search.MAX_PLY][2];
+		history = new int[PieceCode.COUNT][64];
+	}
+
+	public void newSearch() {
+		for (int[] plyKillers : killers) {
+			plyKillers[0] = 0;
+			plyKillers[1] = 0;
+		}
+		for (int[] squares : history) {
+			for (int square = 0; square < 64; square++) {
+				squares[square] >>= 2;
+			}
+		}
+	}
+
+	public int killerRank(int ply, int move) {
+		if (killers[ply][0] == move) {
+			return 2;
+		}
+		return killers[ply][1] == move ? 1 : 0;
+	}
+
+	public int history(int piece, int square) {
+		return history[piece][square];
+	}
+
+	public void updateQuietCutoff(int ply, int move, int piece, int square, int depth) {
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		history[piece][square] += depth * depth;
+		if (history[piece][square] > HISTORY_LIMIT) {
+			for (int[] squares : history) {
+				for (int i = 0; i < 64; i++) {
+					squares[i] >>= 1;
+				}
+			}
+		}
+	}
+}
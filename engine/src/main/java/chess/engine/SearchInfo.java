@@ -0,0 +1,80 @@
+package chess.engine;
+
+import chess.board.Move;
+
+public class SearchInfo {
+	private final int depth;
+	private final int score;
+	private final long nodes;
+	private final long timeMillis;
+	private final int[] principalVariation;
+	private final int hashfull;
+
+	public SearchInfo(int depth, int score, long nodes, long timeMillis, int[] principalVariation, int hashfull) {
+		this.depth = depth;
+		this.score = score;
+		this.nodes = nodes;
+		this.timeMillis = timeMillis;
+		this.principalVariation = principalVariation;
+		this.hashfull = hashfull;
+	}
+
+	public SearchInfo withNodes(long nodes) {
+		return new SearchInfo(depth, score, nodes, timeMillis, principalVariation, hashfull);
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public int getScore() {
+		return score;
+	}
+
+	public boolean isMate() {
+		return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+	}
+
+	public int getMateIn() {
+		int plies = Search.MATE - Math.abs(score);
+		return (score > 0 ? 1 : -1) * (plies + 1) / 2;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getTimeMillis() {
+		return timeMillis;
+	}
+
+	public long getNodesPerSecond() {
+		return nodes * 1000 / Math.max(1, timeMillis);
+	}
+
+	public int[] getPrincipalVariation() {
+		return principalVariation;
+	}
+
+	public int getBestMove() {
+		return principalVariation.length > 0 ? principalVariation[0] : Move.NONE;
+	}
+
+	public int getHashfull() {
+		return hashfull;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder pv = new StringBuilder();
+		for (int move : principalVariation) {
+			pv.append(' ').append(Move.toUci(move));
+		}
+		return "depth " + depth
+				+ " score " + (isMate() ? "mate " + getMateIn() : "cp " + score)
+				+ " nodes " + nodes
+				+ " nps " + getNodesPerSecond()
+				+ " time " + timeMillis
+				+ " pv" + pv;
+	}
+}
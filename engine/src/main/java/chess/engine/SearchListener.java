@@ -0,0 +1,5 @@
+package chess.engine;
+
+public interface SearchListener {
+	void onIteration(SearchInfo info);
+}
@@ -0,0 +1,52 @@
+package chess.engine;
+
+import chess.board.Move;
+
+public class SearchResult {
+	private final int bestMove;
+	private final SearchInfo info;
+	private final long[] timeToDepth;
+
+	public SearchResult(int bestMove, SearchInfo info, long[] timeToDepth) {
+		this.bestMove = bestMove;
+		this.info = info;
+		this.timeToDepth = timeToDepth;
+	}
+
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	public SearchInfo getInfo() {
+		return info;
+	}
+
+	public int getDepth() {
+		return info == null ? 0 : info.getDepth();
+	}
+
+	public int getScore() {
+		return info == null ? 0 : info.getScore();
+	}
+
+	public long getNodes() {
+		return info == null ? 0 : info.getNodes();
+	}
+
+	public long getNodesPerSecond() {
+		return info == null ? 0 : info.getNodesPerSecond();
+	}
+
+	public SearchResult withInfo(SearchInfo info) {
+		return new SearchResult(bestMove, info, timeToDepth);
+	}
+
+	public long getTimeToDepth(int depth) {
+		return depth < timeToDepth.length ? timeToDepth[depth] : -1;
+	}
+
+	@Override
+	public String toString() {
+		return "bestmove " + Move.toUci(bestMove) + " (" + info + ")";
+	}
+}
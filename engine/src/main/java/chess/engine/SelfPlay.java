@@ -0,0 +1,133 @@
+package chess.engine;
+
+import chess.board.Fen;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import chess.training.PackedPosition;
+import chess.training.TrainingWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates training data by self-play. Each game opens with a few random moves for variety, then both sides
+ * play fixed-depth searches; every searched position not in check is recorded with the search score, and the
+ * game result is filled in once the game ends. Games still going after {@link #MAX_GAME_PLIES} are scored
+ * as draws. Threads play independent games with a transposition table each and hand finished games to one
+ * {@link TrainingWriter}.
+ */
+public class SelfPlay {
+	public static final int DEFAULT_RANDOM_PLIES = 8;
+	public static final int MAX_GAME_PLIES = 400;
+	private static final int HASH_MEGABYTES = 16;
+
+	private final TrainingWriter writer;
+	private final int depth;
+	private final int randomPlies;
+	private final AtomicInteger nextGame;
+
+	public SelfPlay(TrainingWriter writer, int depth, int randomPlies) {
+		this.writer = writer;
+		this.depth = depth;
+		this.randomPlies = randomPlies;
+		this.nextGame = new AtomicInteger();
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 1) {
+			System.out.println("Usage: SelfPlay <positions.bin> [games=100] [depth=6] [threads] [randomPlies="
+					+ DEFAULT_RANDOM_PLIES + "]");
+			return;
+		}
+		int games = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int depth = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		int randomPlies = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_RANDOM_PLIES;
+		long start = System.nanoTime();
+		try (TrainingWriter writer = new TrainingWriter(Paths.get(args[0]))) {
+			new SelfPlay(writer, depth, randomPlies).run(games, threads);
+			long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			System.out.printf("Games: %d  Positions: %d  Time: %d ms  Positions/second: %d%n", games,
+					writer.getCount(), elapsedMillis, writer.getCount() * 1000 / elapsedMillis);
+		}
+	}
+
+	public void run(int games, int threads) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for (int i = 0; i < threads; i++) {
+			pool.execute(() -> {
+				Player player = new Player();
+				int game;
+				while ((game = nextGame.getAndIncrement()) < games) {
+					player.play(new Random(game));
+				}
+			});
+		}
+		pool.shutdown();
+		pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+	}
+
+	private final class Player {
+		private final Search search = new Search(new TranspositionTable(HASH_MEGABYTES));
+		private final SearchLimits limits = SearchLimits.depth(depth);
+		private final Position position = new Position();
+		private final MoveList moves = new MoveList();
+		private final ByteBuffer records = TrainingWriter.allocate(MAX_GAME_PLIES);
+		private final int[] sides = new int[MAX_GAME_PLIES];
+
+		private void play(Random random) {
+			try {
+				Fen.parse(Fen.START_POSITION, position);
+			} catch (InvalidFenException e) {
+				throw new RuntimeException("Internal new-game FEN is invalid or is not being parsed correctly");
+			}
+			records.clear();
+			int recorded = 0;
+			int whiteResult = PackedPosition.DRAW;
+			for (int ply = 0; ply < MAX_GAME_PLIES; ply++) {
+				MoveGenerator.generateLegalMoves(position, moves);
+				if (moves.size() == 0) {
+					if (position.isInCheck()) {
+						whiteResult = position.getSideToMove() == PieceCode.WHITE
+								? PackedPosition.LOSS : PackedPosition.WIN;
+					}
+					break;
+				}
+				if (position.isThreefoldRepetition() || position.isFiftyMoveRule()
+						|| position.hasInsufficientMaterial()) {
+					break;
+				}
+				if (ply < randomPlies) {
+					position.makeMove(moves.get(random.nextInt(moves.size())));
+					continue;
+				}
+				SearchResult result = search.search(position, limits);
+				if (!position.isInCheck()) {
+					sides[recorded++] = position.getSideToMove();
+					PackedPosition.pack(position, result.getScore(), PackedPosition.DRAW, records);
+				}
+				position.makeMove(result.getBestMove());
+			}
+			for (int i = 0; i < recorded; i++) {
+				int result = sides[i] == PieceCode.WHITE ? whiteResult : -whiteResult;
+				PackedPosition.setResult(records, i * PackedPosition.SIZE, result);
+			}
+			records.flip();
+			try {
+				writer.write(records);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package chess.engine;
+
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SmpBenchmark {
+	@SuppressWarnings("SpellCheckingInspection")
+	private static final String[] POSITIONS = new String[]{
+			"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR",
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R",
+			"r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP2BPPP/R2QKB1R",
+			"2r3k1/pp3ppp/2n1b3/3p4/3P4/2N1B3/PP3PPP/2R3K1",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8",
+	};
+
+	public static void main(String[] args) throws InvalidFenException {
+		int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		int depth = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+		int hashMegabytes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+		Position[] positions = new Position[POSITIONS.length];
+		for (int i = 0; i < POSITIONS.length; i++) {
+			positions[i] = Position.fromFen(POSITIONS[i]);
+		}
+		// Untimed pass first, so the single-thread baseline does not pay for JIT compilation
+		ParallelSearch warmUp = new ParallelSearch(new TranspositionTable(hashMegabytes), 1);
+		for (Position position : positions) {
+			warmUp.getTranspositionTable().clear();
+			warmUp.search(position, SearchLimits.depth(depth), null);
+		}
+		warmUp.shutdown();
+
+		long baseline = 0;
+		System.out.println("threads  time-to-depth(ms)  speedup  nodes/second  pawn-cache-hits");
+		for (int threads : threadCounts(maxThreads)) {
+			ParallelSearch search = new ParallelSearch(new TranspositionTable(hashMegabytes), threads);
+			long time = 0;
+			long nodes = 0;
+			for (Position position : positions) {
+				search.getTranspositionTable().clear();
+				SearchResult result = search.search(position, SearchLimits.depth(depth), null);
+				time += result.getTimeToDepth(depth);
+				nodes += result.getNodes();
+			}
+			double pawnCacheHitRate = search.getPawnCacheHitRate();
+			search.shutdown();
+			if (threads == 1) {
+				baseline = time;
+			}
+			System.out.printf("%7d  %17d  %7.2f  %12d  %14.1f%%%n", threads, time,
+					(double) baseline / Math.max(1, time), nodes * 1000 / Math.max(1, time), pawnCacheHitRate * 100);
+		}
+	}
+
+	/**
+	 * Powers of two below {@code maxThreads}, then {@code maxThreads} itself.
+	 */
+	static List<Integer> threadCounts(int maxThreads) {
+		List<Integer> counts = new ArrayList<>();
+		for (int threads = 1; threads < maxThreads; threads *= 2) {
+			counts.add(threads);
+		}
+		counts.add(Math.max(1, maxThreads));
+		return counts;
+	}
+}
@@ -0,0 +1,54 @@
+package chess.engine;
+
+import chess.board.PieceCode;
+
+public class TimeManager {
+	private static final long MOVE_OVERHEAD = 20;
+	private static final int DEFAULT_MOVES_TO_GO = 30;
+	private long startTime;
+	private long softLimit;
+	private long hardLimit;
+
+	public void start(SearchLimits limits, int sideToMove) {
+		startTime = System.nanoTime();
+		softLimit = Long.MAX_VALUE;
+		hardLimit = Long.MAX_VALUE;
+		if (limits.isInfinite()) {
+			return;
+		}
+		if (limits.getMoveTime() > 0) {
+			softLimit = hardLimit = limits.getMoveTime();
+			return;
+		}
+		long time = sideToMove == PieceCode.WHITE ? limits.getWhiteTime() : limits.getBlackTime();
+		long increment = sideToMove == PieceCode.WHITE ? limits.getWhiteIncrement() : limits.getBlackIncrement();
+		if (time <= 0) {
+			return;
+		}
+		int movesToGo = limits.getMovesToGo() > 0 ? Math.min(limits.getMovesToGo(), DEFAULT_MOVES_TO_GO)
+				: DEFAULT_MOVES_TO_GO;
+		long available = Math.max(1, time - MOVE_OVERHEAD);
+		softLimit = Math.min(available, available / movesToGo + increment * 3 / 4);
+		hardLimit = Math.min(available, softLimit * 4);
+	}
+
+	public long elapsed() {
+		return (System.nanoTime() - startTime) / 1_000_000;
+	}
+
+	public boolean softLimitReached() {
+		return elapsed() >= softLimit;
+	}
+
+	public boolean hardLimitReached() {
+		return elapsed() >= hardLimit;
+	}
+
+	public long getSoftLimit() {
+		return softLimit;
+	}
+
+	public long getHardLimit() {
+		return hardLimit;
+	}
+}
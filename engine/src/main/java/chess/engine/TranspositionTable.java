@@ -0,0 +1,155 @@
+package chess.engine;
+
+import chess.metrics.Counter;
+import chess.metrics.Metrics;
+
+import java.util.Arrays;
+
+public class TranspositionTable {
+	public static final long MISS = 0;
+	public static final int BOUND_UPPER = 1;
+	public static final int BOUND_LOWER = 2;
+	public static final int BOUND_EXACT = 3;
+
+	private static final int ENTRY_BYTES = 16;
+	/**
+	 * Largest table: two longs per entry must still fit in one Java array.
+	 */
+	private static final int MAX_ENTRIES = 1 << 29;
+	public static final int MAX_MEGABYTES = (int) ((long) MAX_ENTRIES * ENTRY_BYTES >> 20);
+	private static final Counter HITS = Metrics.counter("search.tt.hits");
+	private static final Counter MISSES = Metrics.counter("search.tt.misses");
+
+	static {
+		Metrics.gauge("search.tt.hit_rate_permille", () -> {
+			long probes = HITS.get() + MISSES.get();
+			return probes == 0 ? 0 : HITS.get() * 1000 / probes;
+		});
+	}
+
+	private final ReplacementPolicy replacementPolicy;
+	private long[] entries;
+	private int mask;
+	private int generation;
+
+	public TranspositionTable(int megabytes, ReplacementPolicy replacementPolicy) {
+		this.replacementPolicy = replacementPolicy;
+		resize(megabytes);
+	}
+
+	public TranspositionTable(int megabytes) {
+		this(megabytes, ReplacementPolicy.AGE_AND_DEPTH);
+	}
+
+	public static int move(long data) {
+		return (int) (data & 0xFFFF);
+	}
+
+	public static int score(long data) {
+		return (short) (data >>> 16);
+	}
+
+	public static int depth(long data) {
+		return (int) ((data >>> 32) & 0xFF);
+	}
+
+	public static int bound(long data) {
+		return (int) ((data >>> 40) & 0x3);
+	}
+
+	private static int generation(long data) {
+		return (int) ((data >>> 42) & 0xFF);
+	}
+
+	/**
+	 * Replaces the table with an empty one of at most {@code megabytes}, capped at {@link #MAX_MEGABYTES}. If
+	 * the allocation fails the old table is kept. No search may be using the table meanwhile.
+	 *
+	 * @throws OutOfMemoryError if the heap cannot hold the new table
+	 */
+	public void resize(int megabytes) {
+		long capacity = Math.max(1, (long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+		int size = Integer.highestOneBit((int) Math.min(capacity, MAX_ENTRIES));
+		entries = new long[size * 2];
+		mask = size - 1;
+		generation = 0;
+	}
+
+	/**
+	 * Empties the table. No search may be using it meanwhile.
+	 */
+	public void clear() {
+		Arrays.fill(entries, 0);
+		generation = 0;
+	}
+
+	public void newSearch() {
+		generation = (generation + 1) & 0xFF;
+	}
+
+	public long probe(long key) {
+		int index = ((int) key & mask) << 1;
+		long data = entries[index + 1];
+		if ((entries[index] ^ data) != key || data == MISS) {
+			MISSES.increment();
+			return MISS;
+		}
+		HITS.increment();
+		return data;
+	}
+
+	public void store(long key, int move, int score, int depth, int bound) {
+		int index = ((int) key & mask) << 1;
+		long existing = entries[index + 1];
+		boolean sameKey = (entries[index] ^ existing) == key;
+		if (existing != MISS && !replacementPolicy.replace(sameKey, depth,
+				depth(existing), generation == generation(existing))) {
+			return;
+		}
+		if (move == 0 && sameKey) {
+			move = move(existing);
+		}
+		long data = (move & 0xFFFFL)
+				| ((score & 0xFFFFL) << 16)
+				| ((long) Math.max(0, Math.min(depth, 0xFF)) << 32)
+				| ((long) bound << 40)
+				| ((long) generation << 42);
+		entries[index] = key ^ data;
+		entries[index + 1] = data;
+	}
+
+	public int hashfull() {
+		int sample = Math.min(1000, entries.length / 2);
+		int used = 0;
+		for (int i = 0; i < sample; i++) {
+			long data = entries[i * 2 + 1];
+			if (data != MISS && generation(data) == generation) {
+				used++;
+			}
+		}
+		return sample == 0 ? 0 : used * 1000 / sample;
+	}
+
+	public enum ReplacementPolicy {
+		ALWAYS {
+			@Override
+			boolean replace(boolean sameKey, int depth, int existingDepth, boolean currentGeneration) {
+				return true;
+			}
+		},
+		DEPTH_PREFERRED {
+			@Override
+			boolean replace(boolean sameKey, int depth, int existingDepth, boolean currentGeneration) {
+				return sameKey || depth >= existingDepth;
+			}
+		},
+		AGE_AND_DEPTH {
+			@Override
+			boolean replace(boolean sameKey, int depth, int existingDepth, boolean currentGeneration) {
+				return sameKey || !currentGeneration || depth >= existingDepth;
+			}
+		};
+
+		abstract boolean replace(boolean sameKey, int depth, int existingDepth, boolean currentGeneration);
+	}
+}
@@ -0,0 +1,55 @@
+package chess.tournament;
+
+import chess.board.Position;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+
+
+/**
+ * Plays with a single-threaded {@link Search} of this build, on the caller's thread.
+ */
+public class EnginePlayer implements Player {
+	private final String name;
+	private final TranspositionTable transpositionTable;
+	private final Search search;
+	private final SearchLimits limits;
+	private int lastScore;
+
+	public EnginePlayer(PlayerConfig config) {
+		this.name = config.getName();
+		this.transpositionTable = new TranspositionTable(config.getHash(), config.getPolicy());
+		this.search = new Search(transpositionTable);
+		this.limits = config.createLimits();
+		this.lastScore = NO_SCORE;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void newGame() {
+		transpositionTable.clear();
+		lastScore = NO_SCORE;
+	}
+
+	@Override
+	public int play(String startFen, int[] moves, int moveCount, Position position) {
+		SearchResult result = search.search(position, limits);
+		lastScore = result.getInfo() == null ? NO_SCORE : result.getScore();
+		return result.getBestMove();
+	}
+
+	@Override
+	public int getLastScore() {
+		return lastScore;
+	}
+
+	@Override
+	public void close() {
+		// Nothing outside the heap to release
+	}
+}
@@ -0,0 +1,237 @@
+package chess.tournament;
+
+import chess.board.Fen;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import chess.pgn.San;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One game between two players from a given opening. Besides the rules (mate, stalemate, threefold
+ * repetition, the fifty-move rule and insufficient material) the game is adjudicated so that lost and dead
+ * drawn positions are not played out:
+ * <ul>
+ * <li>a win once both engines agree that one side is ahead by {@link #RESIGN_SCORE} or more for
+ * {@link #RESIGN_MOVES} moves each,</li>
+ * <li>a draw once both engines score within {@link #DRAW_SCORE} of zero for {@link #DRAW_MOVES} moves each,
+ * from move {@link #DRAW_MOVE_NUMBER} on,</li>
+ * <li>a draw after {@link #MAX_PLIES} plies.</li>
+ * </ul>
+ */
+public class MatchGame {
+	public static final int RESIGN_SCORE = 1000;
+	public static final int RESIGN_MOVES = 3;
+	public static final int DRAW_SCORE = 10;
+	public static final int DRAW_MOVES = 8;
+	public static final int DRAW_MOVE_NUMBER = 40;
+	public static final int MAX_PLIES = 600;
+	public static final String WHITE_WINS = "1-0";
+	public static final String BLACK_WINS = "0-1";
+	public static final String DRAWN = "1/2-1/2";
+	private static final int PGN_LINE_LENGTH = 80;
+	private static final DateTimeFormatter PGN_DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+	private final int round;
+	private final String startFen;
+	private final int[] moves;
+	private final String[] sans;
+	private int moveCount;
+	private String whiteName;
+	private String blackName;
+	private String result;
+	private String reason;
+	private boolean adjudicated;
+
+	public MatchGame(int round, String startFen) {
+		this.round = round;
+		this.startFen = startFen;
+		this.moves = new int[MAX_PLIES];
+		this.sans = new String[MAX_PLIES];
+	}
+
+	/**
+	 * Plays the game to its end.
+	 *
+	 * @throws IOException if a player fails, e.g. an engine process exits or plays an illegal move
+	 */
+	public void play(Player white, Player black) throws IOException {
+		whiteName = white.getName();
+		blackName = black.getName();
+		Position position = parse(startFen);
+		MoveList legalMoves = new MoveList();
+		white.newGame();
+		black.newGame();
+		int resignPlies = 0;
+		int resignSign = 0;
+		int drawPlies = 0;
+		while (true) {
+			MoveGenerator.generateLegalMoves(position, legalMoves);
+			boolean whiteToMove = position.getSideToMove() == PieceCode.WHITE;
+			if (legalMoves.size() == 0) {
+				if (position.isInCheck()) {
+					finish(whiteToMove ? BLACK_WINS : WHITE_WINS, (whiteToMove ? "Black" : "White") + " mates", false);
+				} else {
+					finish(DRAWN, "Stalemate", false);
+				}
+				return;
+			}
+			if (position.isThreefoldRepetition()) {
+				finish(DRAWN, "Draw by threefold repetition", false);
+				return;
+			}
+			if (position.isFiftyMoveRule()) {
+				finish(DRAWN, "Draw by the fifty-move rule", false);
+				return;
+			}
+			if (position.hasInsufficientMaterial()) {
+				finish(DRAWN, "Draw by insufficient material", false);
+				return;
+			}
+			if (moveCount == MAX_PLIES) {
+				finish(DRAWN, "Draw after " + MAX_PLIES + " plies", true);
+				return;
+			}
+
+			Player mover = whiteToMove ? white : black;
+			int move = mover.play(startFen, moves, moveCount, position);
+			if (!legalMoves.contains(move)) {
+				throw new IOException(mover.getName() + " chose an illegal move in " + position.toFen());
+			}
+			int score = mover.getLastScore();
+			if (score != Player.NO_SCORE && Math.abs(score) >= RESIGN_SCORE) {
+				int sign = Integer.signum(whiteToMove ? score : -score);
+				resignPlies = resignPlies > 0 && sign == resignSign ? resignPlies + 1 : 1;
+				resignSign = sign;
+			} else {
+				resignPlies = 0;
+			}
+			drawPlies = score != Player.NO_SCORE && Math.abs(score) <= DRAW_SCORE
+					&& position.getFullmoveNumber() >= DRAW_MOVE_NUMBER ? drawPlies + 1 : 0;
+
+			sans[moveCount] = San.toSan(position, move, legalMoves);
+			moves[moveCount++] = move;
+			position.makeMove(move);
+
+			if (resignPlies >= 2 * RESIGN_MOVES) {
+				boolean whiteAhead = resignSign > 0;
+				finish(whiteAhead ? WHITE_WINS : BLACK_WINS, (whiteAhead ? "Black" : "White") + " resigns", true);
+				return;
+			}
+			if (drawPlies >= 2 * DRAW_MOVES) {
+				finish(DRAWN, "Draw by adjudication", true);
+				return;
+			}
+		}
+	}
+
+	public String getWhiteName() {
+		return whiteName;
+	}
+
+	public String getBlackName() {
+		return blackName;
+	}
+
+	/**
+	 * {@link #WHITE_WINS}, {@link #BLACK_WINS} or {@link #DRAWN}.
+	 */
+	public String getResult() {
+		return result;
+	}
+
+	/**
+	 * Score of the named player: 1 for a win, 0.5 for a draw and 0 for a loss.
+	 */
+	public double getScore(String playerName) {
+		if (result.equals(DRAWN)) {
+			return 0.5;
+		}
+		return result.equals(WHITE_WINS) == playerName.equals(whiteName) ? 1 : 0;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+	public int getMoveCount() {
+		return moveCount;
+	}
+
+	public String toPgn(String event) {
+		StringBuilder pgn = new StringBuilder(64 * 16 + moveCount * 8);
+		tag(pgn, "Event", event);
+		tag(pgn, "Site", "?");
+		tag(pgn, "Date", LocalDate.now().format(PGN_DATE));
+		tag(pgn, "Round", Integer.toString(round));
+		tag(pgn, "White", whiteName);
+		tag(pgn, "Black", blackName);
+		tag(pgn, "Result", result);
+		if (!startFen.equals(Fen.START_POSITION)) {
+			tag(pgn, "FEN", startFen);
+			tag(pgn, "SetUp", "1");
+		}
+		tag(pgn, "PlyCount", Integer.toString(moveCount));
+		tag(pgn, "Termination", adjudicated ? "adjudication" : "normal");
+		pgn.append('\n');
+
+		Position position = parse(startFen);
+		int fullmove = position.getFullmoveNumber();
+		boolean whiteToMove = position.getSideToMove() == PieceCode.WHITE;
+		int lineStart = pgn.length();
+		for (int i = 0; i < moveCount; i++) {
+			String token = whiteToMove ? fullmove + ". " + sans[i]
+					: i == 0 ? fullmove + "... " + sans[i] : sans[i];
+			lineStart = append(pgn, lineStart, token);
+			if (!whiteToMove) {
+				fullmove++;
+			}
+			whiteToMove = !whiteToMove;
+		}
+		lineStart = append(pgn, lineStart, "{" + reason + "}");
+		append(pgn, lineStart, result);
+		return pgn.append("\n\n").toString();
+	}
+
+	private void finish(String result, String reason, boolean adjudicated) {
+		this.result = result;
+		this.reason = reason;
+		this.adjudicated = adjudicated;
+	}
+
+	/**
+	 * Appends a movetext token, breaking the line before it would pass {@link #PGN_LINE_LENGTH} columns.
+	 *
+	 * @return the index where the current line starts
+	 */
+	private static int append(StringBuilder pgn, int lineStart, String token) {
+		if (pgn.length() > lineStart) {
+			if (pgn.length() - lineStart + 1 + token.length() > PGN_LINE_LENGTH) {
+				pgn.append('\n');
+				lineStart = pgn.length();
+			} else {
+				pgn.append(' ');
+			}
+		}
+		pgn.append(token);
+		return lineStart;
+	}
+
+	private static void tag(StringBuilder pgn, String name, String value) {
+		pgn.append('[').append(name).append(" \"")
+				.append(value.replace("\\", "\\\\").replace("\"", "\\\"")).append("\"]\n");
+	}
+
+	private static Position parse(String fen) {
+		try {
+			return Fen.parse(fen);
+		} catch (InvalidFenException e) {
+			throw new IllegalArgumentException("Invalid opening FEN " + fen + ": " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package chess.tournament;
+
+/**
+ * Wins, draws and losses of the first player of a match, with the Elo difference they imply and a sequential
+ * probability ratio test (SPRT) of whether the difference is at least {@code elo1} or at most {@code elo0}.
+ * <p>
+ * Game results are treated as independent draws from a trinomial distribution. The SPRT is the generalised
+ * form used by most engine testing frameworks: the log-likelihood ratio is approximated from the mean and
+ * variance of the observed scores, so draws narrow the test as they should. Elo bounds are logistic, the same
+ * scale as {@link #getElo()}.
+ */
+public class MatchStatistics {
+	/**
+	 * Normal quantile for a two-sided 95% interval.
+	 */
+	private static final double Z_95 = 1.959964;
+
+	private final double lowerBound;
+	private final double upperBound;
+	private final double score0;
+	private final double score1;
+	private final boolean sprt;
+	private int wins;
+	private int draws;
+	private int losses;
+
+	/**
+	 * Statistics without a test.
+	 */
+	public MatchStatistics() {
+		this.lowerBound = 0;
+		this.upperBound = 0;
+		this.score0 = 0;
+		this.score1 = 0;
+		this.sprt = false;
+	}
+
+	/**
+	 * @param alpha probability of accepting H1 (at least {@code elo1}) when H0 (at most {@code elo0}) holds
+	 * @param beta  probability of accepting H0 when H1 holds
+	 */
+	public MatchStatistics(double elo0, double elo1, double alpha, double beta) {
+		if (elo1 <= elo0) {
+			throw new IllegalArgumentException("elo1 must be greater than elo0");
+		}
+		this.lowerBound = Math.log(beta / (1 - alpha));
+		this.upperBound = Math.log((1 - beta) / alpha);
+		this.score0 = expectedScore(elo0);
+		this.score1 = expectedScore(elo1);
+		this.sprt = true;
+	}
+
+	/**
+	 * @param score 1 for a win, 0.5 for a draw and 0 for a loss
+	 */
+	public void add(double score) {
+		if (score > 0.5) {
+			wins++;
+		} else if (score < 0.5) {
+			losses++;
+		} else {
+			draws++;
+		}
+	}
+
+	public int getWins() {
+		return wins;
+	}
+
+	public int getDraws() {
+		return draws;
+	}
+
+	public int getLosses() {
+		return losses;
+	}
+
+	public int getGames() {
+		return wins + draws + losses;
+	}
+
+	/**
+	 * Mean score per game, between 0 and 1.
+	 */
+	public double getScore() {
+		int games = getGames();
+		return games == 0 ? 0.5 : (wins + 0.5 * draws) / games;
+	}
+
+	public double getElo() {
+		return elo(getScore());
+	}
+
+	/**
+	 * Half the width of the 95% confidence interval of {@link #getElo()}; infinite while the interval reaches a
+	 * score of 0 or 1.
+	 */
+	public double getEloError() {
+		int games = getGames();
+		if (games == 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		double error = Z_95 * Math.sqrt(variance() / games);
+		double score = getScore();
+		return (elo(Math.min(score + error, 1)) - elo(Math.max(score - error, 0))) / 2;
+	}
+
+	/**
+	 * Likelihood of superiority: the probability that the first player is the stronger, from wins and losses
+	 * alone.
+	 */
+	public double getLikelihoodOfSuperiority() {
+		if (wins + losses == 0) {
+			return 0.5;
+		}
+		return 0.5 * (1 + erf((wins - losses) / Math.sqrt(2.0 * (wins + losses))));
+	}
+
+	public boolean hasSprt() {
+		return sprt;
+	}
+
+	/**
+	 * Log-likelihood ratio of H1 against H0; zero while the scores have no variance.
+	 */
+	public double getLogLikelihoodRatio() {
+		int games = getGames();
+		double variance = variance();
+		if (games == 0 || variance <= 0) {
+			return 0;
+		}
+		return games * (score1 - score0) * (2 * getScore() - score0 - score1) / (2 * variance);
+	}
+
+	public double getLowerBound() {
+		return lowerBound;
+	}
+
+	public double getUpperBound() {
+		return upperBound;
+	}
+
+	/**
+	 * True once the SPRT has accepted either hypothesis.
+	 */
+	public boolean isSprtFinished() {
+		if (!sprt) {
+			return false;
+		}
+		double llr = getLogLikelihoodRatio();
+		return llr <= lowerBound || llr >= upperBound;
+	}
+
+	/**
+	 * "H1 accepted", "H0 accepted" or "running", or "none" without a test.
+	 */
+	public String getSprtStatus() {
+		if (!sprt) {
+			return "none";
+		}
+		double llr = getLogLikelihoodRatio();
+		return llr >= upperBound ? "H1 accepted" : llr <= lowerBound ? "H0 accepted" : "running";
+	}
+
+	private double variance() {
+		int games = getGames();
+		if (games == 0) {
+			return 0;
+		}
+		double score = getScore();
+		return (wins * (1 - score) * (1 - score) + draws * (0.5 - score) * (0.5 - score) + losses * score * score)
+				/ games;
+	}
+
+	static double expectedScore(double elo) {
+		return 1 / (1 + Math.pow(10, -elo / 400));
+	}
+
+	static double elo(double score) {
+		if (score <= 0) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		if (score >= 1) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return 400 * Math.log10(score / (1 - score));
+	}
+
+	/**
+	 * Error function, to within 1.5e-7 (Abramowitz and Stegun 7.1.26).
+	 */
+	private static double erf(double x) {
+		double t = 1 / (1 + 0.3275911 * Math.abs(x));
+		double y = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027
+				+ t * 1.061405429)))) * Math.exp(-x * x);
+		return x >= 0 ? y : -y;
+	}
+}
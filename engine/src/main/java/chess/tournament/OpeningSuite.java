@@ -0,0 +1,132 @@
+package chess.tournament;
+
+import chess.board.Fen;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import chess.pgn.PgnGame;
+import chess.pgn.PgnReader;
+import chess.pgn.PgnReplayer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Starting positions for a match, as FENs. Each opening is played twice with colours reversed, so an
+ * unbalanced opening favours neither player.
+ */
+public class OpeningSuite {
+	/**
+	 * Plies of each PGN game kept as its opening.
+	 */
+	public static final int DEFAULT_PGN_PLIES = 8;
+	private static final List<String> DEFAULT_OPENINGS = Collections.unmodifiableList(Arrays.asList(
+			"rnbqkbnr/pppp1ppp/8/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2",
+			"rnbqkbnr/pp1ppppp/8/2p5/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2",
+			"rnbqkbnr/pppp1ppp/4p3/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2",
+			"rnbqkbnr/pp1ppppp/2p5/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2",
+			"rnbqkbnr/ppp1pppp/8/3p4/2PP4/8/PP2PPPP/RNBQKBNR b KQkq - 0 2",
+			"rnbqkb1r/pppppp1p/5np1/8/2PP4/8/PP2PPPP/RNBQKBNR w KQkq - 0 3",
+			"rnbqkb1r/pppp1ppp/4pn2/8/2PP4/8/PP2PPPP/RNBQKBNR w KQkq - 0 3",
+			"rnbqkbnr/ppp1pppp/8/3p4/3P4/5N2/PPP1PPPP/RNBQKB1R b KQkq - 1 2",
+			"rnbqkbnr/pppp1ppp/8/4p3/2P5/8/PP1PPPPP/RNBQKBNR w KQkq - 0 2",
+			"rnbqkbnr/ppp1pppp/8/3p4/5P2/8/PPPPP1PP/RNBQKBNR w KQkq - 0 2",
+			"r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3",
+			"r1bqkbnr/pppp1ppp/2n5/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3",
+			"rnbqkbnr/pp2pppp/3p4/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 0 3",
+			"rnbqkbnr/ppp2ppp/4p3/3p4/3PP3/8/PPP2PPP/RNBQKBNR w KQkq - 0 3",
+			"rnbqkbnr/pp2pppp/2p5/3p4/2PP4/8/PP2PPPP/RNBQKBNR w KQkq - 0 3",
+			"rnbqkb1r/pppppppp/5n2/8/3P4/5N2/PPP1PPPP/RNBQKB1R b KQkq - 2 2"));
+
+	private final List<String> openings;
+
+	private OpeningSuite(List<String> openings) {
+		this.openings = openings;
+	}
+
+	/**
+	 * A small built-in set of common openings, enough to keep a short match from repeating itself.
+	 */
+	public static OpeningSuite defaults() {
+		return new OpeningSuite(DEFAULT_OPENINGS);
+	}
+
+	/**
+	 * Loads a {@code .pgn} file, keeping the first {@code pgnPlies} plies of each game, or otherwise a file
+	 * with one FEN or EPD position per line. Blank lines and lines starting with {@code #} are skipped.
+	 *
+	 * @throws InvalidFenException if a FEN or EPD line is invalid
+	 */
+	public static OpeningSuite load(Path path, int pgnPlies) throws IOException, InvalidFenException {
+		List<String> openings = path.toString().endsWith(".pgn") ? loadPgn(path, pgnPlies) : loadFens(path);
+		if (openings.isEmpty()) {
+			throw new IOException("No openings in " + path);
+		}
+		return new OpeningSuite(openings);
+	}
+
+	public int size() {
+		return openings.size();
+	}
+
+	/**
+	 * The opening for the game with that index; games {@code 2n} and {@code 2n + 1} share an opening.
+	 */
+	public String forGame(int game) {
+		return openings.get(game / 2 % openings.size());
+	}
+
+	private static List<String> loadFens(Path path) throws IOException, InvalidFenException {
+		List<String> openings = new ArrayList<>();
+		Position position = new Position();
+		for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] fields = line.split("\\s+");
+			if (fields.length < 4) {
+				throw new InvalidFenException("Not a FEN or EPD line: " + line);
+			}
+			// EPD has no move counters and may carry operations after the first four fields
+			String fen = fields.length >= 6 && isNumber(fields[4]) && isNumber(fields[5])
+					? String.join(" ", Arrays.copyOf(fields, 6))
+					: String.join(" ", Arrays.copyOf(fields, 4)) + " 0 1";
+			Fen.parse(fen, position);
+			openings.add(Fen.toFen(position));
+		}
+		return openings;
+	}
+
+	private static List<String> loadPgn(Path path, int pgnPlies) throws IOException, InvalidFenException {
+		List<String> openings = new ArrayList<>();
+		PgnReplayer replayer = new PgnReplayer();
+		Position position = new Position();
+		try (PgnReader reader = new PgnReader(path)) {
+			PgnGame game;
+			while ((game = reader.next()) != null) {
+				String fen = game.getTag("FEN");
+				Fen.parse(fen == null ? Fen.START_POSITION : fen, position);
+				if (!replayer.replay(game, (replayed, before, move) -> position.makeMove(move), pgnPlies)) {
+					throw new IOException("Game " + game.getNumber() + " of " + path + ": " + replayer.getError());
+				}
+				openings.add(Fen.toFen(position));
+			}
+		}
+		return openings;
+	}
+
+	private static boolean isNumber(String field) {
+		for (int i = 0; i < field.length(); i++) {
+			if (!Character.isDigit(field.charAt(i))) {
+				return false;
+			}
+		}
+		return !field.isEmpty();
+	}
+}
@@ -0,0 +1,32 @@
+package chess.tournament;
+
+import chess.board.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * An engine taking part in a match. One player plays one game at a time.
+ */
+public interface Player extends Closeable {
+	/**
+	 * Score reported by {@link #getLastScore()} when the engine gave none.
+	 */
+	int NO_SCORE = Integer.MIN_VALUE;
+
+	String getName();
+
+	void newGame() throws IOException;
+
+	/**
+	 * Chooses a move for {@code position}, which was reached from {@code startFen} by the first
+	 * {@code moveCount} entries of {@code moves}.
+	 */
+	int play(String startFen, int[] moves, int moveCount, Position position) throws IOException;
+
+	/**
+	 * Score of the last move chosen, in centipawns from the mover's point of view, with mates scored as in
+	 * {@link chess.engine.Search}; {@link #NO_SCORE} if unknown.
+	 */
+	int getLastScore();
+}
@@ -0,0 +1,139 @@
+package chess.tournament;
+
+import chess.engine.SearchLimits;
+import chess.engine.TranspositionTable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One side of a match, parsed from a spec such as {@code new:depth=7}, {@code big:nodes=50000,hash=64} or
+ * {@code old:cmd=java -cp old.jar chess.uci.Uci,nodes=50000}. The part before the colon names the player.
+ * <pre>
+ * depth=N      search N plies per move
+ * nodes=N      search N nodes per move (deterministic, the usual choice for testing)
+ * movetime=MS  search MS milliseconds per move
+ * hash=MB      transposition table size, default 16
+ * policy=P     transposition table replacement policy (in-process only)
+ * cmd=COMMAND  run a UCI engine process instead of this build, e.g. a jar built before a change
+ * </pre>
+ * Each concurrent game gets players of its own, so in-process players never share a table.
+ */
+public class PlayerConfig {
+	public static final int DEFAULT_HASH = 16;
+
+	private final String name;
+	private final int depth;
+	private final long nodes;
+	private final long moveTime;
+	private final int hash;
+	private final TranspositionTable.ReplacementPolicy policy;
+	private final List<String> command;
+
+	private PlayerConfig(String name, int depth, long nodes, long moveTime, int hash,
+						 TranspositionTable.ReplacementPolicy policy, List<String> command) {
+		this.name = name;
+		this.depth = depth;
+		this.nodes = nodes;
+		this.moveTime = moveTime;
+		this.hash = hash;
+		this.policy = policy;
+		this.command = command;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the spec is malformed or sets no limit per move
+	 */
+	public static PlayerConfig parse(String spec) {
+		int colon = spec.indexOf(':');
+		if (colon <= 0) {
+			throw new IllegalArgumentException("Expected name:key=value,... but got " + spec);
+		}
+		String name = spec.substring(0, colon);
+		int depth = 0;
+		long nodes = 0;
+		long moveTime = 0;
+		int hash = DEFAULT_HASH;
+		TranspositionTable.ReplacementPolicy policy = TranspositionTable.ReplacementPolicy.AGE_AND_DEPTH;
+		List<String> command = null;
+		for (String setting : spec.substring(colon + 1).split(",")) {
+			int equals = setting.indexOf('=');
+			if (equals <= 0) {
+				throw new IllegalArgumentException("Expected key=value but got " + setting);
+			}
+			String value = setting.substring(equals + 1).trim();
+			switch (setting.substring(0, equals).trim()) {
+				case "depth":
+					depth = Integer.parseInt(value);
+					break;
+				case "nodes":
+					nodes = Long.parseLong(value);
+					break;
+				case "movetime":
+					moveTime = Long.parseLong(value);
+					break;
+				case "hash":
+					hash = Integer.parseInt(value);
+					break;
+				case "policy":
+					policy = TranspositionTable.ReplacementPolicy.valueOf(value.toUpperCase());
+					break;
+				case "cmd":
+					command = Arrays.asList(value.split("\\s+"));
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown setting " + setting);
+			}
+		}
+		if (depth <= 0 && nodes <= 0 && moveTime <= 0) {
+			throw new IllegalArgumentException(name + " needs a depth, nodes or movetime limit");
+		}
+		return new PlayerConfig(name, depth, nodes, moveTime, hash, policy, command);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Player createPlayer() throws IOException {
+		return command == null ? new EnginePlayer(this) : new UciPlayer(this);
+	}
+
+	public SearchLimits createLimits() {
+		SearchLimits limits = new SearchLimits();
+		limits.setDepth(depth);
+		limits.setNodes(nodes);
+		limits.setMoveTime(moveTime);
+		return limits;
+	}
+
+	/**
+	 * The limits as the arguments of a UCI {@code go} command.
+	 */
+	public String toGoArguments() {
+		StringBuilder arguments = new StringBuilder();
+		if (depth > 0) {
+			arguments.append(" depth ").append(depth);
+		}
+		if (nodes > 0) {
+			arguments.append(" nodes ").append(nodes);
+		}
+		if (moveTime > 0) {
+			arguments.append(" movetime ").append(moveTime);
+		}
+		return arguments.toString().trim();
+	}
+
+	public int getHash() {
+		return hash;
+	}
+
+	public TranspositionTable.ReplacementPolicy getPolicy() {
+		return policy;
+	}
+
+	public List<String> getCommand() {
+		return command;
+	}
+}
@@ -0,0 +1,165 @@
+package chess.tournament;
+
+import chess.exceptions.InvalidFenException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays a match between two engine configurations, for deciding whether a change is an improvement. Games
+ * run concurrently, one per thread, each thread with players of its own; openings come in pairs with colours
+ * reversed. After every game the running result, Elo estimate and, when enabled, the SPRT are printed, and
+ * the match stops early once the SPRT accepts either hypothesis. Everything runs offline: in-process players
+ * use this build, and {@code cmd=} players run a UCI engine such as an older jar.
+ * <p>
+ * Elo and SPRT figures are from the point of view of the first player.
+ */
+public class Tournament {
+	public static final double SPRT_ALPHA = 0.05;
+	public static final double SPRT_BETA = 0.05;
+
+	private final PlayerConfig first;
+	private final PlayerConfig second;
+	private final OpeningSuite openings;
+	private final MatchStatistics statistics;
+	private final BufferedWriter pgn;
+	private final String event;
+	private final AtomicInteger nextGame;
+	private volatile boolean stopped;
+
+	public Tournament(PlayerConfig first, PlayerConfig second, OpeningSuite openings, MatchStatistics statistics,
+					  BufferedWriter pgn) {
+		if (first.getName().equals(second.getName())) {
+			throw new IllegalArgumentException("Players need different names");
+		}
+		this.first = first;
+		this.second = second;
+		this.openings = openings;
+		this.statistics = statistics;
+		this.pgn = pgn;
+		this.event = first.getName() + " vs " + second.getName();
+		this.nextGame = new AtomicInteger();
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException, InvalidFenException {
+		if (args.length < 2) {
+			System.out.println("Usage: Tournament <name:settings> <name:settings> [games=1000] [threads] "
+					+ "[openings.epd|openings.pgn|-] [games.pgn|-] [sprt elo0,elo1|-]");
+			System.out.println("Settings: depth=N nodes=N movetime=MS hash=MB policy=P cmd=COMMAND");
+			return;
+		}
+		PlayerConfig first = PlayerConfig.parse(args[0]);
+		PlayerConfig second = PlayerConfig.parse(args[1]);
+		int games = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		OpeningSuite openings = args.length > 4 && !args[4].equals("-")
+				? OpeningSuite.load(Paths.get(args[4]), OpeningSuite.DEFAULT_PGN_PLIES) : OpeningSuite.defaults();
+		MatchStatistics statistics = new MatchStatistics();
+		if (args.length > 6 && !args[6].equals("-")) {
+			String[] bounds = args[6].split(",");
+			statistics = new MatchStatistics(Double.parseDouble(bounds[0]), Double.parseDouble(bounds[1]),
+					SPRT_ALPHA, SPRT_BETA);
+		}
+		BufferedWriter pgn = args.length > 5 && !args[5].equals("-")
+				? Files.newBufferedWriter(Paths.get(args[5]), StandardCharsets.UTF_8) : null;
+		System.out.printf("%s vs %s: %d games, %d threads, %d openings%n", first.getName(), second.getName(),
+				games, threads, openings.size());
+		long start = System.nanoTime();
+		try {
+			new Tournament(first, second, openings, statistics, pgn).run(games, threads);
+		} finally {
+			if (pgn != null) {
+				pgn.close();
+			}
+		}
+		long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		System.out.printf("Finished %d games in %d ms%n%s%n", statistics.getGames(), elapsedMillis,
+				summary(first.getName(), second.getName(), statistics));
+	}
+
+	/**
+	 * Plays up to {@code games} games on {@code threads} threads, fewer if the SPRT finishes first.
+	 *
+	 * @throws IOException if a player fails or the PGN cannot be written
+	 */
+	public void run(int games, int threads) throws IOException, InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<?>> workers = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			workers.add(pool.submit(() -> {
+				try (Player firstPlayer = first.createPlayer(); Player secondPlayer = second.createPlayer()) {
+					int game;
+					while (!stopped && (game = nextGame.getAndIncrement()) < games) {
+						MatchGame match = new MatchGame(game + 1, openings.forGame(game));
+						if (game % 2 == 0) {
+							match.play(firstPlayer, secondPlayer);
+						} else {
+							match.play(secondPlayer, firstPlayer);
+						}
+						record(match);
+					}
+				} catch (IOException e) {
+					stopped = true;
+					throw new UncheckedIOException(e);
+				}
+			}));
+		}
+		pool.shutdown();
+		try {
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		} catch (ExecutionException e) {
+			stopped = true;
+			pool.shutdownNow();
+			Throwable cause = e.getCause();
+			if (cause instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+
+	public MatchStatistics getStatistics() {
+		return statistics;
+	}
+
+	private synchronized void record(MatchGame game) throws IOException {
+		statistics.add(game.getScore(first.getName()));
+		if (pgn != null) {
+			pgn.write(game.toPgn(event));
+			pgn.flush();
+		}
+		System.out.printf("Game %d: %s vs %s %s {%s}  %s%n", statistics.getGames(), game.getWhiteName(),
+				game.getBlackName(), game.getResult(), game.getReason(),
+				summary(first.getName(), second.getName(), statistics));
+		if (statistics.isSprtFinished()) {
+			stopped = true;
+		}
+	}
+
+	private static String summary(String firstName, String secondName, MatchStatistics statistics) {
+		StringBuilder summary = new StringBuilder(String.format(
+				"Score of %s vs %s: %d - %d - %d [%.3f]  Elo: %+.1f +/- %.1f  LOS: %.1f%%",
+				firstName, secondName, statistics.getWins(), statistics.getLosses(), statistics.getDraws(),
+				statistics.getScore(), statistics.getElo(), statistics.getEloError(),
+				100 * statistics.getLikelihoodOfSuperiority()));
+		if (statistics.hasSprt()) {
+			summary.append(String.format("  LLR: %.2f (%.2f, %.2f) %s", statistics.getLogLikelihoodRatio(),
+					statistics.getLowerBound(), statistics.getUpperBound(), statistics.getSprtStatus()));
+		}
+		return summary.toString();
+	}
+}
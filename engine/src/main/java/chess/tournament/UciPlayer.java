@@ -0,0 +1,150 @@
+package chess.tournament;
+
+import chess.board.Move;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.Position;
+import chess.engine.Search;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays through an external UCI engine process, typically {@code chess.uci.Uci} from an older build, so a
+ * change can be measured against the code it replaced. The process runs one game at a time and is told the
+ * whole game before every move.
+ */
+public class UciPlayer implements Player {
+	private final String name;
+	private final String goCommand;
+	private final Process process;
+	private final PrintStream in;
+	private final BufferedReader out;
+	private final MoveList moves;
+	private int lastScore;
+
+	public UciPlayer(PlayerConfig config) throws IOException {
+		this.name = config.getName();
+		this.goCommand = "go " + config.toGoArguments();
+		this.process = new ProcessBuilder(config.getCommand())
+				.redirectError(ProcessBuilder.Redirect.INHERIT)
+				.start();
+		this.in = new PrintStream(process.getOutputStream(), true, StandardCharsets.UTF_8.name());
+		this.out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+		this.moves = new MoveList();
+		this.lastScore = NO_SCORE;
+		send("uci");
+		waitFor("uciok");
+		send("setoption name Hash value " + config.getHash());
+		send("setoption name Threads value 1");
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void newGame() throws IOException {
+		send("ucinewgame");
+		send("isready");
+		waitFor("readyok");
+		lastScore = NO_SCORE;
+	}
+
+	@Override
+	public int play(String startFen, int[] moves, int moveCount, Position position) throws IOException {
+		StringBuilder command = new StringBuilder("position fen ").append(startFen);
+		if (moveCount > 0) {
+			command.append(" moves");
+			for (int i = 0; i < moveCount; i++) {
+				command.append(' ').append(Move.toUci(moves[i]));
+			}
+		}
+		send(command.toString());
+		send(goCommand);
+		lastScore = NO_SCORE;
+		String line;
+		while ((line = readLine()) != null) {
+			String[] tokens = line.split("\\s+");
+			if (tokens[0].equals("info")) {
+				parseScore(tokens);
+			} else if (tokens[0].equals("bestmove")) {
+				int move = tokens.length > 1 ? parseMove(position, tokens[1]) : Move.NONE;
+				if (move == Move.NONE) {
+					throw new IOException(name + " played an illegal move: " + line);
+				}
+				return move;
+			}
+		}
+		throw new IOException(name + " exited during a search");
+	}
+
+	@Override
+	public int getLastScore() {
+		return lastScore;
+	}
+
+	@Override
+	public void close() throws IOException {
+		send("quit");
+		try {
+			if (!process.waitFor(1, TimeUnit.SECONDS)) {
+				process.destroy();
+			}
+		} catch (InterruptedException e) {
+			process.destroy();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void parseScore(String[] tokens) {
+		for (int i = 1; i + 2 < tokens.length; i++) {
+			if (tokens[i].equals("score")) {
+				try {
+					int value = Integer.parseInt(tokens[i + 2]);
+					if (tokens[i + 1].equals("cp")) {
+						lastScore = value;
+					} else if (tokens[i + 1].equals("mate")) {
+						lastScore = value > 0 ? Search.MATE - 2 * value + 1 : -Search.MATE - 2 * value;
+					}
+				} catch (NumberFormatException ignored) {
+				}
+				return;
+			}
+		}
+	}
+
+	private int parseMove(Position position, String notation) {
+		MoveGenerator.generateLegalMoves(position, moves);
+		for (int i = 0; i < moves.size(); i++) {
+			if (Move.toUci(moves.get(i)).equals(notation)) {
+				return moves.get(i);
+			}
+		}
+		return Move.NONE;
+	}
+
+	private void waitFor(String response) throws IOException {
+		String line;
+		while ((line = readLine()) != null) {
+			if (line.trim().equals(response)) {
+				return;
+			}
+		}
+		throw new IOException(name + " exited before " + response);
+	}
+
+	private String readLine() throws IOException {
+		String line = out.readLine();
+		return line == null ? null : line.trim();
+	}
+
+	private void send(String command) {
+		in.println(command);
+	}
+}
@@ -0,0 +1,279 @@
+package chess.uci;
+
+import chess.board.*;
+import chess.book.OpeningBook;
+import chess.engine.ParallelSearch;
+import chess.engine.SearchInfo;
+import chess.engine.SearchLimits;
+import chess.engine.TranspositionTable;
+import chess.exceptions.InvalidFenException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+public class Uci {
+	private static final int DEFAULT_HASH = 16;
+	private static final int MAX_HASH = TranspositionTable.MAX_MEGABYTES;
+	private static final int MAX_THREADS = 512;
+	private final PrintStream out;
+	private final TranspositionTable transpositionTable;
+	private final ParallelSearch search;
+	private final Random bookRandom;
+	private Position position;
+	private OpeningBook book;
+
+	public Uci(PrintStream out) {
+		this.out = out;
+		this.transpositionTable = new TranspositionTable(DEFAULT_HASH);
+		this.search = new ParallelSearch(transpositionTable, 1);
+		this.bookRandom = new Random();
+		this.position = startPosition();
+	}
+
+	public static void main(String[] args) throws IOException {
+		Uci uci = new Uci(new PrintStream(System.out, true));
+		BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (!uci.execute(line.trim())) {
+				break;
+			}
+		}
+		uci.search.shutdown();
+		uci.closeBook();
+	}
+
+	public boolean execute(String line) {
+		String[] tokens = line.split("\\s+");
+		switch (tokens[0]) {
+			case "uci":
+				send("id name Chess");
+				send("id author osmosis");
+				send("option name Hash type spin default " + DEFAULT_HASH + " min 1 max " + MAX_HASH);
+				send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+				send("option name Book type string default <empty>");
+				send("uciok");
+				break;
+			case "isready":
+				send("readyok");
+				break;
+			case "ucinewgame":
+				search.stopAndWait();
+				transpositionTable.clear();
+				position = startPosition();
+				break;
+			case "setoption":
+				setOption(tokens);
+				break;
+			case "position":
+				setPosition(tokens);
+				break;
+			case "go":
+				try {
+					go(tokens);
+				} catch (NumberFormatException e) {
+					send("info string Invalid go parameter: " + e.getMessage());
+				}
+				break;
+			case "stop":
+				search.stop();
+				break;
+			case "quit":
+				search.stop();
+				return false;
+			default:
+				break;
+		}
+		return true;
+	}
+
+	private void setOption(String[] tokens) {
+		String name = null;
+		String value = null;
+		for (int i = 1; i < tokens.length - 1; i++) {
+			if (tokens[i].equals("name")) {
+				name = tokens[i + 1];
+			} else if (tokens[i].equals("value")) {
+				value = String.join(" ", Arrays.copyOfRange(tokens, i + 1, tokens.length));
+				break;
+			}
+		}
+		if (name == null || value == null) {
+			return;
+		}
+		try {
+			if (name.equalsIgnoreCase("Hash")) {
+				int megabytes = clamp(Integer.parseInt(value), 1, MAX_HASH);
+				search.stopAndWait();
+				try {
+					transpositionTable.resize(megabytes);
+				} catch (OutOfMemoryError e) {
+					send("info string Not enough memory for a " + megabytes + " MB hash table, keeping the old one");
+				}
+			} else if (name.equalsIgnoreCase("Threads")) {
+				search.setThreadCount(clamp(Integer.parseInt(value), 1, MAX_THREADS));
+			} else if (name.equalsIgnoreCase("Book")) {
+				openBook(value);
+			}
+		} catch (IllegalArgumentException e) {
+			send("info string Invalid value for " + name + ": " + value);
+		}
+	}
+
+	private void setPosition(String[] tokens) {
+		int index = 1;
+		Position newPosition;
+		try {
+			if (tokens.length > 1 && tokens[1].equals("startpos")) {
+				newPosition = startPosition();
+				index = 2;
+			} else if (tokens.length > 2 && tokens[1].equals("fen")) {
+				StringBuilder fen = new StringBuilder(tokens[2]);
+				for (index = 3; index < tokens.length && !tokens[index].equals("moves"); index++) {
+					fen.append(' ').append(tokens[index]);
+				}
+				newPosition = Position.fromFen(fen.toString());
+			} else {
+				return;
+			}
+		} catch (InvalidFenException e) {
+			send("info string " + e.getMessage());
+			return;
+		}
+		if (index < tokens.length && tokens[index].equals("moves")) {
+			MoveList moves = new MoveList();
+			for (index++; index < tokens.length; index++) {
+				int move = parseMove(newPosition, tokens[index], moves);
+				if (move == Move.NONE) {
+					send("info string Illegal move " + tokens[index]);
+					return;
+				}
+				newPosition.makeMove(move);
+			}
+		}
+		position = newPosition;
+	}
+
+	private void go(String[] tokens) {
+		SearchLimits limits = new SearchLimits();
+		for (int i = 1; i < tokens.length; i++) {
+			String value = i + 1 < tokens.length ? tokens[i + 1] : "0";
+			switch (tokens[i]) {
+				case "depth":
+					limits.setDepth(Integer.parseInt(value));
+					break;
+				case "movetime":
+					limits.setMoveTime(Long.parseLong(value));
+					break;
+				case "wtime":
+					limits.setWhiteTime(Long.parseLong(value));
+					break;
+				case "btime":
+					limits.setBlackTime(Long.parseLong(value));
+					break;
+				case "winc":
+					limits.setWhiteIncrement(Long.parseLong(value));
+					break;
+				case "binc":
+					limits.setBlackIncrement(Long.parseLong(value));
+					break;
+				case "movestogo":
+					limits.setMovesToGo(Integer.parseInt(value));
+					break;
+				case "nodes":
+					limits.setNodes(Long.parseLong(value));
+					break;
+				case "infinite":
+					limits.setInfinite(true);
+					continue;
+				default:
+					continue;
+			}
+			i++;
+		}
+		if (book != null && !limits.isInfinite()) {
+			int move = book.randomMove(position, new MoveList(), bookRandom);
+			if (move != Move.NONE) {
+				send("info string book move");
+				send("bestmove " + Move.toUci(move));
+				return;
+			}
+		}
+		search.start(position, limits, info -> send(formatInfo(info)))
+				.thenAccept(result -> send("bestmove " + (result.getBestMove() == Move.NONE
+						? "0000" : Move.toUci(result.getBestMove()))));
+	}
+
+	private void openBook(String path) {
+		closeBook();
+		if (path.isEmpty() || path.equals("<empty>")) {
+			return;
+		}
+		try {
+			book = new OpeningBook(Paths.get(path));
+			send("info string Loaded book with " + book.size() + " entries");
+		} catch (IOException e) {
+			send("info string Could not open book " + path + ": " + e.getMessage());
+		}
+	}
+
+	private void closeBook() {
+		if (book == null) {
+			return;
+		}
+		try {
+			book.close();
+		} catch (IOException ignored) {
+		}
+		book = null;
+	}
+
+	private String formatInfo(SearchInfo info) {
+		StringBuilder line = new StringBuilder("info depth ").append(info.getDepth());
+		if (info.isMate()) {
+			line.append(" score mate ").append(info.getMateIn());
+		} else {
+			line.append(" score cp ").append(info.getScore());
+		}
+		line.append(" nodes ").append(info.getNodes())
+				.append(" nps ").append(info.getNodesPerSecond())
+				.append(" time ").append(info.getTimeMillis())
+				.append(" hashfull ").append(info.getHashfull());
+		line.append(" pv");
+		for (int move : info.getPrincipalVariation()) {
+			line.append(' ').append(Move.toUci(move));
+		}
+		return line.toString();
+	}
+
+	private static int parseMove(Position position, String notation, MoveList moves) {
+		MoveGenerator.generateLegalMoves(position, moves);
+		for (int i = 0; i < moves.size(); i++) {
+			if (Move.toUci(moves.get(i)).equals(notation)) {
+				return moves.get(i);
+			}
+		}
+		return Move.NONE;
+	}
+
+	private static Position startPosition() {
+		try {
+			return Position.fromFen(Fen.START_POSITION);
+		} catch (InvalidFenException e) {
+			throw new RuntimeException("Internal new-game FEN is invalid or is not being parsed correctly");
+		}
+	}
+
+	private static int clamp(int value, int min, int max) {
+		return Math.max(min, Math.min(max, value));
+	}
+
+	private synchronized void send(String line) {
+		out.println(line);
+	}
+}
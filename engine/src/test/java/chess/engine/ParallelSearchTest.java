@@ -0,0 +1,91 @@
+package chess.engine;
+
+import chess.board.Fen;
+import chess.board.Move;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelSearchTest {
+	private static final String MATE_IN_TWO = "k7/8/2K5/8/8/8/8/7R w - - 0 1";
+
+	@Test
+	public void helpersAgreeOnTheMate() throws InvalidFenException {
+		ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 4);
+		try {
+			SearchResult result = search.search(Fen.parse(MATE_IN_TWO), SearchLimits.depth(6), null);
+			assertTrue(result.getInfo().isMate());
+			assertEquals(2, result.getInfo().getMateIn());
+			// Helpers count towards the reported nodes
+			assertEquals(search.getNodes(), result.getNodes());
+		} finally {
+			search.shutdown();
+		}
+	}
+
+	@Test
+	public void stopEndsAnInfiniteSearch() throws Exception {
+		ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 2);
+		try {
+			CompletableFuture<SearchResult> result = search.start(Fen.parse(Fen.START_POSITION), infinite(), null);
+			Thread.sleep(50);
+			search.stop();
+			assertTrue(result.get(5, TimeUnit.SECONDS).getBestMove() != Move.NONE);
+		} finally {
+			search.shutdown();
+		}
+	}
+
+	@Test
+	public void stopReachesASearchQueuedBehindAnother() throws Exception {
+		ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 2);
+		try {
+			Position position = Fen.parse(Fen.START_POSITION);
+			CompletableFuture<SearchResult> first = search.start(position, infinite(), null);
+			CompletableFuture<SearchResult> second = search.start(position, infinite(), null);
+			search.stop();
+			second.get(5, TimeUnit.SECONDS);
+			assertTrue(first.isDone());
+		} finally {
+			search.shutdown();
+		}
+	}
+
+	@Test
+	public void stopAndWaitReturnsOnceTheWorkersHave() throws Exception {
+		ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 2);
+		try {
+			CompletableFuture<SearchResult> result = search.start(Fen.parse(Fen.START_POSITION), infinite(), null);
+			search.stopAndWait();
+			assertTrue(result.isDone());
+			search.getTranspositionTable().resize(8);
+			search.setThreadCount(3);
+			SearchResult next = search.search(Fen.parse(MATE_IN_TWO), SearchLimits.depth(6), null);
+			assertEquals(2, next.getInfo().getMateIn());
+			assertEquals(3, search.getThreadCount());
+		} finally {
+			search.shutdown();
+		}
+	}
+
+	@Test
+	public void benchmarkCountsDoublingThenTheMaximum() {
+		assertEquals(Arrays.asList(1), SmpBenchmark.threadCounts(1));
+		assertEquals(Arrays.asList(1, 2, 4), SmpBenchmark.threadCounts(4));
+		assertEquals(Arrays.asList(1, 2, 4, 6), SmpBenchmark.threadCounts(6));
+		assertEquals(Arrays.asList(1, 2, 4, 8, 9), SmpBenchmark.threadCounts(9));
+	}
+
+	private static SearchLimits infinite() {
+		SearchLimits limits = new SearchLimits();
+		limits.setInfinite(true);
+		return limits;
+	}
+}
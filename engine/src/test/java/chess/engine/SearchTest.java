@@ -0,0 +1,71 @@
+package chess.engine;
+
+import chess.board.Fen;
+import chess.board.Move;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchTest {
+	@Test
+	public void findsMateInOne() throws InvalidFenException {
+		SearchResult result = search("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", SearchLimits.depth(4));
+		assertEquals("a1a8", Move.toUci(result.getBestMove()));
+		assertTrue(result.getInfo().isMate());
+		assertEquals(1, result.getInfo().getMateIn());
+	}
+
+	@Test
+	public void findsMateInTwo() throws InvalidFenException {
+		SearchResult result = search("k7/8/2K5/8/8/8/8/7R w - - 0 1", SearchLimits.depth(6));
+		assertTrue(result.getInfo().isMate());
+		assertEquals(2, result.getInfo().getMateIn());
+	}
+
+	@Test
+	public void reportsBeingMated() throws InvalidFenException {
+		// Kb8 is forced, then Rh8#
+		SearchResult result = search("k7/8/1K6/8/8/8/8/7R b - - 0 1", SearchLimits.depth(5));
+		assertEquals("a8b8", Move.toUci(result.getBestMove()));
+		assertTrue(result.getInfo().isMate());
+		assertEquals(-1, result.getInfo().getMateIn());
+	}
+
+	@Test
+	public void takesTheHangingQueen() throws InvalidFenException {
+		SearchResult result = search("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1", SearchLimits.depth(4));
+		assertEquals("d1d5", Move.toUci(result.getBestMove()));
+	}
+
+	@Test
+	public void stopsAtTheRequestedDepth() throws InvalidFenException {
+		SearchResult result = search(Fen.START_POSITION, SearchLimits.depth(5));
+		assertEquals(5, result.getDepth());
+		assertTrue(result.getTimeToDepth(5) >= 0);
+		assertTrue(result.getBestMove() != Move.NONE);
+	}
+
+	@Test
+	public void stopsWithinTheMoveTime() throws InvalidFenException {
+		long start = System.nanoTime();
+		SearchResult result = search(Fen.START_POSITION, SearchLimits.moveTime(200));
+		long elapsed = (System.nanoTime() - start) / 1_000_000;
+		assertTrue(result.getBestMove() != Move.NONE);
+		// Generous, but catches a search that ignores the limit
+		assertTrue("took " + elapsed + " ms", elapsed < 2000);
+	}
+
+	@Test
+	public void stalemateHasNoMove() throws InvalidFenException {
+		SearchResult result = search("k7/2Q5/1K6/8/8/8/8/8 b - - 0 1", SearchLimits.depth(3));
+		assertEquals(Move.NONE, result.getBestMove());
+	}
+
+	private static SearchResult search(String fen, SearchLimits limits) throws InvalidFenException {
+		Position position = Fen.parse(fen);
+		return new Search(new TranspositionTable(4)).search(position, limits);
+	}
+}
@@ -0,0 +1,53 @@
+package chess.engine;
+
+import chess.board.PieceCode;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TimeManagerTest {
+	@Test
+	public void moveTimeIsBothLimits() {
+		TimeManager timeManager = start(SearchLimits.moveTime(500), PieceCode.WHITE);
+		assertEquals(500, timeManager.getSoftLimit());
+		assertEquals(500, timeManager.getHardLimit());
+	}
+
+	@Test
+	public void clockIsSharedOverTheRemainingMoves() {
+		SearchLimits limits = new SearchLimits();
+		limits.setWhiteTime(60_000);
+		limits.setBlackTime(10_000);
+		limits.setBlackIncrement(1_000);
+		// 20 ms of overhead, then a thirtieth of the rest and three quarters of the increment
+		TimeManager white = start(limits, PieceCode.WHITE);
+		assertEquals(59_980 / 30, white.getSoftLimit());
+		assertEquals(59_980 / 30 * 4, white.getHardLimit());
+		TimeManager black = start(limits, PieceCode.BLACK);
+		assertEquals(9_980 / 30 + 750, black.getSoftLimit());
+		assertEquals((9_980 / 30 + 750) * 4, black.getHardLimit());
+	}
+
+	@Test
+	public void lastMoveBeforeTheControlMayUseTheWholeClock() {
+		SearchLimits limits = new SearchLimits();
+		limits.setWhiteTime(1_000);
+		limits.setMovesToGo(1);
+		TimeManager timeManager = start(limits, PieceCode.WHITE);
+		assertEquals(980, timeManager.getSoftLimit());
+		assertEquals(980, timeManager.getHardLimit());
+	}
+
+	@Test
+	public void noClockMeansNoLimit() {
+		TimeManager timeManager = start(SearchLimits.depth(10), PieceCode.WHITE);
+		assertEquals(Long.MAX_VALUE, timeManager.getSoftLimit());
+		assertEquals(Long.MAX_VALUE, timeManager.getHardLimit());
+	}
+
+	private static TimeManager start(SearchLimits limits, int sideToMove) {
+		TimeManager timeManager = new TimeManager();
+		timeManager.start(limits, sideToMove);
+		return timeManager;
+	}
+}
@@ -0,0 +1,84 @@
+package chess.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TranspositionTableTest {
+	private static final long KEY = 0x9D39247E33776D41L;
+	// Same slot as KEY in any table smaller than 2^40 entries
+	private static final long OTHER_KEY = KEY ^ 1L << 40;
+
+	@Test
+	public void storedEntryReadsBack() {
+		TranspositionTable table = new TranspositionTable(1);
+		table.store(KEY, 0x1234, -517, 9, TranspositionTable.BOUND_LOWER);
+		long data = table.probe(KEY);
+		assertEquals(0x1234, TranspositionTable.move(data));
+		assertEquals(-517, TranspositionTable.score(data));
+		assertEquals(9, TranspositionTable.depth(data));
+		assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.bound(data));
+	}
+
+	@Test
+	public void otherKeyInTheSameSlotMisses() {
+		TranspositionTable table = new TranspositionTable(1);
+		table.store(KEY, 0x1234, 10, 5, TranspositionTable.BOUND_EXACT);
+		assertEquals(TranspositionTable.MISS, table.probe(OTHER_KEY));
+	}
+
+	@Test
+	public void storeWithoutMoveKeepsTheKnownMove() {
+		TranspositionTable table = new TranspositionTable(1);
+		table.store(KEY, 0x1234, 10, 5, TranspositionTable.BOUND_EXACT);
+		table.store(KEY, 0, -20, 6, TranspositionTable.BOUND_UPPER);
+		long data = table.probe(KEY);
+		assertEquals(0x1234, TranspositionTable.move(data));
+		assertEquals(-20, TranspositionTable.score(data));
+	}
+
+	@Test
+	public void depthPreferredKeepsTheDeeperEntry() {
+		TranspositionTable table = new TranspositionTable(1, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+		table.store(KEY, 0x1234, 10, 8, TranspositionTable.BOUND_EXACT);
+		table.store(OTHER_KEY, 0x4321, 10, 3, TranspositionTable.BOUND_EXACT);
+		assertEquals(8, TranspositionTable.depth(table.probe(KEY)));
+		assertEquals(TranspositionTable.MISS, table.probe(OTHER_KEY));
+	}
+
+	@Test
+	public void ageAndDepthReplacesEntriesOfEarlierSearches() {
+		TranspositionTable table = new TranspositionTable(1);
+		table.store(KEY, 0x1234, 10, 8, TranspositionTable.BOUND_EXACT);
+		table.store(OTHER_KEY, 0x4321, 10, 3, TranspositionTable.BOUND_EXACT);
+		assertEquals(TranspositionTable.MISS, table.probe(OTHER_KEY));
+		table.newSearch();
+		table.store(OTHER_KEY, 0x4321, 10, 3, TranspositionTable.BOUND_EXACT);
+		assertEquals(3, TranspositionTable.depth(table.probe(OTHER_KEY)));
+		assertEquals(TranspositionTable.MISS, table.probe(KEY));
+	}
+
+	@Test
+	public void clearAndResizeEmptyTheTable() {
+		TranspositionTable table = new TranspositionTable(1);
+		table.store(KEY, 0x1234, 10, 8, TranspositionTable.BOUND_EXACT);
+		table.clear();
+		assertEquals(TranspositionTable.MISS, table.probe(KEY));
+		table.store(KEY, 0x1234, 10, 8, TranspositionTable.BOUND_EXACT);
+		table.resize(2);
+		assertEquals(TranspositionTable.MISS, table.probe(KEY));
+	}
+
+	@Test
+	public void hashfullCountsEntriesOfThisSearch() {
+		TranspositionTable table = new TranspositionTable(1);
+		assertEquals(0, table.hashfull());
+		// hashfull samples the first thousand slots, which keys 0 to 999 fill
+		for (long slot = 0; slot < 1000; slot++) {
+			table.store(slot, 1, 0, 1, TranspositionTable.BOUND_EXACT);
+		}
+		assertEquals(1000, table.hashfull());
+		table.newSearch();
+		assertEquals(0, table.hashfull());
+	}
+}
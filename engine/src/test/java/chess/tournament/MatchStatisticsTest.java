@@ -0,0 +1,88 @@
+package chess.tournament;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MatchStatisticsTest {
+	private static final double DELTA = 1e-6;
+
+	@Test
+	public void eloAndScoreAreInverse() {
+		assertEquals(0.5, MatchStatistics.expectedScore(0), DELTA);
+		assertEquals(10.0 / 11, MatchStatistics.expectedScore(400), DELTA);
+		assertEquals(190.848502, MatchStatistics.elo(0.75), DELTA);
+		assertEquals(-100, MatchStatistics.elo(MatchStatistics.expectedScore(-100)), DELTA);
+		assertEquals(Double.POSITIVE_INFINITY, MatchStatistics.elo(1), 0);
+	}
+
+	@Test
+	public void eloFollowsTheMatchScore() {
+		MatchStatistics statistics = add(new MatchStatistics(), 10, 10, 0);
+		assertEquals(20, statistics.getGames());
+		assertEquals(0.75, statistics.getScore(), DELTA);
+		assertEquals(190.848502, statistics.getElo(), DELTA);
+		assertTrue(statistics.getEloError() > 0);
+	}
+
+	@Test
+	public void likelihoodOfSuperiorityIgnoresDraws() {
+		assertEquals(0.5, add(new MatchStatistics(), 7, 30, 7).getLikelihoodOfSuperiority(), DELTA);
+		assertTrue(add(new MatchStatistics(), 30, 0, 10).getLikelihoodOfSuperiority() > 0.99);
+	}
+
+	@Test
+	public void logLikelihoodRatioOfATrinomialSample() {
+		MatchStatistics statistics = add(new MatchStatistics(0, 10, 0.05, 0.05), 60, 100, 40);
+		// score 0.55 and variance 0.1225 against expected scores 0.5 and 0.514387
+		assertEquals(1.005492, statistics.getLogLikelihoodRatio(), DELTA);
+		assertEquals(-2.944439, statistics.getLowerBound(), DELTA);
+		assertEquals(2.944439, statistics.getUpperBound(), DELTA);
+		assertFalse(statistics.isSprtFinished());
+		assertEquals("running", statistics.getSprtStatus());
+	}
+
+	@Test
+	public void sprtAcceptsEitherHypothesis() {
+		MatchStatistics stronger = add(new MatchStatistics(0, 10, 0.05, 0.05), 600, 1000, 400);
+		assertTrue(stronger.isSprtFinished());
+		assertEquals("H1 accepted", stronger.getSprtStatus());
+		MatchStatistics weaker = add(new MatchStatistics(0, 10, 0.05, 0.05), 400, 1000, 600);
+		assertTrue(weaker.isSprtFinished());
+		assertEquals("H0 accepted", weaker.getSprtStatus());
+	}
+
+	@Test
+	public void noSprtWithoutBounds() {
+		MatchStatistics statistics = add(new MatchStatistics(), 100, 0, 0);
+		assertFalse(statistics.hasSprt());
+		assertFalse(statistics.isSprtFinished());
+		assertEquals("none", statistics.getSprtStatus());
+	}
+
+	@Test
+	public void rejectsEmptyHypothesisInterval() {
+		try {
+			new MatchStatistics(5, 5, 0.05, 0.05);
+			fail("Accepted elo1 == elo0");
+		} catch (IllegalArgumentException expected) {
+			// expected
+		}
+	}
+
+	private static MatchStatistics add(MatchStatistics statistics, int wins, int draws, int losses) {
+		for (int i = 0; i < wins; i++) {
+			statistics.add(1);
+		}
+		for (int i = 0; i < draws; i++) {
+			statistics.add(0.5);
+		}
+		for (int i = 0; i < losses; i++) {
+			statistics.add(0);
+		}
+		return statistics;
+	}
+}
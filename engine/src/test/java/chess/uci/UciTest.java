@@ -0,0 +1,115 @@
+package chess.uci;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class UciTest {
+	private static final long TIMEOUT_MILLIS = 10_000;
+
+	private ByteArrayOutputStream output;
+	private Uci uci;
+
+	@Before
+	public void setUp() throws UnsupportedEncodingException {
+		output = new ByteArrayOutputStream();
+		uci = new Uci(new PrintStream(output, true, "UTF-8"));
+	}
+
+	@After
+	public void tearDown() {
+		uci.execute("quit");
+	}
+
+	@Test
+	public void handshake() {
+		uci.execute("uci");
+		assertTrue(output().contains("option name Hash type spin"));
+		assertTrue(output().endsWith("uciok\n"));
+		uci.execute("isready");
+		assertTrue(output().endsWith("readyok\n"));
+	}
+
+	@Test
+	public void playsTheMateFromAFen() {
+		uci.execute("position fen 6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+		uci.execute("go depth 4");
+		assertTrue(awaitBestMove().contains("bestmove a1a8"));
+		assertTrue(output().contains("score mate 1"));
+	}
+
+	@Test
+	public void appliesTheMovesAfterThePosition() {
+		// After 1.f3 e5 2.g4 only Qh4 mates
+		uci.execute("position startpos moves f2f3 e7e5 g2g4");
+		uci.execute("go depth 3");
+		assertTrue(awaitBestMove().contains("bestmove d8h4"));
+	}
+
+	@Test
+	public void stopEndsAnInfiniteSearch() throws InterruptedException {
+		uci.execute("position startpos");
+		uci.execute("go infinite");
+		Thread.sleep(50);
+		assertFalse(output().contains("bestmove"));
+		uci.execute("stop");
+		assertTrue(awaitBestMove().contains("bestmove "));
+	}
+
+	@Test
+	public void reportsBadInput() {
+		uci.execute("position startpos moves e2e5");
+		assertTrue(output().contains("info string Illegal move e2e5"));
+		uci.execute("position fen 8/8/8/8/8/8/8/8 w - - 0 1");
+		assertTrue(output().contains("info string Both sides must have exactly one king"));
+		uci.execute("go depth x");
+		assertTrue(output().contains("info string Invalid go parameter"));
+		uci.execute("setoption name Hash value lots");
+		assertTrue(output().contains("info string Invalid value for Hash: lots"));
+	}
+
+	@Test
+	public void optionsApplyBetweenSearches() {
+		uci.execute("setoption name Hash value 2");
+		uci.execute("setoption name Threads value 2");
+		uci.execute("ucinewgame");
+		uci.execute("position startpos");
+		uci.execute("go depth 3");
+		assertTrue(awaitBestMove().contains("bestmove "));
+		assertFalse(output().contains("info string"));
+	}
+
+	private String output() {
+		try {
+			return output.toString("UTF-8").replace("\r\n", "\n");
+		} catch (UnsupportedEncodingException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private String awaitBestMove() {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (System.currentTimeMillis() < deadline) {
+			String text = output();
+			if (text.contains("bestmove")) {
+				return text;
+			}
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		fail("No bestmove within " + TIMEOUT_MILLIS + " ms");
+		return null;
+	}
+}
@@ -0,0 +1,139 @@
+package chess.server;
+
+import chess.exceptions.InvalidFenException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Local HTTP front-end for a {@link GameManager}, bound to the loopback interface. Requests are handled on
+ * the manager's executor.
+ * <pre>
+ * POST   /games             body: optional FEN       create a game
+ * GET    /games/{id}                                 state and moves played
+ * POST   /games/{id}/moves  body: move in UCI, e.g. e2e4
+ * DELETE /games/{id}
+ * </pre>
+ * Responses are JSON. Errors use 400 (bad FEN or illegal move), 404 (unknown game), 409 (game over) and
+ * 503 (too many requests in flight).
+ */
+public class GameHttpServer implements Closeable {
+	public static final int DEFAULT_PORT = 8080;
+	private static final int BACKLOG = 1024;
+	private static final String GAMES = "/games";
+	private static final String MOVES = "/moves";
+
+	static {
+		// Small request/response pairs otherwise stall on Nagle's algorithm against delayed ACKs; the JDK
+		// server reads this once, before the first server is created
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private final GameManager manager;
+	private final HttpServer server;
+
+	public GameHttpServer(GameManager manager, int port) throws IOException {
+		this.manager = manager;
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+		server.createContext(GAMES, this::handle);
+		server.setExecutor(manager.getExecutor());
+	}
+
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int maxInFlight = args.length > 1 ? Integer.parseInt(args[1]) : GameManager.DEFAULT_MAX_IN_FLIGHT;
+		GameManager manager = new GameManager(maxInFlight);
+		GameHttpServer server = new GameHttpServer(manager, port);
+		server.start();
+		System.out.println("Serving games on http://localhost:" + server.getPort() + GAMES
+				+ " using " + manager.getExecutorName());
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			String method = exchange.getRequestMethod();
+			String path = exchange.getRequestURI().getPath();
+			String rest = path.substring(GAMES.length());
+			if (rest.isEmpty() || rest.equals("/")) {
+				if (!method.equals("POST")) {
+					send(exchange, 405, error("Use POST to create a game"));
+					return;
+				}
+				String fen = body(exchange).trim();
+				send(exchange, 201, (fen.isEmpty() ? manager.createGame() : manager.createGame(fen)).toJson());
+				return;
+			}
+			boolean moves = rest.endsWith(MOVES);
+			long id = Long.parseLong(rest.substring(1, moves ? rest.length() - MOVES.length() : rest.length()));
+			if (moves && method.equals("POST")) {
+				send(exchange, 200, manager.move(id, body(exchange).trim()).toJson());
+			} else if (!moves && method.equals("GET")) {
+				send(exchange, 200, manager.getGame(id, true).toJson());
+			} else if (!moves && method.equals("DELETE")) {
+				send(exchange, manager.removeGame(id) ? 204 : 404, "");
+			} else {
+				send(exchange, 405, error("Unsupported method " + method));
+			}
+		} catch (InvalidFenException | IllegalArgumentException e) {
+			send(exchange, 400, error(e.getMessage()));
+		} catch (NoSuchElementException e) {
+			send(exchange, 404, error(e.getMessage()));
+		} catch (IllegalStateException e) {
+			send(exchange, 409, error(e.getMessage()));
+		} catch (RejectedExecutionException e) {
+			send(exchange, 503, error(e.getMessage()));
+		}
+	}
+
+	private static String body(HttpExchange exchange) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		byte[] buffer = new byte[256];
+		try (InputStream input = exchange.getRequestBody()) {
+			int read;
+			while ((read = input.read(buffer)) > 0) {
+				body.write(buffer, 0, read);
+			}
+		}
+		return new String(body.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static void send(HttpExchange exchange, int status, String json) throws IOException {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > 0) {
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+		}
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(bytes);
+		}
+	}
+
+	private static String error(String message) {
+		return "{\"error\":\"" + String.valueOf(message).replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+	}
+}
@@ -0,0 +1,204 @@
+package chess.server;
+
+import chess.board.Fen;
+import chess.board.MoveList;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+import chess.metrics.Counter;
+import chess.metrics.Histogram;
+import chess.metrics.Metrics;
+
+import java.io.Closeable;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Hosts any number of concurrent games. Requests run on virtual threads when the JDK has them (21 and later)
+ * and on a work-stealing pool otherwise; either way at most {@code maxInFlight} requests are admitted at once
+ * and the rest are refused with {@link RejectedExecutionException} instead of queueing without bound.
+ * <p>
+ * Games are stored packed (see {@link GameSession}); the full positions needed to check and apply moves
+ * come from a pool of scratch workers, so memory grows with the number of requests in flight rather than
+ * the number of games.
+ */
+public class GameManager implements Closeable {
+	public static final int DEFAULT_MAX_IN_FLIGHT = 4096;
+	private static final Counter MOVES = Metrics.counter("server.moves");
+	private static final Counter REJECTED = Metrics.counter("server.rejected");
+	private static final Histogram MOVE_TIME = Metrics.histogram("server.move_time_ns");
+
+	private final ConcurrentHashMap<Long, GameSession> games;
+	private final ConcurrentLinkedQueue<Worker> workers;
+	private final AtomicLong nextId;
+	private final ExecutorService executor;
+	private final String executorName;
+	private final Semaphore inFlight;
+
+	public GameManager() {
+		this(DEFAULT_MAX_IN_FLIGHT);
+	}
+
+	public GameManager(int maxInFlight) {
+		this.games = new ConcurrentHashMap<>();
+		this.workers = new ConcurrentLinkedQueue<>();
+		this.nextId = new AtomicLong();
+		this.inFlight = new Semaphore(maxInFlight);
+		ExecutorService virtualThreads = newVirtualThreadExecutor();
+		this.executor = virtualThreads != null ? virtualThreads : Executors.newWorkStealingPool();
+		this.executorName = virtualThreads != null ? "virtual threads" : "work-stealing pool";
+		Metrics.gauge("server.games", this::getGameCount);
+		Metrics.gauge("server.in_flight", () -> maxInFlight - inFlight.availablePermits());
+	}
+
+	/**
+	 * {@code Executors.newVirtualThreadPerTaskExecutor()}, looked up reflectively so the module still builds
+	 * and runs on Java 8; null if the running JDK does not have it.
+	 */
+	static ExecutorService newVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	public GameSnapshot createGame() {
+		try {
+			return createGame(Fen.START_POSITION);
+		} catch (InvalidFenException e) {
+			throw new RuntimeException("Internal new-game FEN is invalid or is not being parsed correctly");
+		}
+	}
+
+	public GameSnapshot createGame(String fen) throws InvalidFenException {
+		Worker worker = acquireWorker();
+		try {
+			Fen.parse(fen, worker.position);
+			GameSession game = new GameSession(nextId.incrementAndGet(), worker.position, worker.moves);
+			games.put(game.getId(), game);
+			return game.snapshot(worker.position, false);
+		} finally {
+			workers.offer(worker);
+		}
+	}
+
+	/**
+	 * @throws NoSuchElementException if there is no game with that id
+	 */
+	public GameSnapshot getGame(long id, boolean withMoves) {
+		GameSession game = session(id);
+		return withWorker(worker -> game.snapshot(worker.position, withMoves));
+	}
+
+	public boolean removeGame(long id) {
+		return games.remove(id) != null;
+	}
+
+	public int getGameCount() {
+		return games.size();
+	}
+
+	/**
+	 * Plays a move on the calling thread, counted against the in-flight limit.
+	 *
+	 * @throws NoSuchElementException     if there is no game with that id
+	 * @throws IllegalArgumentException   if the move is illegal
+	 * @throws IllegalStateException      if the game is over
+	 * @throws RejectedExecutionException if too many requests are in flight
+	 */
+	public GameSnapshot move(long id, String move) {
+		if (!inFlight.tryAcquire()) {
+			REJECTED.increment();
+			throw new RejectedExecutionException("Too many requests in flight");
+		}
+		try {
+			return play(id, move);
+		} finally {
+			inFlight.release();
+		}
+	}
+
+	/**
+	 * Plays a move on the manager's executor. Failures complete the future exceptionally with the exceptions
+	 * listed for {@link #move(long, String)}.
+	 */
+	public CompletableFuture<GameSnapshot> submitMove(long id, String move) {
+		if (!inFlight.tryAcquire()) {
+			REJECTED.increment();
+			CompletableFuture<GameSnapshot> rejected = new CompletableFuture<>();
+			rejected.completeExceptionally(new RejectedExecutionException("Too many requests in flight"));
+			return rejected;
+		}
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				try {
+					return play(id, move);
+				} finally {
+					inFlight.release();
+				}
+			}, executor);
+		} catch (RejectedExecutionException e) {
+			inFlight.release();
+			throw e;
+		}
+	}
+
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	public String getExecutorName() {
+		return executorName;
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	private GameSnapshot play(long id, String move) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		GameSession game = session(id);
+		GameSnapshot snapshot = withWorker(worker -> game.play(move, worker.position, worker.moves));
+		MOVES.increment();
+		if (Metrics.ENABLED) {
+			MOVE_TIME.record(System.nanoTime() - start);
+		}
+		return snapshot;
+	}
+
+	private GameSession session(long id) {
+		GameSession game = games.get(id);
+		if (game == null) {
+			throw new NoSuchElementException("No game " + id);
+		}
+		return game;
+	}
+
+	private <T> T withWorker(Function<Worker, T> task) {
+		Worker worker = acquireWorker();
+		try {
+			return task.apply(worker);
+		} finally {
+			workers.offer(worker);
+		}
+	}
+
+	private Worker acquireWorker() {
+		Worker worker = workers.poll();
+		return worker != null ? worker : new Worker();
+	}
+
+	private static class Worker {
+		private final Position position = new Position();
+		private final MoveList moves = new MoveList();
+	}
+}
@@ -0,0 +1,201 @@
+package chess.server;
+
+import chess.board.Move;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.board.Square;
+
+import java.util.Arrays;
+
+/**
+ * One hosted game, kept in a few hundred bytes rather than a full {@link Position}: the occupied squares, a
+ * nibble per piece in square order, the side to move, castling rights, en-passant square and clocks packed
+ * into one int, the moves played so far and the Zobrist keys since the last capture or pawn move. A request
+ * unpacks the game into a worker's position, applies the move and packs it back. Every method is
+ * synchronized, so moves on one game are applied in order while different games proceed in parallel.
+ */
+public class GameSession {
+	private static final int MAX_PIECES = 32;
+	private static final int INITIAL_MOVES = 16;
+	private static final int INITIAL_KEYS = 8;
+	private static final int CASTLING_SHIFT = 1;
+	private static final int EN_PASSANT_SHIFT = 5;
+	private static final int HALFMOVE_SHIFT = 12;
+	private static final int NO_EN_PASSANT = 0x7F;
+
+	private final long id;
+	private long occupied;
+	private long lowPieces;
+	private long highPieces;
+	private int state;
+	private int fullmoveNumber;
+	// Allocated with the first move
+	private short[] moves;
+	// Zobrist keys of the positions since the last capture or pawn move, the current one last: the only ones
+	// a repetition can involve
+	private long[] keys;
+	private int keyCount;
+	private int ply;
+	private GameStatus status;
+
+	GameSession(long id, Position start, MoveList legalMoves) {
+		if (Long.bitCount(start.getOccupied()) > MAX_PIECES) {
+			throw new IllegalArgumentException("More than " + MAX_PIECES + " pieces on the board");
+		}
+		this.id = id;
+		this.keys = new long[INITIAL_KEYS];
+		this.keys[keyCount++] = start.getHash();
+		store(start);
+		this.status = evaluate(start, legalMoves);
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public synchronized GameStatus getStatus() {
+		return status;
+	}
+
+	public synchronized int getPly() {
+		return ply;
+	}
+
+	/**
+	 * Plays a move given in UCI notation, using {@code position} and {@code legalMoves} as scratch space.
+	 *
+	 * @throws IllegalStateException    if the game is already over
+	 * @throws IllegalArgumentException if the move is not legal
+	 */
+	synchronized GameSnapshot play(String notation, Position position, MoveList legalMoves) {
+		if (status.isOver()) {
+			throw new IllegalStateException("Game " + id + " is over: " + status);
+		}
+		load(position);
+		MoveGenerator.generateLegalMoves(position, legalMoves);
+		int move = Move.NONE;
+		for (int i = 0; i < legalMoves.size(); i++) {
+			if (Move.toUci(legalMoves.get(i)).equals(notation)) {
+				move = legalMoves.get(i);
+				break;
+			}
+		}
+		if (move == Move.NONE) {
+			throw new IllegalArgumentException("Illegal move " + notation);
+		}
+		position.makeMove(move);
+		store(position);
+		if (moves == null) {
+			moves = new short[INITIAL_MOVES];
+		} else if (ply == moves.length) {
+			moves = Arrays.copyOf(moves, ply * 2);
+		}
+		moves[ply++] = (short) move;
+		if (position.getHalfmoveClock() == 0) {
+			keyCount = 0;
+			if (keys.length > INITIAL_KEYS) {
+				keys = new long[INITIAL_KEYS];
+			}
+		} else if (keyCount == keys.length) {
+			keys = Arrays.copyOf(keys, keyCount * 2);
+		}
+		keys[keyCount++] = position.getHash();
+		status = evaluate(position, legalMoves);
+		return describe(position, false);
+	}
+
+	synchronized GameSnapshot snapshot(Position position, boolean withMoves) {
+		load(position);
+		return describe(position, withMoves);
+	}
+
+	private GameSnapshot describe(Position position, boolean withMoves) {
+		String[] played = null;
+		if (withMoves) {
+			played = new String[ply];
+			for (int i = 0; i < ply; i++) {
+				played[i] = Move.toUci(moves[i] & 0xFFFF);
+			}
+		}
+		return new GameSnapshot(id, position.toFen(), status, result(position), ply, played);
+	}
+
+	private String result(Position position) {
+		if (!status.isOver()) {
+			return "*";
+		}
+		if (status != GameStatus.CHECKMATE) {
+			return "1/2-1/2";
+		}
+		return position.getSideToMove() == PieceCode.WHITE ? "0-1" : "1-0";
+	}
+
+	private GameStatus evaluate(Position position, MoveList legalMoves) {
+		MoveGenerator.generateLegalMoves(position, legalMoves);
+		if (legalMoves.size() == 0) {
+			return position.isInCheck() ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+		}
+		if (isThreefoldRepetition()) {
+			return GameStatus.THREEFOLD_REPETITION;
+		}
+		if (position.isFiftyMoveRule()) {
+			return GameStatus.FIFTY_MOVE_RULE;
+		}
+		if (position.hasInsufficientMaterial()) {
+			return GameStatus.INSUFFICIENT_MATERIAL;
+		}
+		return GameStatus.IN_PROGRESS;
+	}
+
+	private boolean isThreefoldRepetition() {
+		int count = 0;
+		long current = keys[keyCount - 1];
+		for (int i = keyCount - 5; i >= 0; i -= 2) {
+			if (keys[i] == current && ++count == 2) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void store(Position position) {
+		occupied = position.getOccupied();
+		long low = 0;
+		long high = 0;
+		int index = 0;
+		for (long squares = occupied; squares != 0; squares &= squares - 1, index++) {
+			long piece = position.pieceAt(Long.numberOfTrailingZeros(squares));
+			if (index < 16) {
+				low |= piece << (index << 2);
+			} else {
+				high |= piece << ((index - 16) << 2);
+			}
+		}
+		lowPieces = low;
+		highPieces = high;
+		int enPassant = position.getEnPassantSquare();
+		state = position.getSideToMove()
+				| position.getCastlingRights() << CASTLING_SHIFT
+				| (enPassant == Square.NONE ? NO_EN_PASSANT : enPassant) << EN_PASSANT_SHIFT
+				| position.getHalfmoveClock() << HALFMOVE_SHIFT;
+		fullmoveNumber = position.getFullmoveNumber();
+	}
+
+	private void load(Position position) {
+		position.clear();
+		int index = 0;
+		for (long squares = occupied; squares != 0; squares &= squares - 1, index++) {
+			long pieces = index < 16 ? lowPieces : highPieces;
+			int piece = (int) (pieces >>> ((index & 15) << 2)) & 0xF;
+			position.setPiece(Long.numberOfTrailingZeros(squares), piece);
+		}
+		int enPassant = (state >>> EN_PASSANT_SHIFT) & 0x7F;
+		position.setSideToMove(state & 1);
+		position.setCastlingRights((state >>> CASTLING_SHIFT) & 0xF);
+		position.setEnPassantSquare(enPassant == NO_EN_PASSANT ? Square.NONE : enPassant);
+		position.setHalfmoveClock(state >>> HALFMOVE_SHIFT);
+		position.setFullmoveNumber(fullmoveNumber);
+	}
+}
@@ -0,0 +1,74 @@
+package chess.server;
+
+/**
+ * Immutable view of a game at one moment, as returned to clients.
+ */
+public class GameSnapshot {
+	private final long id;
+	private final String fen;
+	private final GameStatus status;
+	private final String result;
+	private final int ply;
+	private final String[] moves;
+
+	public GameSnapshot(long id, String fen, GameStatus status, String result, int ply, String[] moves) {
+		this.id = id;
+		this.fen = fen;
+		this.status = status;
+		this.result = result;
+		this.ply = ply;
+		this.moves = moves;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getFen() {
+		return fen;
+	}
+
+	public GameStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * PGN-style result: "1-0", "0-1", "1/2-1/2", or "*" while the game is in progress.
+	 */
+	public String getResult() {
+		return result;
+	}
+
+	public int getPly() {
+		return ply;
+	}
+
+	/**
+	 * Moves played so far in UCI notation, or null if the snapshot was taken without them.
+	 */
+	public String[] getMoves() {
+		return moves;
+	}
+
+	public String toJson() {
+		StringBuilder json = new StringBuilder(128)
+				.append("{\"id\":").append(id)
+				.append(",\"fen\":\"").append(fen)
+				.append("\",\"status\":\"").append(status)
+				.append("\",\"result\":\"").append(result)
+				.append("\",\"ply\":").append(ply);
+		if (moves != null) {
+			json.append(",\"moves\":[");
+			for (int i = 0; i < moves.length; i++) {
+				json.append(i == 0 ? "\"" : ",\"").append(moves[i]).append('"');
+			}
+			json.append(']');
+		}
+		return json.append('}').toString();
+	}
+
+	@Override
+	public String toString() {
+		return toJson();
+	}
+}
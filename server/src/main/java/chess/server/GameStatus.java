@@ -0,0 +1,14 @@
+package chess.server;
+
+public enum GameStatus {
+	IN_PROGRESS,
+	CHECKMATE,
+	STALEMATE,
+	THREEFOLD_REPETITION,
+	FIFTY_MOVE_RULE,
+	INSUFFICIENT_MATERIAL;
+
+	public boolean isOver() {
+		return this != IN_PROGRESS;
+	}
+}
@@ -0,0 +1,216 @@
+package chess.server;
+
+import chess.board.Fen;
+import chess.board.Move;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.Position;
+import chess.exceptions.InvalidFenException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plays many random games at once against a {@link GameManager}, either directly or through a local
+ * {@link GameHttpServer}, and reports moves per second and latency percentiles. Each client plays its games
+ * one move at a time, choosing random legal moves from its own copy of the position.
+ */
+public class LoadTest {
+	private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+	private static final Pattern STATUS = Pattern.compile("\"status\":\"(\\w+)\"");
+
+	private final GameManager manager;
+	private final String baseUrl;
+	private final AtomicLong errors;
+
+	public LoadTest(GameManager manager, String baseUrl) {
+		this.manager = manager;
+		this.baseUrl = baseUrl;
+		this.errors = new AtomicLong();
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length > 0 && args[0].startsWith("-")) {
+			System.out.println("Usage: LoadTest [games=1000] [plies=80] [clients=64] [direct|http]");
+			return;
+		}
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int plies = args.length > 1 ? Integer.parseInt(args[1]) : 80;
+		int clients = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+		boolean http = args.length > 3 && args[3].equals("http");
+		try (GameManager manager = new GameManager()) {
+			GameHttpServer server = http ? new GameHttpServer(manager, 0) : null;
+			if (server != null) {
+				server.start();
+			}
+			try {
+				String baseUrl = server == null ? null : "http://127.0.0.1:" + server.getPort() + "/games";
+				new LoadTest(manager, baseUrl).run(games, plies, clients);
+			} finally {
+				if (server != null) {
+					server.close();
+				}
+			}
+		}
+	}
+
+	public void run(int games, int plies, int clients) throws InterruptedException {
+		long[][] latencies = new long[games][plies];
+		int[] played = new int[games];
+		// One round of creating and removing games first, so class loading, the scratch workers and the
+		// growth of the game map are not charged to the games measured
+		for (int i = 0; i < games; i++) {
+			manager.removeGame(createGame());
+		}
+		long heapBefore = usedHeap();
+		long[] ids = new long[games];
+		for (int i = 0; i < games; i++) {
+			ids[i] = createGame();
+		}
+		long bytesPerGame = Math.max(0, usedHeap() - heapBefore) / Math.max(1, games);
+
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		long start = System.nanoTime();
+		for (int i = 0; i < games; i++) {
+			int game = i;
+			pool.execute(() -> played[game] = play(ids[game], plies, new Random(game), latencies[game]));
+		}
+		pool.shutdown();
+		pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		long elapsed = Math.max(1, System.nanoTime() - start);
+		long bytesPerPlayedGame = Math.max(0, usedHeap() - heapBefore) / Math.max(1, games);
+
+		int moves = 0;
+		for (int count : played) {
+			moves += count;
+		}
+		long[] all = new long[moves];
+		int offset = 0;
+		for (int i = 0; i < games; i++) {
+			System.arraycopy(latencies[i], 0, all, offset, played[i]);
+			offset += played[i];
+		}
+		Arrays.sort(all);
+		System.out.println("Mode: " + (baseUrl == null ? "direct" : "http") + ", " + manager.getExecutorName()
+				+ ", " + clients + " clients");
+		System.out.println("Games: " + games + " (~" + bytesPerGame + " bytes each after creation, ~"
+				+ bytesPerPlayedGame + " after play, scratch workers for concurrent requests included)");
+		System.out.println("Moves: " + moves + " in " + elapsed / 1_000_000 + " ms, errors: " + errors.get());
+		System.out.println("Moves/second: " + moves * 1_000_000_000L / elapsed);
+		System.out.println("Latency us: p50 " + percentile(all, 0.50) + ", p99 " + percentile(all, 0.99)
+				+ ", max " + (all.length == 0 ? 0 : all[all.length - 1] / 1000));
+	}
+
+	/**
+	 * @return the number of moves sent, whose latencies are written to {@code latencies}
+	 */
+	private int play(long id, int plies, Random random, long[] latencies) {
+		Position position;
+		try {
+			position = Position.fromFen(Fen.START_POSITION);
+		} catch (InvalidFenException e) {
+			throw new RuntimeException("Internal new-game FEN is invalid or is not being parsed correctly");
+		}
+		MoveList moves = new MoveList();
+		for (int ply = 0; ply < plies; ply++) {
+			MoveGenerator.generateLegalMoves(position, moves);
+			int move = moves.get(random.nextInt(moves.size()));
+			long start = System.nanoTime();
+			GameStatus status;
+			try {
+				status = sendMove(id, Move.toUci(move));
+			} catch (RuntimeException e) {
+				errors.incrementAndGet();
+				return ply;
+			}
+			latencies[ply] = System.nanoTime() - start;
+			position.makeMove(move);
+			if (status.isOver()) {
+				return ply + 1;
+			}
+		}
+		return plies;
+	}
+
+	private long createGame() {
+		if (baseUrl == null) {
+			return manager.createGame().getId();
+		}
+		Matcher matcher = ID.matcher(request("POST", baseUrl, ""));
+		if (!matcher.find()) {
+			throw new IllegalStateException("No game id in response");
+		}
+		return Long.parseLong(matcher.group(1));
+	}
+
+	private GameStatus sendMove(long id, String move) {
+		if (baseUrl == null) {
+			return manager.move(id, move).getStatus();
+		}
+		Matcher matcher = STATUS.matcher(request("POST", baseUrl + "/" + id + "/moves", move));
+		if (!matcher.find()) {
+			throw new IllegalStateException("No status in response");
+		}
+		return GameStatus.valueOf(matcher.group(1));
+	}
+
+	private static String request(String method, String url, String body) {
+		try {
+			HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+			connection.setRequestMethod(method);
+			connection.setDoOutput(true);
+			try (OutputStream output = connection.getOutputStream()) {
+				output.write(body.getBytes(StandardCharsets.UTF_8));
+			}
+			int status = connection.getResponseCode();
+			InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+			ByteArrayOutputStream response = new ByteArrayOutputStream();
+			if (input != null) {
+				try (InputStream stream = input) {
+					byte[] buffer = new byte[512];
+					int read;
+					while ((read = stream.read(buffer)) > 0) {
+						response.write(buffer, 0, read);
+					}
+				}
+			}
+			String text = new String(response.toByteArray(), StandardCharsets.UTF_8);
+			if (status >= 400) {
+				throw new IllegalStateException("HTTP " + status + ": " + text);
+			}
+			return text;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static long percentile(long[] sorted, double fraction) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))] / 1000;
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		// System.gc is only a request; a few rounds let the collector settle
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
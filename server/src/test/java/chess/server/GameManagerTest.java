@@ -0,0 +1,171 @@
+package chess.server;
+
+import chess.board.Fen;
+import chess.exceptions.InvalidFenException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GameManagerTest {
+	private GameManager manager;
+
+	@Before
+	public void setUp() {
+		manager = new GameManager();
+	}
+
+	@After
+	public void tearDown() {
+		manager.close();
+	}
+
+	@Test
+	public void newGameStartsFromTheInitialPosition() {
+		GameSnapshot game = manager.createGame();
+		assertEquals(Fen.START_POSITION, game.getFen());
+		assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+		assertEquals("*", game.getResult());
+		assertEquals(0, game.getPly());
+		assertEquals(1, manager.getGameCount());
+	}
+
+	@Test
+	public void movesSurviveThePackedStorage() {
+		long id = manager.createGame().getId();
+		play(id, "e2e4", "c7c5", "g1f3", "d7d6", "e1e2");
+		GameSnapshot game = manager.getGame(id, true);
+		assertEquals("rnbqkbnr/pp2pppp/3p4/2p5/4P3/5N2/PPPPKPPP/RNBQ1B1R b kq - 1 3", game.getFen());
+		assertEquals(5, game.getPly());
+		assertArrayEquals(new String[]{"e2e4", "c7c5", "g1f3", "d7d6", "e1e2"}, game.getMoves());
+	}
+
+	@Test
+	public void checkmateEndsTheGame() {
+		long id = manager.createGame().getId();
+		GameSnapshot game = play(id, "f2f3", "e7e5", "g2g4", "d8h4");
+		assertEquals(GameStatus.CHECKMATE, game.getStatus());
+		assertEquals("0-1", game.getResult());
+		try {
+			manager.move(id, "a2a3");
+			fail("Moved after mate");
+		} catch (IllegalStateException expected) {
+			// expected
+		}
+	}
+
+	@Test
+	public void drawsAreDetected() throws InvalidFenException {
+		assertDraw(GameStatus.STALEMATE, "k7/8/8/1Q6/8/8/8/K7 w - - 0 1", "b5b6");
+		assertDraw(GameStatus.INSUFFICIENT_MATERIAL, "k7/8/8/8/8/8/1r6/K7 w - - 0 1", "a1b2");
+		assertDraw(GameStatus.FIFTY_MOVE_RULE, "k7/8/8/8/8/8/1R6/K7 w - - 99 80", "b2b3");
+		assertDraw(GameStatus.THREEFOLD_REPETITION, Fen.START_POSITION,
+				"g1f3", "g8f6", "f3g1", "f6g8", "g1f3", "g8f6", "f3g1", "f6g8");
+	}
+
+	@Test
+	public void badRequestsAreRefused() {
+		long id = manager.createGame().getId();
+		try {
+			manager.move(id, "e2e5");
+			fail("Accepted an illegal move");
+		} catch (IllegalArgumentException expected) {
+			// expected
+		}
+		try {
+			manager.move(id + 1, "e2e4");
+			fail("Found a game that does not exist");
+		} catch (NoSuchElementException expected) {
+			// expected
+		}
+		try {
+			manager.createGame("8/8/8/8/8/8/8/8 w - - 0 1");
+			fail("Accepted a board without kings");
+		} catch (InvalidFenException expected) {
+			// expected
+		}
+		assertEquals(0, manager.getGame(id, false).getPly());
+	}
+
+	@Test
+	public void removedGamesAreGone() {
+		long id = manager.createGame().getId();
+		assertTrue(manager.removeGame(id));
+		assertFalse(manager.removeGame(id));
+		assertEquals(0, manager.getGameCount());
+	}
+
+	@Test
+	public void gamesProceedConcurrently() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			ids.add(manager.createGame().getId());
+		}
+		List<String> line = Arrays.asList("e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6");
+		for (String move : line) {
+			List<CompletableFuture<GameSnapshot>> results = new ArrayList<>();
+			for (long id : ids) {
+				results.add(manager.submitMove(id, move));
+			}
+			for (CompletableFuture<GameSnapshot> result : results) {
+				result.get(10, TimeUnit.SECONDS);
+			}
+		}
+		for (long id : ids) {
+			assertEquals(line.size(), manager.getGame(id, false).getPly());
+		}
+	}
+
+	@Test
+	public void requestsBeyondTheLimitAreRejected() throws InterruptedException, TimeoutException {
+		GameManager full = new GameManager(0);
+		try {
+			long id = full.createGame().getId();
+			try {
+				full.move(id, "e2e4");
+				fail("Admitted a request over the limit");
+			} catch (RejectedExecutionException expected) {
+				// expected
+			}
+			try {
+				full.submitMove(id, "e2e4").get(10, TimeUnit.SECONDS);
+				fail("Admitted a request over the limit");
+			} catch (ExecutionException expected) {
+				assertTrue(expected.getCause() instanceof RejectedExecutionException);
+			}
+			assertEquals(0, full.getGame(id, false).getPly());
+		} finally {
+			full.close();
+		}
+	}
+
+	private void assertDraw(GameStatus status, String fen, String... moves) throws InvalidFenException {
+		long id = manager.createGame(fen).getId();
+		GameSnapshot game = play(id, moves);
+		assertEquals(fen, status, game.getStatus());
+		assertEquals("1/2-1/2", game.getResult());
+	}
+
+	private GameSnapshot play(long id, String... moves) {
+		GameSnapshot game = null;
+		for (String move : moves) {
+			game = manager.move(id, move);
+		}
+		return game;
+	}
+}
@@ -0,0 +1,48 @@
+import controllers.MainController;
+import javafx.application.Application;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ * Opens the board with its analysis pane. {@code --book=<file>} loads an opening book built by
+ * {@link chess.book.BookBuilder}, whose moves are then listed above the analysis.
+ */
+public class Main extends Application {
+	private MainController controller;
+
+	public static void main(String[] args) {
+		launch(args);
+	}
+
+	@Override
+	public void start(Stage primaryStage) throws Exception {
+		FXMLLoader loader = new FXMLLoader(Objects.requireNonNull(getClass().getResource("/fxml/main.fxml")));
+		Parent root = loader.load();
+		controller = loader.getController();
+		String book = getParameters().getNamed().get("book");
+		if (book != null) {
+			try {
+				controller.openBook(Paths.get(book));
+			} catch (IOException e) {
+				System.err.println("Could not open book " + book + ": " + e.getMessage());
+			}
+		}
+		primaryStage.setTitle("Chess Board");
+		primaryStage.setScene(new Scene(root));
+		primaryStage.setResizable(false);
+		primaryStage.show();
+	}
+
+	@Override
+	public void stop() {
+		if (controller != null) {
+			controller.shutdown();
+		}
+	}
+}
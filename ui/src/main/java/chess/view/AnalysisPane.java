@@ -0,0 +1,43 @@
+package chess.view;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+
+/**
+ * Shows the latest analysis of the displayed position: the book moves when an opening book is loaded, a
+ * summary line (depth, score, speed) and the principal variation. Only touched on the JavaFX thread, by
+ * {@link AnalysisService}.
+ */
+public class AnalysisPane extends VBox {
+	private final Label bookMoves;
+	private final Label summary;
+	private final Label principalVariation;
+
+	public AnalysisPane() {
+		super(6);
+		this.bookMoves = new Label();
+		bookMoves.setWrapText(true);
+		bookMoves.setManaged(false);
+		bookMoves.setVisible(false);
+		this.summary = new Label("Analysis");
+		this.principalVariation = new Label();
+		principalVariation.setWrapText(true);
+		setPadding(new Insets(10));
+		getChildren().addAll(bookMoves, summary, principalVariation);
+	}
+
+	public void show(String summary, String principalVariation) {
+		this.summary.setText(summary);
+		this.principalVariation.setText(principalVariation);
+	}
+
+	/**
+	 * Shows the book moves of the position, or hides the line when {@code bookMoves} is empty.
+	 */
+	public void showBook(String bookMoves) {
+		this.bookMoves.setText(bookMoves);
+		this.bookMoves.setManaged(!bookMoves.isEmpty());
+		this.bookMoves.setVisible(!bookMoves.isEmpty());
+	}
+}
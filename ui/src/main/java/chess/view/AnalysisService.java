@@ -0,0 +1,197 @@
+package chess.view;
+
+import chess.board.Move;
+import chess.board.MoveGenerator;
+import chess.board.MoveList;
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.book.OpeningBook;
+import chess.engine.ParallelSearch;
+import chess.engine.SearchInfo;
+import chess.engine.SearchLimits;
+import chess.engine.TranspositionTable;
+import chess.pgn.San;
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Analyses the displayed position in the background until it changes. {@link #analyze(Position)} returns at
+ * once: it stops the running search, which notices within a few nodes, and queues the new one behind it.
+ * <p>
+ * Updates are formatted on the search thread and coalesced: only the newest one waits to be shown, and it
+ * reaches the {@link AnalysisPane} through {@link Platform#runLater(Runnable)} at most once per
+ * {@link #UPDATE_INTERVAL_MILLIS}, so a fast search cannot flood the JavaFX thread. Updates from a search
+ * that has since been replaced are dropped. The search uses all cores but one, leaving one for rendering.
+ * <p>
+ * With an {@link OpeningBook} set, the book moves of the position are shown above the search output.
+ */
+public class AnalysisService {
+	public static final long UPDATE_INTERVAL_MILLIS = 100;
+	private static final int HASH_MEGABYTES = 64;
+	private static final int MAX_PV_MOVES = 12;
+	private static final int MAX_BOOK_MOVES = 5;
+
+	private final AnalysisPane pane;
+	private final ParallelSearch search;
+	private final ScheduledExecutorService publisher;
+	private final AtomicReference<Update> pending;
+	private OpeningBook book;
+	private volatile long generation;
+	private long lastPublished;
+
+	public AnalysisService(AnalysisPane pane) {
+		this.pane = pane;
+		this.search = new ParallelSearch(new TranspositionTable(HASH_MEGABYTES),
+				Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+		this.publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "analysis-publisher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.pending = new AtomicReference<>();
+	}
+
+	/**
+	 * Book whose moves are shown from the next {@link #analyze(Position)} on; null to show none. The caller
+	 * keeps ownership and closes it. Call on the JavaFX thread.
+	 */
+	public void setBook(OpeningBook book) {
+		this.book = book;
+	}
+
+	/**
+	 * Starts analysing {@code position}, replacing any earlier analysis. Call on the JavaFX thread.
+	 */
+	public void analyze(Position position) {
+		long searchGeneration = ++generation;
+		pending.set(null);
+		Position root = new Position(position);
+		MoveList moves = new MoveList();
+		MoveGenerator.generateLegalMoves(root, moves);
+		pane.showBook(book == null ? "" : bookMoves(book, root, moves));
+		if (moves.size() == 0) {
+			search.stop();
+			pane.show(root.isInCheck() ? "Checkmate" : "Stalemate", "");
+			return;
+		}
+		pane.show("Analysing...", "");
+		SearchLimits limits = new SearchLimits();
+		limits.setInfinite(true);
+		// The search copies the root, so this one is only used to format moves
+		search.start(root, limits, info -> offer(new Update(searchGeneration, summary(root, info),
+				principalVariation(root, info, moves))));
+	}
+
+	public void stop() {
+		++generation;
+		search.stop();
+	}
+
+	public void shutdown() {
+		stop();
+		search.shutdown();
+		publisher.shutdownNow();
+	}
+
+	private void offer(Update update) {
+		if (update.generation != generation || pending.getAndSet(update) != null) {
+			// Stale, or an update is already scheduled and will pick this one up instead
+			return;
+		}
+		long delay;
+		synchronized (this) {
+			delay = Math.max(0, lastPublished + UPDATE_INTERVAL_MILLIS - System.currentTimeMillis());
+		}
+		publisher.schedule(this::publish, delay, TimeUnit.MILLISECONDS);
+	}
+
+	private void publish() {
+		synchronized (this) {
+			lastPublished = System.currentTimeMillis();
+		}
+		Platform.runLater(() -> {
+			Update update = pending.getAndSet(null);
+			if (update != null && update.generation == generation) {
+				pane.show(update.summary, update.principalVariation);
+			}
+		});
+	}
+
+	private static String summary(Position root, SearchInfo info) {
+		// Scores are shown from white's point of view
+		int sign = root.getSideToMove() == PieceCode.WHITE ? 1 : -1;
+		String score = info.isMate() ? "#" + sign * info.getMateIn()
+				: String.format("%+.2f", sign * info.getScore() / 100.0);
+		return "Depth " + info.getDepth() + "   " + score + "   " + info.getNodes() / 1000 + "k nodes   "
+				+ info.getNodesPerSecond() / 1000 + " kn/s";
+	}
+
+	/**
+	 * The most played book moves with their share of the weight, as in "Book: e4 45%  d4 38%", or an empty
+	 * string when the book has no legal move here.
+	 */
+	private static String bookMoves(OpeningBook book, Position root, MoveList moves) {
+		long key = root.getHash();
+		int first = book.find(key);
+		if (first < 0) {
+			return "";
+		}
+		int end = first;
+		long total = 0;
+		for (; end < book.size() && book.getKey(end) == key; end++) {
+			if (moves.contains(book.getMove(end))) {
+				total += book.getWeight(end);
+			}
+		}
+		StringBuilder line = new StringBuilder();
+		// toSan overwrites its list when a move gives check, and the legal moves are still needed here
+		MoveList scratch = new MoveList();
+		int shown = 0;
+		// Entries are sorted by descending weight within a key
+		for (int index = first; index < end && shown < MAX_BOOK_MOVES; index++) {
+			int move = book.getMove(index);
+			if (move == Move.NONE || !moves.contains(move)) {
+				continue;
+			}
+			line.append(shown == 0 ? "Book: " : "  ").append(San.toSan(root, move, scratch));
+			if (total > 0) {
+				line.append(' ').append(book.getWeight(index) * 100 / total).append('%');
+			}
+			shown++;
+		}
+		return line.toString();
+	}
+
+	private static String principalVariation(Position root, SearchInfo info, MoveList moves) {
+		Position position = new Position(root);
+		StringBuilder line = new StringBuilder();
+		int[] principalVariation = info.getPrincipalVariation();
+		int length = Math.min(principalVariation.length, MAX_PV_MOVES);
+		for (int i = 0; i < length; i++) {
+			if (position.getSideToMove() == PieceCode.WHITE) {
+				line.append(position.getFullmoveNumber()).append(". ");
+			} else if (i == 0) {
+				line.append(position.getFullmoveNumber()).append("... ");
+			}
+			line.append(San.toSan(position, principalVariation[i], moves)).append(' ');
+			position.makeMove(principalVariation[i]);
+		}
+		return line.toString().trim();
+	}
+
+	private static final class Update {
+		private final long generation;
+		private final String summary;
+		private final String principalVariation;
+
+		private Update(long generation, String summary, String principalVariation) {
+			this.generation = generation;
+			this.summary = summary;
+			this.principalVariation = principalVariation;
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package chess.view;
+
+import chess.board.Board;
+import chess.board.PieceCode;
+import chess.board.Position;
+import chess.helper.ChessPosition;
+import functionailties.DraggableImageView;
+import functionailties.MouseEventHandler.DragEvent;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Retained-mode view of a {@link Board}: the 64 square cells and the piece nodes are created once and kept.
+ * {@link #refresh()} compares the position with what is on screen and only touches the squares that differ,
+ * which after a move are its from and to squares plus any captured pawn or castling rook. A piece that moved
+ * keeps its node and is relocated; a promotion swaps the node's image; captured pieces are hidden and their
+ * nodes reused later, so no nodes or mouse handlers are created after the first draw.
+ */
+public class BoardView {
+	private static final String HIGHLIGHT_STYLE = "-fx-background-color: rgba(90, 160, 70, 0.45);";
+
+	private final Board board;
+	private final GridPane boardGridPane;
+	private final double sideLength;
+	private final Pane[] cells;
+	// Piece code drawn on each square, and the node drawing it
+	private final int[] shown;
+	private final DraggableImageView[] pieceViews;
+	private final ArrayDeque<DraggableImageView> hiddenViews;
+	// Scratch space for refresh(): nodes lifted off changed squares, by piece code, and the changed squares
+	private final DraggableImageView[] lifted;
+	private final int[] changed;
+	private Runnable onPositionChanged;
+	// Cells currently highlighted as legal destinations of the dragged piece
+	private long highlighted;
+
+	public BoardView(Board board, GridPane boardGridPane) {
+		this.board = board;
+		this.boardGridPane = boardGridPane;
+		this.sideLength = boardGridPane.getPrefHeight() / 8;
+		this.cells = new Pane[64];
+		this.shown = new int[64];
+		this.pieceViews = new DraggableImageView[64];
+		this.hiddenViews = new ArrayDeque<>();
+		this.lifted = new DraggableImageView[PieceCode.COUNT];
+		this.changed = new int[64];
+		Arrays.fill(shown, PieceCode.NONE);
+		for (int square = 0; square < 64; square++) {
+			Pane cell = new Pane();
+			cell.minHeightProperty().set(sideLength);
+			cell.minWidthProperty().set(sideLength);
+			cells[square] = cell;
+			boardGridPane.add(cell, column(square), row(square));
+		}
+		// Ctrl/Cmd+Z or backspace takes back the last move
+		boardGridPane.setFocusTraversable(true);
+		boardGridPane.setOnKeyPressed(event -> {
+			if (event.getCode() == KeyCode.BACK_SPACE || (event.isShortcutDown() && event.getCode() == KeyCode.Z)) {
+				takeBack();
+			}
+		});
+		refresh();
+	}
+
+	public void takeBack() {
+		if (board.undoMove()) {
+			refresh();
+		}
+	}
+
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * Runs after every refresh that changed the position on screen, on the JavaFX thread.
+	 */
+	public void setOnPositionChanged(Runnable onPositionChanged) {
+		this.onPositionChanged = onPositionChanged;
+	}
+
+	/**
+	 * The cell behind a square, for highlighting.
+	 */
+	public Pane getCell(int square) {
+		return cells[square];
+	}
+
+	/**
+	 * Brings the view in line with the board's position, touching only the squares that changed.
+	 */
+	public void refresh() {
+		Position position = board.getPosition();
+		// Lift the nodes off every square whose piece changed, then put each new piece down on a lifted node of
+		// the same piece if there is one (the piece that moved), else on any lifted or hidden node
+		int changes = 0;
+		for (int square = 0; square < 64; square++) {
+			int piece = position.pieceAt(square);
+			if (piece == shown[square]) {
+				continue;
+			}
+			changed[changes++] = square;
+			DraggableImageView view = pieceViews[square];
+			if (view != null) {
+				pieceViews[square] = null;
+				if (lifted[shown[square]] == null) {
+					lifted[shown[square]] = view;
+				} else {
+					hide(view);
+				}
+			}
+		}
+		for (int i = 0; i < changes; i++) {
+			int square = changed[i];
+			int piece = position.pieceAt(square);
+			shown[square] = piece;
+			if (piece == PieceCode.NONE) {
+				continue;
+			}
+			DraggableImageView view = lifted[piece];
+			lifted[piece] = null;
+			if (view == null) {
+				view = takeAnyLifted();
+			}
+			if (view == null) {
+				view = hiddenViews.isEmpty() ? createPieceView() : hiddenViews.pop();
+			}
+			place(view, square, piece);
+		}
+		for (int piece = 0; piece < lifted.length; piece++) {
+			if (lifted[piece] != null) {
+				hide(lifted[piece]);
+				lifted[piece] = null;
+			}
+		}
+		boardGridPane.requestFocus();
+		if (changes > 0 && onPositionChanged != null) {
+			onPositionChanged.run();
+		}
+	}
+
+	private void place(DraggableImageView view, int square, int piece) {
+		if (view.getImage() != PieceImages.get(piece)) {
+			view.setImage(PieceImages.get(piece));
+		}
+		((PieceDragListener) view.getDragListener()).setPiece(board.getPiece(square));
+		view.setTranslateX(0);
+		view.setTranslateY(0);
+		GridPane.setConstraints(view, column(square), row(square));
+		view.setVisible(true);
+		pieceViews[square] = view;
+	}
+
+	private void hide(DraggableImageView view) {
+		view.setVisible(false);
+		hiddenViews.push(view);
+	}
+
+	private DraggableImageView takeAnyLifted() {
+		for (int piece = 0; piece < lifted.length; piece++) {
+			if (lifted[piece] != null) {
+				DraggableImageView view = lifted[piece];
+				lifted[piece] = null;
+				return view;
+			}
+		}
+		return null;
+	}
+
+	private DraggableImageView createPieceView() {
+		DraggableImageView pieceImageView = new DraggableImageView(null);
+		pieceImageView.setFitWidth(sideLength);
+		pieceImageView.setFitHeight(sideLength);
+		pieceImageView.setDragListener(new PieceDragListener(null) {
+			@Override
+			public void accept(Node node, DragEvent dragEvent) {
+				if (dragEvent == DragEvent.DragStart) {
+					highlight(board.getLegalDestinations(getPiece().getPosition().getSquare()));
+					return;
+				}
+				if (dragEvent != DragEvent.DragEnd) {
+					return;
+				}
+				highlight(0);
+				Bounds bounds = node.localToScene(node.getBoundsInLocal());
+				Point2D center = new Point2D((bounds.getMinX() + bounds.getMaxX()) / 2,
+						(bounds.getMinY() + bounds.getMaxY()) / 2);
+				double sideLength = node.getBoundsInLocal().getHeight();
+				int x = (int) (center.getX() / sideLength);
+				int y = (int) (center.getY() / sideLength);
+				// Snap back first; a legal move then relocates the node to its new square
+				node.setTranslateX(0);
+				node.setTranslateY(0);
+				if (board.makeMove(getPiece(), new ChessPosition(x + 1, 8 - y))) {
+					refresh();
+				}
+			}
+		});
+		boardGridPane.getChildren().add(pieceImageView);
+		return pieceImageView;
+	}
+
+	/**
+	 * Highlights exactly the given squares, restyling only the cells whose state changes.
+	 */
+	private void highlight(long squares) {
+		for (long toggled = highlighted ^ squares; toggled != 0; toggled &= toggled - 1) {
+			int square = Long.numberOfTrailingZeros(toggled);
+			cells[square].setStyle((squares & 1L << square) != 0 ? HIGHLIGHT_STYLE : "");
+		}
+		highlighted = squares;
+	}
+
+	private static int column(int square) {
+		return square & 7;
+	}
+
+	private static int row(int square) {
+		return 7 - (square >>> 3);
+	}
+}
@@ -1,4 +1,4 @@
-package chess.helper;
+package chess.view;
 
 import chess.pieces.Piece;
 import functionailties.DragListener;
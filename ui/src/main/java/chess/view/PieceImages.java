@@ -0,0 +1,22 @@
+package chess.view;
+
+import chess.board.PieceCode;
+import javafx.scene.image.Image;
+
+public final class PieceImages {
+	private static final Image[] IMAGES = new Image[PieceCode.COUNT];
+
+	private PieceImages() {
+	}
+
+	public static Image get(int piece) {
+		Image image = IMAGES[piece];
+		if (image == null) {
+			// Images are only decoded once a board is actually drawn
+			String color = PieceCode.colorOf(piece) == PieceCode.BLACK ? "black" : "white";
+			String type = PieceCode.typeName(PieceCode.typeOf(piece)).toLowerCase();
+			image = IMAGES[piece] = new Image("/images/pieces/" + color + "_" + type + ".png");
+		}
+		return image;
+	}
+}
@@ -0,0 +1,78 @@
+package controllers;
+
+import chess.board.Board;
+import chess.book.OpeningBook;
+import chess.view.AnalysisPane;
+import chess.view.AnalysisService;
+import chess.view.BoardView;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.GridPane;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ResourceBundle;
+
+public class MainController extends Controller {
+	public GridPane boardGridPane;
+	public AnalysisPane analysisPane;
+	private BoardView boardView;
+	private AnalysisService analysisService;
+	private OpeningBook book;
+
+	@Override
+	public void initialize(URL location, ResourceBundle resources) {
+		super.initialize(location, resources);
+		// Board background
+		Image backgroundImage = new Image("/images/boards/board_background.png");
+		BackgroundSize backgroundSize = new BackgroundSize(
+				boardGridPane.getPrefWidth(),
+				boardGridPane.getPrefHeight(),
+				true,
+				true,
+				true,
+				true);
+		boardGridPane.setBackground(new Background(
+				new BackgroundImage(
+						backgroundImage, null, null, null, backgroundSize)));
+
+		boardView = new BoardView(Board.createChessBoard(), boardGridPane);
+		analysisService = new AnalysisService(analysisPane);
+		boardView.setOnPositionChanged(() -> analysisService.analyze(boardView.getBoard().getPosition()));
+		analysisService.analyze(boardView.getBoard().getPosition());
+	}
+
+	/**
+	 * Opens an opening book whose moves the analysis pane lists for the displayed position.
+	 */
+	public void openBook(Path path) throws IOException {
+		OpeningBook opened = new OpeningBook(path);
+		closeBook();
+		book = opened;
+		analysisService.setBook(book);
+		analysisService.analyze(boardView.getBoard().getPosition());
+	}
+
+	/**
+	 * Stops the analysis threads and closes the book. Called once the application exits.
+	 */
+	public void shutdown() {
+		analysisService.shutdown();
+		closeBook();
+	}
+
+	private void closeBook() {
+		if (book == null) {
+			return;
+		}
+		analysisService.setBook(null);
+		try {
+			book.close();
+		} catch (IOException ignored) {
+		}
+		book = null;
+	}
+}
@@ -0,0 +1,21 @@
+package functionailties;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+public class DraggableImageView extends ImageView {
+	private final MouseEventHandler mouseEventHandler;
+
+	public DraggableImageView(Image image) {
+		super(image);
+		this.mouseEventHandler = new MouseEventHandler(this);
+	}
+
+	public DragListener getDragListener() {
+		return mouseEventHandler.getDragListener();
+	}
+
+	public void setDragListener(DragListener dragListener) {
+		mouseEventHandler.setDragListener(dragListener);
+	}
+}
@@ -33,13 +33,14 @@ public class MouseEventHandler implements EventHandler<MouseEvent> {
 		if (dragListener == null) {
 			return;
 		}
-		node.toFront();
 		if (event.getEventType() == MouseEvent.MOUSE_ENTERED) {
 			node.setCursor(Cursor.OPEN_HAND);
 		} else if (event.getEventType() == MouseEvent.MOUSE_EXITED) {
 			node.setCursor(Cursor.CROSSHAIR);
 		} else if (event.getEventType() == MouseEvent.MOUSE_PRESSED) {
 			if (node.contains(event.getX(), event.getY())) {
+				// Raised once per press rather than on every event, which reorders the parent's children
+				node.toFront();
 				lastMouseX = event.getSceneX();
 				lastMouseY = event.getSceneY();
 				event.consume();